@@ -4,13 +4,17 @@ import com.orangehrm.utils.ErrorHandler;
 import com.orangehrm.utils.LoggerUtils;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class AbstractConfigManager<T extends AbstractConfigManager<T>> {
 
     protected static final Logger logger = LoggerUtils.getLogger(AbstractConfigManager.class);
     protected final String configurationDisplayName;
     protected final String configSource;
+    private final Map<String, ConvertedValue> convertedValues = new ConcurrentHashMap<>();
+    private volatile ConfigAccessMetrics.SourceMetrics accessMetrics;
 
     protected AbstractConfigManager(String configurationDisplayName, String configSource) {
         this.configurationDisplayName = configurationDisplayName;
@@ -25,24 +29,76 @@ public abstract class AbstractConfigManager<T extends AbstractConfigManager<T>>
      */
     protected <ConversionType> ConversionType getConversionType(Class<ConversionType> type, String value) {
         try {
-            Object convertedValue = switch (type.getSimpleName()) {
-                case "String" -> value;
-                case "Integer" -> Integer.parseInt(value);
-                case "Boolean" -> Boolean.parseBoolean(value);
-                case "Double" -> Double.parseDouble(value);
-                case "Long" -> Long.parseLong(value);
-                default -> throw new UnsupportedOperationException("Unsupported type conversion");
-            };
-
-            @SuppressWarnings("unchecked")
-            ConversionType result = (ConversionType) convertedValue;
-            return result;
+            return ConfigValueConverters.convert(type, value);
         } catch (Exception error) {
             ErrorHandler.logError(error, "getConversionType", "Failed to convert value");
             throw error;
         }
     }
 
+    /**
+     * Get a value with type conversion, reusing the previous result while the raw value of the key is unchanged
+     *
+     * @param key   Configuration key the value was read from
+     * @param type  Desired return type
+     * @param value Raw value
+     * @return Converted value of the specified type
+     */
+    protected <ConversionType> ConversionType getConversionType(String key, Class<ConversionType> type, String value) {
+        ConvertedValue cached = convertedValues.get(key);
+        if (cached != null && cached.type() == type && cached.rawValue().equals(value)) {
+            return type.cast(cached.value());
+        }
+        ConversionType converted = getConversionType(type, value);
+        convertedValues.put(key, new ConvertedValue(value, type, converted));
+        return converted;
+    }
+
+    /**
+     * Start timing a read for the access metrics; call at the top of every getProperty
+     *
+     * @return Start timestamp to pass to {@link #recordAccess}, or 0 when the read is not sampled
+     */
+    protected final long startAccess() {
+        ConfigAccessMetrics.SourceMetrics metrics = getAccessMetrics();
+        return metrics != null ? metrics.start() : 0L;
+    }
+
+    /**
+     * Record the outcome of a read in the access metrics, under this configuration's display name
+     *
+     * @param key        Configuration key that was read
+     * @param outcome    Result of the read
+     * @param startNanos Value returned by {@link #startAccess()}
+     */
+    protected final void recordAccess(String key, ConfigAccessMetrics.Outcome outcome, long startNanos) {
+        ConfigAccessMetrics.SourceMetrics metrics = getAccessMetrics();
+        if (metrics != null) {
+            metrics.record(key, outcome, startNanos);
+        }
+    }
+
+    private ConfigAccessMetrics.SourceMetrics getAccessMetrics() {
+        ConfigAccessMetrics.SourceMetrics metrics = accessMetrics;
+        if (metrics == null) {
+            ConfigAccessMetrics registry = ConfigAccessMetrics.getInstance();
+            // Null only for the reads of the metrics settings themselves
+            if (registry == null) {
+                return null;
+            }
+            metrics = registry.forSource(configurationDisplayName);
+            accessMetrics = metrics;
+        }
+        return metrics;
+    }
+
+    /**
+     * Drops every memoized conversion, e.g. after the configuration was reloaded
+     */
+    protected void clearConvertedValues() {
+        convertedValues.clear();
+    }
+
     /**
      * Get a raw string value from the configuration
      *
@@ -77,4 +133,7 @@ public abstract class AbstractConfigManager<T extends AbstractConfigManager<T>>
      * Reload the configuration from its source
      */
     public abstract void reload();
+
+    private record ConvertedValue(String rawValue, Class<?> type, Object value) {
+    }
 }
@@ -0,0 +1,328 @@
+package com.orangehrm.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.FileDirectoryManager;
+import com.orangehrm.utils.LatencyHistogram;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Access telemetry for every {@link AbstractConfigManager}. Each configuration source, such as GLOBAL or LAYERED,
+ * counts its reads, misses, default fallbacks and conversion failures per key, and feeds a sample of its reads into
+ * a {@link LatencyHistogram}. Counters are LongAdders, so concurrent readers do not contend, and only one read in
+ * CONFIG_METRICS_SAMPLE_RATE pays for the clock reads. Each manager keeps the handle of its own source, so recording
+ * a read costs one hash probe for the key. At the end of a test run the hottest keys and every key that missed or
+ * fell back to a default are logged, and the full report is written as JSON to CONFIG_METRICS_REPORT. Controlled by
+ * CONFIG_METRICS_ENABLED.
+ */
+public final class ConfigAccessMetrics {
+
+    private static final Logger logger = LoggerUtils.getLogger(ConfigAccessMetrics.class);
+    private static final String METRICS_ENABLED_KEY = "CONFIG_METRICS_ENABLED";
+    private static final String SAMPLE_RATE_KEY = "CONFIG_METRICS_SAMPLE_RATE";
+    private static final String METRICS_REPORT_KEY = "CONFIG_METRICS_REPORT";
+    private static final int DEFAULT_SAMPLE_RATE = 16;
+    private static final String DEFAULT_REPORT_PATH = "target/config-metrics.json";
+    private static final int HOT_KEY_LOG_LIMIT = 10;
+    private static final ConfigAccessMetrics instance = createFromConfiguration();
+
+    private final boolean enabled;
+    private final int sampleRate;
+    private final Path reportPath;
+    private final Map<String, SourceMetrics> sources = new ConcurrentHashMap<>();
+
+    /**
+     * Result of one configuration read.
+     */
+    public enum Outcome {
+        /** The key was found and, for typed reads, converted */
+        HIT,
+        /** The key was absent or empty and no default was given */
+        MISS,
+        /** The key was absent or empty and the caller's default was returned */
+        DEFAULT,
+        /** The key was found but its value could not be converted to the requested type */
+        CONVERSION_FAILURE
+    }
+
+    /**
+     * Counters of one key.
+     *
+     * @param source             configuration source the key was read from
+     * @param key                configuration key
+     * @param reads              all reads of the key
+     * @param misses             reads that found no value
+     * @param defaults           reads that returned the caller's default
+     * @param conversionFailures reads whose value could not be converted
+     */
+    public record KeySnapshot(String source, String key, long reads, long misses, long defaults, long conversionFailures) {
+
+        public boolean hasFallbacks() {
+            return misses > 0 || defaults > 0 || conversionFailures > 0;
+        }
+    }
+
+    /**
+     * Point-in-time view of one configuration source. Latencies are in nanoseconds and cover sampled reads only.
+     *
+     * @param reads        all reads of the source
+     * @param sampledReads reads that were timed
+     * @param p50Nanos     median read latency
+     * @param p95Nanos     95th percentile read latency
+     * @param p99Nanos     99th percentile read latency
+     * @param maxNanos     slowest sampled read
+     * @param keys         per-key counters, most read first
+     */
+    public record SourceSnapshot(long reads, long sampledReads, double p50Nanos, double p95Nanos, double p99Nanos,
+                                 double maxNanos, List<KeySnapshot> keys) {
+    }
+
+    /**
+     * Creates a metrics registry.
+     *
+     * @param enabled    whether reads are recorded
+     * @param sampleRate one in this many reads is timed
+     * @param reportPath file the JSON report is written to
+     */
+    public ConfigAccessMetrics(boolean enabled, int sampleRate, Path reportPath) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Latency sample rate must be at least 1");
+        }
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.reportPath = reportPath;
+    }
+
+    /**
+     * Returns the shared registry, or null to reads made while the registry reads its own settings.
+     *
+     * @return the shared registry
+     */
+    public static ConfigAccessMetrics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the metrics of one configuration source. Managers keep the returned handle, so a read does not look
+     * up its source again.
+     *
+     * @param source configuration source, e.g. the display name of the manager
+     * @return the source's metrics
+     */
+    public SourceMetrics forSource(String source) {
+        return sources.computeIfAbsent(source, name -> new SourceMetrics(enabled, sampleRate));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the current counters of every source read at least once.
+     *
+     * @return snapshots keyed by source name, in name order
+     */
+    public Map<String, SourceSnapshot> getSnapshot() {
+        Map<String, SourceSnapshot> snapshot = new TreeMap<>();
+        sources.forEach((source, metrics) -> {
+            SourceSnapshot sourceSnapshot = metrics.snapshot(source);
+            if (sourceSnapshot.reads() > 0) {
+                snapshot.put(source, sourceSnapshot);
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * Renders the current snapshot as a JSON document.
+     *
+     * @return the JSON report
+     */
+    public String toJson() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("latencySampleRate", sampleRate);
+        report.put("sources", getSnapshot());
+        try {
+            return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "toJson", "Failed to render configuration access metrics");
+            throw new IllegalStateException("Failed to render configuration access metrics", error);
+        }
+    }
+
+    /**
+     * Writes the JSON report to the configured path and logs a summary per source, the hottest keys and every key
+     * that missed, fell back to a default or failed to convert. Does nothing when metrics are disabled.
+     */
+    public void writeReport() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, SourceSnapshot> snapshot = getSnapshot();
+        List<KeySnapshot> keys = new ArrayList<>();
+        snapshot.forEach((source, sourceSnapshot) -> {
+            logger.info("{}: {} reads, sampled p50 {} ns, p99 {} ns, max {} ns", source, sourceSnapshot.reads(),
+                    format(sourceSnapshot.p50Nanos()), format(sourceSnapshot.p99Nanos()), format(sourceSnapshot.maxNanos()));
+            keys.addAll(sourceSnapshot.keys());
+        });
+
+        keys.sort(Comparator.comparingLong(KeySnapshot::reads).reversed());
+        logger.info("Most read configuration keys:");
+        keys.stream().limit(HOT_KEY_LOG_LIMIT).forEach(key ->
+                logger.info("  {} {}: {} reads", key.source(), key.key(), key.reads()));
+        keys.stream().filter(KeySnapshot::hasFallbacks).forEach(key -> logger.warn(
+                "  {} {}: {} misses, {} default fallbacks, {} conversion failures in {} reads",
+                key.source(), key.key(), key.misses(), key.defaults(), key.conversionFailures(), key.reads()));
+
+        try {
+            FileDirectoryManager.writeBytesAtomically(reportPath, toJson().getBytes(StandardCharsets.UTF_8));
+            logger.info("Configuration access metrics written to {}", reportPath.toAbsolutePath());
+        } catch (IOException error) {
+            // A missing report must not fail the test run it describes
+            logger.error("Failed to write configuration access metrics to {}", reportPath, error);
+        }
+    }
+
+    /**
+     * Resets every counter, e.g. to exclude startup from a measurement.
+     */
+    public void reset() {
+        sources.values().forEach(SourceMetrics::reset);
+    }
+
+    private static String format(double value) {
+        return String.format("%.0f", value);
+    }
+
+    private static ConfigAccessMetrics createFromConfiguration() {
+        try {
+            // Loaded directly rather than through the cache, whose reads are recorded by this registry
+            PropertyFileConfigManager configuration = PropertyFileConfigManager.loadConfiguration(
+                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+            boolean enabled = configuration.getProperty(METRICS_ENABLED_KEY, Boolean.class).orElse(true);
+            int sampleRate = configuration.getProperty(SAMPLE_RATE_KEY, Integer.class).orElse(DEFAULT_SAMPLE_RATE);
+            String reportPath = configuration.getProperty(METRICS_REPORT_KEY, String.class).orElse(DEFAULT_REPORT_PATH);
+            return new ConfigAccessMetrics(enabled, sampleRate, Paths.get(reportPath.trim()));
+        } catch (Exception error) {
+            logger.error("Failed to read configuration metrics settings, metrics disabled", error);
+            return new ConfigAccessMetrics(false, DEFAULT_SAMPLE_RATE, Paths.get(DEFAULT_REPORT_PATH));
+        }
+    }
+
+    /**
+     * Per-key counters and sampled latency of one source.
+     */
+    public static final class SourceMetrics {
+        private final boolean enabled;
+        private final int sampleRate;
+        private final Map<String, KeyCounters> keys = new ConcurrentHashMap<>();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private SourceMetrics(boolean enabled, int sampleRate) {
+            this.enabled = enabled;
+            this.sampleRate = sampleRate;
+        }
+
+        /**
+         * Starts timing a read if it is one of the sampled reads.
+         *
+         * @return the start timestamp to pass to {@link #record(String, Outcome, long)}, or 0 when the read is not
+         * timed
+         */
+        public long start() {
+            if (!enabled || (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0)) {
+                return 0L;
+            }
+            return System.nanoTime();
+        }
+
+        /**
+         * Records a completed read.
+         *
+         * @param key        configuration key
+         * @param outcome    result of the read
+         * @param startNanos value returned by {@link #start()}
+         */
+        public void record(String key, Outcome outcome, long startNanos) {
+            if (!enabled) {
+                return;
+            }
+            KeyCounters counters = keys.get(key);
+            if (counters == null) {
+                counters = keys.computeIfAbsent(key, name -> new KeyCounters());
+            }
+            counters.record(outcome);
+            if (startNanos != 0L) {
+                latency.record(System.nanoTime() - startNanos);
+            }
+        }
+
+        SourceSnapshot snapshot(String source) {
+            double[] percentiles = latency.percentiles(0.50, 0.95, 0.99);
+            List<KeySnapshot> keySnapshots = new ArrayList<>(keys.size());
+            keys.forEach((key, counters) -> keySnapshots.add(counters.snapshot(source, key)));
+            keySnapshots.sort(Comparator.comparingLong(KeySnapshot::reads).reversed().thenComparing(KeySnapshot::key));
+            long reads = keySnapshots.stream().mapToLong(KeySnapshot::reads).sum();
+            return new SourceSnapshot(reads, latency.getCount(), percentiles[0], percentiles[1], percentiles[2],
+                    latency.getMaxNanos(), List.copyOf(keySnapshots));
+        }
+
+        void reset() {
+            keys.values().forEach(KeyCounters::reset);
+            latency.reset();
+        }
+    }
+
+    /**
+     * Read counters of one key.
+     */
+    private static final class KeyCounters {
+        private final LongAdder reads = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder defaults = new LongAdder();
+        private final LongAdder conversionFailures = new LongAdder();
+
+        void record(Outcome outcome) {
+            reads.increment();
+            switch (outcome) {
+                case MISS -> misses.increment();
+                case DEFAULT -> defaults.increment();
+                case CONVERSION_FAILURE -> conversionFailures.increment();
+                case HIT -> {
+                }
+            }
+        }
+
+        KeySnapshot snapshot(String source, String key) {
+            return new KeySnapshot(source, key, reads.sum(), misses.sum(), defaults.sum(), conversionFailures.sum());
+        }
+
+        void reset() {
+            reads.reset();
+            misses.reset();
+            defaults.reset();
+            conversionFailures.reset();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.orangehrm.configuration;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Registry of string-to-type converters for configuration values.
+ * The converter for a target type is looked up once and cached per class, so repeated conversions go straight to
+ * the parser without inspecting the type again. Supported types:
+ * <ul>
+ *     <li>String, Integer, Long, Double, Boolean</li>
+ *     <li>Duration: ISO-8601 ({@code PT30S}) or a number with an optional unit suffix {@code ms}, {@code s},
+ *     {@code m} or {@code h}; a bare number is read as seconds</li>
+ *     <li>Any enum, matched by constant name ignoring case</li>
+ *     <li>List: comma-separated values, trimmed, empty entries dropped, returned as an unmodifiable list of strings</li>
+ *     <li>URI and URL</li>
+ * </ul>
+ */
+public final class ConfigValueConverters {
+
+    private static final ClassValue<Function<String, ?>> converters = new ClassValue<>() {
+        @Override
+        protected Function<String, ?> computeValue(Class<?> type) {
+            return createConverter(type);
+        }
+    };
+
+    private ConfigValueConverters() {
+        throw new AssertionError("Utility class - do not instantiate");
+    }
+
+    /**
+     * Returns the converter for a target type.
+     *
+     * @param type Desired value type
+     * @param <T>  Type to convert to
+     * @return the cached converter
+     * @throws UnsupportedOperationException If no conversion to the type exists
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Function<String, T> forType(Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Conversion type cannot be null");
+        }
+        return (Function<String, T>) converters.get(type);
+    }
+
+    /**
+     * Converts a raw configuration value.
+     *
+     * @param type  Desired value type
+     * @param value Raw value
+     * @param <T>   Type to convert to
+     * @return the converted value
+     */
+    public static <T> T convert(Class<T> type, String value) {
+        return forType(type).apply(value);
+    }
+
+    /**
+     * Parses a duration in ISO-8601 form or as a number with an optional {@code ms}, {@code s}, {@code m} or
+     * {@code h} suffix. A bare number is read as seconds.
+     *
+     * @param value Raw value
+     * @return the parsed duration
+     * @throws IllegalArgumentException If the value is not a valid duration
+     */
+    public static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (text.startsWith("p")) {
+                return Duration.parse(text.toUpperCase(Locale.ROOT));
+            }
+            if (text.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2).trim()));
+            }
+            if (text.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1).trim()));
+            }
+            if (text.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1).trim()));
+            }
+            if (text.endsWith("h")) {
+                return Duration.ofHours(Long.parseLong(text.substring(0, text.length() - 1).trim()));
+            }
+            return Duration.ofSeconds(Long.parseLong(text));
+        } catch (NumberFormatException | DateTimeParseException error) {
+            throw new IllegalArgumentException("Invalid duration: '" + value + "'", error);
+        }
+    }
+
+    private static Function<String, ?> createConverter(Class<?> type) {
+        if (type == String.class) {
+            return value -> value;
+        }
+        if (type == Integer.class) {
+            return value -> Integer.parseInt(value.trim());
+        }
+        if (type == Long.class) {
+            return value -> Long.parseLong(value.trim());
+        }
+        if (type == Double.class) {
+            return value -> Double.parseDouble(value.trim());
+        }
+        if (type == Boolean.class) {
+            return value -> Boolean.parseBoolean(value.trim());
+        }
+        if (type == Duration.class) {
+            return ConfigValueConverters::parseDuration;
+        }
+        if (type == List.class) {
+            return ConfigValueConverters::parseList;
+        }
+        if (type == URI.class) {
+            return value -> URI.create(value.trim());
+        }
+        if (type == URL.class) {
+            return ConfigValueConverters::parseUrl;
+        }
+        if (type.isEnum()) {
+            return enumConverter(type);
+        }
+        throw new UnsupportedOperationException("Unsupported type conversion: " + type.getName());
+    }
+
+    private static Function<String, ?> enumConverter(Class<?> type) {
+        Object[] constants = type.getEnumConstants();
+        return value -> {
+            String name = value.trim();
+            for (Object constant : constants) {
+                if (((Enum<?>) constant).name().equalsIgnoreCase(name)) {
+                    return constant;
+                }
+            }
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " value: '" + value
+                    + "', expected one of " + Arrays.toString(constants));
+        };
+    }
+
+    private static List<String> parseList(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .toList();
+    }
+
+    private static URL parseUrl(String value) {
+        try {
+            return URI.create(value.trim()).toURL();
+        } catch (MalformedURLException | IllegalArgumentException error) {
+            throw new IllegalArgumentException("Invalid URL: '" + value + "'", error);
+        }
+    }
+}
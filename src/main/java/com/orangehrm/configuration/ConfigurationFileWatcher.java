@@ -0,0 +1,181 @@
+package com.orangehrm.configuration;
+
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads configuration files when they change on disk.
+ * A daemon thread waits on a {@link WatchService} for the directories of the registered files. Bursts of events,
+ * such as an editor truncating and rewriting a file, are collected until the directory has been quiet for the
+ * debounce window; each changed file is then reloaded once on a separate reload thread, so parsing never happens on
+ * the watch thread or on a reader's thread. Controlled by CONFIG_HOT_RELOAD_ENABLED and
+ * CONFIG_RELOAD_DEBOUNCE_MILLIS.
+ */
+public final class ConfigurationFileWatcher {
+
+    private static final Logger logger = LoggerUtils.getLogger(ConfigurationFileWatcher.class);
+    private static final String HOT_RELOAD_ENABLED_KEY = "CONFIG_HOT_RELOAD_ENABLED";
+    private static final String DEBOUNCE_MILLIS_KEY = "CONFIG_RELOAD_DEBOUNCE_MILLIS";
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 250;
+    private static final ConfigurationFileWatcher instance = createFromConfiguration();
+
+    private final boolean enabled;
+    private final long debounceMillis;
+    private final Map<Path, Map<String, Runnable>> reloadActions = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> watchedDirectories = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private ExecutorService reloadExecutor;
+
+    /**
+     * Creates a watcher.
+     *
+     * @param enabled        whether files are watched at all
+     * @param debounceMillis quiet period that ends a burst of file events
+     */
+    public ConfigurationFileWatcher(boolean enabled, long debounceMillis) {
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("Reload debounce cannot be negative");
+        }
+        this.enabled = enabled;
+        this.debounceMillis = debounceMillis;
+    }
+
+    public static ConfigurationFileWatcher getInstance() {
+        return instance;
+    }
+
+    /**
+     * Runs the reload action whenever the file changes. Registering again under the same name replaces the
+     * previous action. Does nothing when hot reload is disabled.
+     *
+     * @param file         File to watch
+     * @param name         Name of the registration, e.g. the cache key of the configuration
+     * @param reloadAction Action that re-reads the file and publishes the new state
+     */
+    public synchronized void watch(Path file, String name, Runnable reloadAction) {
+        if (file == null || name == null || reloadAction == null) {
+            throw new IllegalArgumentException("Watched file, name and reload action cannot be null");
+        }
+        if (!enabled) {
+            return;
+        }
+
+        Path absoluteFile = file.toAbsolutePath().normalize();
+        Path directory = absoluteFile.getParent();
+        try {
+            start();
+            if (!watchedDirectories.containsKey(directory)) {
+                watchedDirectories.put(directory, directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY));
+                logger.info("Watching {} for configuration changes", directory);
+            }
+            reloadActions.computeIfAbsent(absoluteFile, path -> new ConcurrentHashMap<>()).put(name, reloadAction);
+        } catch (IOException error) {
+            // Hot reload is a convenience; the configuration itself is already loaded
+            logger.warn("Cannot watch {} for changes, hot reload disabled for this file", absoluteFile, error);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void start() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "config-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Thread watchThread = new Thread(this::watchLoop, "config-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                Set<Path> changedFiles = new LinkedHashSet<>();
+                collectChanges(watchService.take(), changedFiles);
+                // Keep draining until the burst is over, so a file rewritten in several steps is reloaded once
+                WatchKey next;
+                while ((next = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    collectChanges(next, changedFiles);
+                }
+                for (Path changedFile : changedFiles) {
+                    Map<String, Runnable> actions = reloadActions.get(changedFile);
+                    if (actions != null) {
+                        reloadExecutor.execute(() -> reload(changedFile, actions.values()));
+                    }
+                }
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException error) {
+            logger.debug("Configuration watch service closed");
+        }
+    }
+
+    private void collectChanges(WatchKey key, Set<Path> changedFiles) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost; treat every watched file in the directory as changed
+                reloadActions.keySet().stream().filter(file -> file.getParent().equals(directory)).forEach(changedFiles::add);
+            } else {
+                changedFiles.add(directory.resolve((Path) event.context()).normalize());
+            }
+        }
+        key.reset();
+    }
+
+    private void reload(Path file, Collection<Runnable> actions) {
+        logger.info("Configuration file changed: {}", file);
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Exception error) {
+                // The previous configuration stays published; the next change retries
+                ErrorHandler.logError(error, "reload", "Failed to reload changed configuration file: " + file);
+            }
+        }
+    }
+
+    private static ConfigurationFileWatcher createFromConfiguration() {
+        try {
+            // Loaded directly rather than through the cache, which registers its files with this watcher
+            PropertyFileConfigManager configuration = PropertyFileConfigManager.loadConfiguration(
+                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+            boolean enabled = configuration.getProperty(HOT_RELOAD_ENABLED_KEY, Boolean.class).orElse(true);
+            long debounceMillis = configuration.getProperty(DEBOUNCE_MILLIS_KEY, Long.class).orElse(DEFAULT_DEBOUNCE_MILLIS);
+            return new ConfigurationFileWatcher(enabled, debounceMillis);
+        } catch (Exception error) {
+            logger.error("Failed to read configuration hot reload settings, hot reload disabled", error);
+            return new ConfigurationFileWatcher(false, DEFAULT_DEBOUNCE_MILLIS);
+        }
+    }
+}
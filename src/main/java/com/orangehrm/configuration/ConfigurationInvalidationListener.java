@@ -0,0 +1,16 @@
+package com.orangehrm.configuration;
+
+/**
+ * Receives notice when a loaded configuration stops being current, so state derived from it can be dropped.
+ */
+@FunctionalInterface
+public interface ConfigurationInvalidationListener {
+
+    /**
+     * Called after a configuration has been reloaded or evicted from its cache.
+     *
+     * @param configurationDisplayName display name of the affected configuration, or null when all were invalidated
+     * @param configSource source of the affected configuration, or null when all were invalidated
+     */
+    void onInvalidated(String configurationDisplayName, String configSource);
+}
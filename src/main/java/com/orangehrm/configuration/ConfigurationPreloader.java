@@ -0,0 +1,261 @@
+package com.orangehrm.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.ValidationMessage;
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.environments.EnvironmentFileConfigManager;
+import com.orangehrm.configuration.properties.GlobalConfigSnapshot;
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Startup phase that loads every configuration file up front instead of on first use deep inside a helper.
+ * All {@link PropertyConfigConstants.PropertiesFilePath} and {@link EnvironmentConfigConstants.EnvironmentFilePath}
+ * files are loaded concurrently into the configuration caches and validated against the JSON schemas under
+ * {@code schemas/configuration/}. System property and OS environment overrides of a file's keys are validated too.
+ * Numeric and true/false values are checked as integers and booleans. Optional files that do not exist are
+ * skipped; global-config.properties is required. Every violation across all files is reported in one
+ * {@link ConfigurationValidationException} before any browser starts.
+ * <p>
+ * After a successful validation the merged files are written to the {@link ConfigurationSnapshotStore}. Forked JVMs
+ * that find a current snapshot skip loading and validation, since the snapshot was only written for valid files.
+ */
+public final class ConfigurationPreloader {
+
+    private static final Logger logger = LoggerUtils.getLogger(ConfigurationPreloader.class);
+    private static final String SCHEMA_DIRECTORY = "schemas/configuration/";
+    private static final String GLOBAL_SCHEMA = "global-config.schema.json";
+    private static final String ENVIRONMENT_PROPERTIES_SCHEMA = "environment-config.schema.json";
+    private static final String BASE_ENV_SCHEMA = "base-env.schema.json";
+    private static final String ENVIRONMENT_ENV_SCHEMA = "environment-env.schema.json";
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("-?\\d{1,18}");
+    private static final Map<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+
+    private ConfigurationPreloader() {
+        throw new AssertionError("Utility class - do not instantiate");
+    }
+
+    /**
+     * Outcome of loading and validating one configuration file.
+     *
+     * @param displayName  configuration display name
+     * @param path         file path
+     * @param present      whether the file exists
+     * @param entries      number of keys in the file
+     * @param violations   schema violations, empty when valid
+     * @param elapsedNanos time spent loading and validating the file
+     */
+    public record FileResult(String displayName, Path path, boolean present, int entries, List<String> violations,
+                             long elapsedNanos) {
+    }
+
+    /**
+     * Outcome of the whole preload.
+     *
+     * @param files        one result per configuration file, empty when a current snapshot was used
+     * @param fromSnapshot whether validation was skipped because a current snapshot exists
+     * @param elapsedNanos wall-clock time of the preload
+     */
+    public record PreloadReport(List<FileResult> files, boolean fromSnapshot, long elapsedNanos) {
+
+        public List<String> violations() {
+            return files.stream()
+                    .flatMap(file -> file.violations().stream().map(violation -> file.path() + ": " + violation))
+                    .toList();
+        }
+
+        public boolean isValid() {
+            return files.stream().allMatch(file -> file.violations().isEmpty());
+        }
+    }
+
+    private record ConfigurationFile(String displayName, Path path, String schema, boolean required,
+                                     Function<ConfigurationFile, Map<String, String>> loader,
+                                     UnaryOperator<String> override) {
+    }
+
+    /**
+     * Loads and validates every configuration file, then resolves the global snapshot and the layered resolver.
+     *
+     * @return the preload report
+     * @throws ConfigurationValidationException If any file is missing, unreadable or violates its schema
+     */
+    public static PreloadReport preload() {
+        long start = System.nanoTime();
+        if (ConfigurationSnapshotStore.getInstance().load().isPresent()) {
+            GlobalConfigSnapshot.getInstance();
+            LayeredConfigResolver.getInstance();
+            PreloadReport report = new PreloadReport(List.of(), true, System.nanoTime() - start);
+            logger.info("Configuration ready from snapshot {} in {} ms",
+                    ConfigurationSnapshotStore.getInstance().getSnapshotPath(), formatMillis(report.elapsedNanos()));
+            return report;
+        }
+
+        List<ConfigurationFile> files = configurationFiles();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(files.size(), Runtime.getRuntime().availableProcessors()), runnable -> {
+                    Thread thread = new Thread(runnable, "config-preload");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        List<FileResult> results;
+        try {
+            List<CompletableFuture<FileResult>> futures = files.stream()
+                    .map(file -> CompletableFuture.supplyAsync(() -> loadAndValidate(file), executor))
+                    .toList();
+            results = futures.stream().map(CompletableFuture::join).toList();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        PreloadReport report = new PreloadReport(results, false, System.nanoTime() - start);
+        logReport(report);
+        if (!report.isValid()) {
+            throw new ConfigurationValidationException(report.violations());
+        }
+        ConfigurationSnapshotStore.getInstance().store(LayeredConfigResolver.mergeFileLayers());
+
+        // Resolve the derived views now so their first use on a test thread is a field read
+        GlobalConfigSnapshot.getInstance();
+        LayeredConfigResolver.getInstance();
+        logger.info("Configuration ready in {} ms", formatMillis(System.nanoTime() - start));
+        return report;
+    }
+
+    private static List<ConfigurationFile> configurationFiles() {
+        Stream<ConfigurationFile> propertiesFiles = Arrays.stream(PropertyConfigConstants.PropertiesFilePath.values())
+                .map(filePath -> new ConfigurationFile(
+                        PropertyConfigConstants.Environment.valueOf(filePath.name()).getDisplayName(),
+                        Paths.get(filePath.getFullPath()),
+                        filePath == PropertyConfigConstants.PropertiesFilePath.GLOBAL ? GLOBAL_SCHEMA : ENVIRONMENT_PROPERTIES_SCHEMA,
+                        filePath == PropertyConfigConstants.PropertiesFilePath.GLOBAL,
+                        file -> PropertyFileConfigManager.getConfiguration(file.displayName(), file.path().toString())
+                                .getProperties(),
+                        System::getProperty));
+        Stream<ConfigurationFile> environmentFiles = Arrays.stream(EnvironmentConfigConstants.EnvironmentFilePath.values())
+                .map(filePath -> new ConfigurationFile(
+                        EnvironmentConfigConstants.Environment.valueOf(filePath.name()).getDisplayName(),
+                        Paths.get(filePath.getFullPath()),
+                        filePath == EnvironmentConfigConstants.EnvironmentFilePath.BASE ? BASE_ENV_SCHEMA : ENVIRONMENT_ENV_SCHEMA,
+                        false,
+                        file -> EnvironmentFileConfigManager.getConfiguration(file.displayName(), filePath.getFilename())
+                                .getDeclaredVariables(),
+                        System::getenv));
+        return Stream.concat(propertiesFiles, environmentFiles).toList();
+    }
+
+    private static FileResult loadAndValidate(ConfigurationFile file) {
+        long start = System.nanoTime();
+        if (!Files.exists(file.path())) {
+            List<String> violations = file.required() ? List.of("required configuration file is missing") : List.of();
+            return new FileResult(file.displayName(), file.path(), false, 0, violations, System.nanoTime() - start);
+        }
+
+        try {
+            Map<String, String> entries = file.loader().apply(file);
+            List<String> violations = new ArrayList<>();
+            for (ValidationMessage message : getSchema(file.schema()).validate(toJson(entries, file.override()))) {
+                violations.add(message.getMessage());
+            }
+            return new FileResult(file.displayName(), file.path(), true, entries.size(), List.copyOf(violations),
+                    System.nanoTime() - start);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "loadAndValidate", "Failed to load configuration file: " + file.path());
+            return new FileResult(file.displayName(), file.path(), true, 0,
+                    List.of("failed to load: " + error.getMessage()), System.nanoTime() - start);
+        }
+    }
+
+    private static JsonNode toJson(Map<String, String> entries, UnaryOperator<String> override) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        entries.forEach((key, fileValue) -> {
+            String overriddenValue = override.apply(key);
+            String value = (overriddenValue != null ? overriddenValue : fileValue).trim();
+            if (INTEGER_PATTERN.matcher(value).matches()) {
+                node.put(key, Long.parseLong(value));
+            } else if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+                node.put(key, Boolean.parseBoolean(value.toLowerCase(Locale.ROOT)));
+            } else {
+                node.put(key, value);
+            }
+        });
+        return node;
+    }
+
+    private static JsonSchema getSchema(String schemaName) {
+        return schemas.computeIfAbsent(schemaName, name -> {
+            String resource = SCHEMA_DIRECTORY + name;
+            try (InputStream inputStream = ConfigurationPreloader.class.getClassLoader().getResourceAsStream(resource)) {
+                if (inputStream == null) {
+                    throw new IllegalStateException("Configuration schema not found on classpath: " + resource);
+                }
+                return JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7).getSchema(inputStream);
+            } catch (IOException error) {
+                ErrorHandler.logError(error, "getSchema", "Failed to read configuration schema: " + resource);
+                throw new IllegalStateException("Failed to read configuration schema: " + resource, error);
+            }
+        });
+    }
+
+    private static void logReport(PreloadReport report) {
+        for (FileResult file : report.files()) {
+            String status = !file.present() ? (file.violations().isEmpty() ? "absent" : "MISSING")
+                    : file.violations().isEmpty() ? "valid" : file.violations().size() + " violation(s)";
+            logger.info("  {} {} - {} keys, {} in {} ms", file.displayName(), file.path(), file.entries(), status,
+                    formatMillis(file.elapsedNanos()));
+            file.violations().forEach(violation -> logger.error("    {}", violation));
+        }
+        long present = report.files().stream().filter(FileResult::present).count();
+        logger.info("Configuration preloaded: {} of {} files present, {} in {} ms", present, report.files().size(),
+                report.isValid() ? "all valid" : report.violations().size() + " violation(s)",
+                formatMillis(report.elapsedNanos()));
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Thrown when configuration fails validation at startup.
+     */
+    public static class ConfigurationValidationException extends RuntimeException {
+        private final List<String> violations;
+
+        public ConfigurationValidationException(List<String> violations) {
+            super("Invalid configuration:" + System.lineSeparator() + "  "
+                    + String.join(System.lineSeparator() + "  ", violations));
+            this.violations = List.copyOf(violations);
+        }
+
+        public List<String> getViolations() {
+            return violations;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.orangehrm.configuration;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.utils.FileDirectoryManager;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Compiled, read-only copy of the merged configuration files, shared by every JVM forked from the same build.
+ * The first JVM to pass startup validation writes the snapshot under target/; later forks memory-map it and use it
+ * instead of parsing and validating the files again. A snapshot is only used while every source file has the
+ * modification time and size it was compiled from, and while the system properties and environment variables
+ * overriding its keys are unchanged. A bad checksum, an unknown format or any read error falls back to parsing.
+ * <p>
+ * Layout, big-endian:
+ * <pre>
+ * int    magic, short version
+ * long   override fingerprint
+ * string active environment
+ * short  source count, then per source: string path, byte exists, long last modified, long size
+ * int    entry count, then per entry sorted by key:
+ *        int key offset, int key length, int value offset, int value length,
+ *        byte layer, byte shadowed layer mask, short source index
+ * int    data length, then the UTF-8 keys and values the offsets point into
+ * long   CRC32C of everything before it
+ * </pre>
+ * Strings are a short length followed by UTF-8 bytes. The snapshot holds the .env values too, so it is created with
+ * owner-only permissions. Controlled by CONFIG_SNAPSHOT_ENABLED and CONFIG_SNAPSHOT_PATH.
+ */
+public final class ConfigurationSnapshotStore {
+
+    private static final Logger logger = LoggerUtils.getLogger(ConfigurationSnapshotStore.class);
+    private static final String SNAPSHOT_ENABLED_KEY = "CONFIG_SNAPSHOT_ENABLED";
+    private static final String SNAPSHOT_PATH_KEY = "CONFIG_SNAPSHOT_PATH";
+    private static final String DEFAULT_SNAPSHOT_PATH = "target/config-snapshot.bin";
+    private static final int MAGIC = 0x4F48_4353;
+    private static final short VERSION = 1;
+    private static final int ENTRY_SIZE = 20;
+    private static final int CHECKSUM_SIZE = Long.BYTES;
+    private static final ConfigurationSnapshotStore instance = createFromConfiguration();
+
+    private final boolean enabled;
+    private final Path snapshotPath;
+
+    /**
+     * Creates a snapshot store.
+     *
+     * @param enabled      whether snapshots are read and written
+     * @param snapshotPath file the snapshot is kept in
+     */
+    public ConfigurationSnapshotStore(boolean enabled, Path snapshotPath) {
+        if (snapshotPath == null) {
+            throw new IllegalArgumentException("Snapshot path cannot be null");
+        }
+        this.enabled = enabled;
+        this.snapshotPath = snapshotPath;
+    }
+
+    public static ConfigurationSnapshotStore getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Maps the snapshot and returns its file layers if it is intact and still current.
+     *
+     * @return the snapshot's file layers, or empty if there is no usable snapshot
+     */
+    Optional<LayeredConfigResolver.FileLayers> load() {
+        if (!enabled || !Files.isRegularFile(snapshotPath)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= CHECKSUM_SIZE || size > Integer.MAX_VALUE) {
+                logger.warn("Ignoring configuration snapshot {} with invalid size {}", snapshotPath, size);
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (!hasValidChecksum(buffer, (int) size)) {
+                logger.warn("Ignoring configuration snapshot {} with a bad checksum", snapshotPath);
+                return Optional.empty();
+            }
+            return decode(buffer);
+        } catch (IOException | RuntimeException error) {
+            logger.warn("Ignoring unreadable configuration snapshot {}", snapshotPath, error);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the file layers as the new snapshot. A failure is logged and otherwise ignored, since forks can
+     * always parse the files themselves.
+     *
+     * @param fileLayers validated file layers
+     */
+    void store(LayeredConfigResolver.FileLayers fileLayers) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            byte[] snapshot = encode(fileLayers);
+            FileDirectoryManager.writeBytesAtomically(snapshotPath, snapshot);
+            logger.info("Configuration snapshot written to {} ({} keys, {} bytes)", snapshotPath,
+                    fileLayers.values().size(), snapshot.length);
+        } catch (IOException | RuntimeException error) {
+            logger.warn("Failed to write configuration snapshot {}", snapshotPath, error);
+        }
+    }
+
+    private static boolean hasValidChecksum(ByteBuffer buffer, int size) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.duplicate().position(0).limit(size - CHECKSUM_SIZE));
+        return checksum.getValue() == buffer.getLong(size - CHECKSUM_SIZE);
+    }
+
+    private Optional<LayeredConfigResolver.FileLayers> decode(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            logger.warn("Ignoring configuration snapshot {} in an unknown format", snapshotPath);
+            return Optional.empty();
+        }
+        long fingerprint = buffer.getLong();
+        EnvironmentConfigConstants.Environment activeEnvironment = EnvironmentConfigConstants.Environment.valueOf(readString(buffer));
+
+        int sourceCount = buffer.getShort();
+        List<LayeredConfigResolver.SourceFile> sources = new ArrayList<>(sourceCount);
+        for (int index = 0; index < sourceCount; index++) {
+            LayeredConfigResolver.SourceFile source = new LayeredConfigResolver.SourceFile(
+                    Paths.get(readString(buffer)), buffer.get() != 0, buffer.getLong(), buffer.getLong());
+            if (!source.isUnchanged()) {
+                logger.info("Configuration snapshot {} is stale: {} changed", snapshotPath, source.path());
+                return Optional.empty();
+            }
+            sources.add(source);
+        }
+
+        int entryCount = buffer.getInt();
+        int entryTable = buffer.position();
+        int dataStart = entryTable + entryCount * ENTRY_SIZE + Integer.BYTES;
+        LayeredConfigResolver.Layer[] layers = LayeredConfigResolver.Layer.values();
+        Map<String, LayeredConfigResolver.ResolvedValue> values = new HashMap<>(entryCount * 2);
+        for (int index = 0; index < entryCount; index++) {
+            int entry = entryTable + index * ENTRY_SIZE;
+            String key = readData(buffer, dataStart + buffer.getInt(entry), buffer.getInt(entry + 4));
+            String value = readData(buffer, dataStart + buffer.getInt(entry + 8), buffer.getInt(entry + 12));
+            LayeredConfigResolver.Layer layer = layers[buffer.get(entry + 16)];
+            int shadowedMask = buffer.get(entry + 17) & 0xFF;
+            List<LayeredConfigResolver.Layer> shadowed = new ArrayList<>();
+            for (LayeredConfigResolver.Layer candidate : layers) {
+                if ((shadowedMask & (1 << candidate.ordinal())) != 0) {
+                    shadowed.add(candidate);
+                }
+            }
+            String source = sources.get(buffer.getShort(entry + 18)).path().toString();
+            values.put(key, new LayeredConfigResolver.ResolvedValue(value, layer, source, List.copyOf(shadowed)));
+        }
+
+        if (fingerprint != overrideFingerprint(values.keySet())) {
+            logger.info("Configuration snapshot {} is stale: system property or environment overrides changed", snapshotPath);
+            return Optional.empty();
+        }
+        return Optional.of(new LayeredConfigResolver.FileLayers(Map.copyOf(values), activeEnvironment, List.copyOf(sources)));
+    }
+
+    private static byte[] encode(LayeredConfigResolver.FileLayers fileLayers) throws IOException {
+        Map<String, LayeredConfigResolver.ResolvedValue> sorted = new TreeMap<>(fileLayers.values());
+        List<String> sourcePaths = fileLayers.sources().stream().map(source -> source.path().toString()).toList();
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        DataOutputStream tableOutput = new DataOutputStream(table);
+        for (Map.Entry<String, LayeredConfigResolver.ResolvedValue> entry : sorted.entrySet()) {
+            byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] value = entry.getValue().value().getBytes(StandardCharsets.UTF_8);
+            int shadowedMask = 0;
+            for (LayeredConfigResolver.Layer layer : entry.getValue().shadowedLayers()) {
+                shadowedMask |= 1 << layer.ordinal();
+            }
+            int sourceIndex = sourcePaths.indexOf(entry.getValue().source());
+            if (sourceIndex < 0) {
+                throw new IllegalStateException("Configuration key " + entry.getKey() + " has no recorded source file");
+            }
+            tableOutput.writeInt(data.size());
+            tableOutput.writeInt(key.length);
+            data.write(key);
+            tableOutput.writeInt(data.size());
+            tableOutput.writeInt(value.length);
+            data.write(value);
+            tableOutput.writeByte(entry.getValue().layer().ordinal());
+            tableOutput.writeByte(shadowedMask);
+            tableOutput.writeShort(sourceIndex);
+        }
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(snapshot);
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeLong(overrideFingerprint(sorted.keySet()));
+        writeString(output, fileLayers.activeEnvironment().name());
+        output.writeShort(fileLayers.sources().size());
+        for (LayeredConfigResolver.SourceFile source : fileLayers.sources()) {
+            writeString(output, source.path().toString());
+            output.writeByte(source.exists() ? 1 : 0);
+            output.writeLong(source.lastModified());
+            output.writeLong(source.size());
+        }
+        output.writeInt(sorted.size());
+        table.writeTo(output);
+        output.writeInt(data.size());
+        data.writeTo(output);
+        output.flush();
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(snapshot.toByteArray());
+        output.writeLong(checksum.getValue());
+        output.flush();
+        return snapshot.toByteArray();
+    }
+
+    /**
+     * Hashes the system properties and environment variables that override snapshot keys in this JVM, plus the
+     * active environment override, so a snapshot compiled under different overrides is not reused.
+     */
+    private static long overrideFingerprint(Iterable<String> keys) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            List<String> fingerprintKeys = new ArrayList<>();
+            keys.forEach(fingerprintKeys::add);
+            fingerprintKeys.add(EnvironmentConfigConstants.ACTIVE_ENVIRONMENT_KEY);
+            fingerprintKeys.stream().sorted().distinct().forEach(key -> {
+                String systemValue = System.getProperty(key);
+                String environmentValue = System.getenv(key);
+                if (systemValue != null || environmentValue != null) {
+                    digest.update((key + "\0" + systemValue + "\0" + environmentValue + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            });
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException error) {
+            throw new IllegalStateException("SHA-256 is not available", error);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readData(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ConfigurationSnapshotStore createFromConfiguration() {
+        try {
+            PropertyFileConfigManager configuration = PropertyFileConfigManager.getConfiguration(
+                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+            boolean enabled = configuration.getProperty(SNAPSHOT_ENABLED_KEY, Boolean.class).orElse(true);
+            String snapshotPath = configuration.getProperty(SNAPSHOT_PATH_KEY, String.class).orElse(DEFAULT_SNAPSHOT_PATH);
+            return new ConfigurationSnapshotStore(enabled, Paths.get(snapshotPath.trim()));
+        } catch (Exception error) {
+            logger.error("Failed to read configuration snapshot settings, snapshots disabled", error);
+            return new ConfigurationSnapshotStore(false, Paths.get(DEFAULT_SNAPSHOT_PATH));
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.orangehrm.configuration;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.environments.EnvironmentFileDocument;
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.remote.HttpConfigManager;
+import com.orangehrm.utils.ErrorHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Single view over every configuration source, merged once into one flat map.
+ * Layers, from lowest to highest precedence:
+ * <ol>
+ *     <li>global-config.properties</li>
+ *     <li>config-&lt;active environment&gt;.properties, if present</li>
+ *     <li>envs/.env, if present</li>
+ *     <li>envs/.env.&lt;active environment&gt;, if present</li>
+ *     <li>the remote configuration document, if CONFIG_HTTP_URL is set</li>
+ *     <li>OS environment variables</li>
+ *     <li>JVM system properties</li>
+ * </ol>
+ * The active environment is ACTIVE_ENVIRONMENT from the system properties, the OS environment or
+ * global-config.properties, in that order, and UAT when unset, as resolved by
+ * {@link EnvironmentConfigConstants#resolveActiveEnvironment(String)} for every other reader. Every value records the layer and file that
+ * supplied it, so a lookup is one hash probe and {@link #dump()} can explain where each effective value came from.
+ * The files are watched and re-merged on change, as is the remote document when its background refresh sees a
+ * change; a reload publishes the new map with a single volatile write and
+ * then notifies the change listeners, such as the generated typed accessor classes.
+ */
+public final class LayeredConfigResolver extends AbstractConfigManager<LayeredConfigResolver> {
+
+    private static final String DISPLAY_NAME = "LAYERED";
+    private static final String MASK = "********";
+    private static final Pattern SECRET_KEY_PATTERN = Pattern.compile("(?i).*(PASSWORD|SECRET|TOKEN).*|.*_KEY(_NEXT)?");
+    private static final LayeredConfigResolver instance = new LayeredConfigResolver();
+
+    private final List<Consumer<LayeredConfigResolver>> changeListeners = new CopyOnWriteArrayList<>();
+    private volatile Resolution resolution;
+
+    /**
+     * Configuration sources, from lowest to highest precedence.
+     */
+    public enum Layer {
+        GLOBAL_PROPERTIES("global properties"),
+        ENVIRONMENT_PROPERTIES("environment properties"),
+        BASE_ENV_FILE("base .env file"),
+        ENVIRONMENT_ENV_FILE("environment .env file"),
+        // Declared after the file layers, whose ordinals are stored in the configuration snapshot
+        REMOTE_PROPERTIES("remote properties"),
+        OS_ENVIRONMENT("OS environment variable"),
+        SYSTEM_PROPERTIES("JVM system property");
+
+        private final String description;
+
+        Layer(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public boolean isFile() {
+            return ordinal() < REMOTE_PROPERTIES.ordinal();
+        }
+
+        /**
+         * Checks whether the layer holds per-JVM overrides rather than shared configuration.
+         *
+         * @return true for OS environment variables and system properties
+         */
+        public boolean isOverride() {
+            return this == OS_ENVIRONMENT || this == SYSTEM_PROPERTIES;
+        }
+    }
+
+    /**
+     * Effective value of a key and where it came from.
+     *
+     * @param value          the effective value
+     * @param layer          layer that supplied it
+     * @param source         file or URI the value was read from, or the layer description for override layers
+     * @param shadowedLayers lower layers that also define the key, lowest first
+     */
+    public record ResolvedValue(String value, Layer layer, String source, List<Layer> shadowedLayers) {
+    }
+
+    /**
+     * Source file of a file layer, with the state it had when it was read.
+     *
+     * @param path         file path
+     * @param exists       whether the file existed
+     * @param lastModified last modification time in milliseconds, or -1 if absent
+     * @param size         size in bytes, or -1 if absent
+     */
+    record SourceFile(Path path, boolean exists, long lastModified, long size) {
+
+        static SourceFile capture(Path path) {
+            try {
+                return Files.exists(path)
+                        ? new SourceFile(path, true, Files.getLastModifiedTime(path).toMillis(), Files.size(path))
+                        : new SourceFile(path, false, -1L, -1L);
+            } catch (IOException error) {
+                // Unknown state never matches a recorded one, so any snapshot taken from it is treated as stale
+                return new SourceFile(path, true, Long.MIN_VALUE, -1L);
+            }
+        }
+
+        boolean isUnchanged() {
+            return equals(capture(path));
+        }
+    }
+
+    /**
+     * The configuration files merged together, before the per-JVM layers are applied.
+     *
+     * @param values            merged file values with their provenance
+     * @param activeEnvironment environment whose files were merged
+     * @param sources           every candidate file, present or not, as it was before reading
+     */
+    record FileLayers(Map<String, ResolvedValue> values, EnvironmentConfigConstants.Environment activeEnvironment,
+                      List<SourceFile> sources) {
+    }
+
+    private record Resolution(Map<String, ResolvedValue> values, EnvironmentConfigConstants.Environment activeEnvironment,
+                              List<SourceFile> sources) {
+    }
+
+    private LayeredConfigResolver() {
+        super(DISPLAY_NAME, "properties, .env files, OS environment and system properties");
+        try {
+            this.resolution = resolve();
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "LayeredConfigResolver Constructor", "Failed to resolve layered configuration");
+            throw error;
+        }
+        for (SourceFile source : resolution.sources()) {
+            // Watch optional files too, so creating one later is picked up
+            Path directory = source.path().toAbsolutePath().getParent();
+            if (directory != null && Files.isDirectory(directory)) {
+                ConfigurationFileWatcher.getInstance().watch(source.path(), DISPLAY_NAME, this::reload);
+            }
+        }
+        HttpConfigManager.getConfigured().ifPresent(remote -> remote.addChangeListener(changed -> reload()));
+    }
+
+    public static LayeredConfigResolver getInstance() {
+        return instance;
+    }
+
+    @Override
+    public String getProperty(String key) {
+        long start = startAccess();
+        ResolvedValue resolved = resolution.values().get(key);
+        if (resolved == null || resolved.value().isEmpty()) {
+            recordAccess(key, ConfigAccessMetrics.Outcome.MISS, start);
+            String message = String.format("Configuration key '%s' not found or empty in any layer", key);
+            logger.error(message);
+            throw new IllegalArgumentException(message);
+        }
+        recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
+        return resolved.value();
+    }
+
+    @Override
+    public String getProperty(String key, String defaultValue) {
+        long start = startAccess();
+        ResolvedValue resolved = resolution.values().get(key);
+        if (resolved == null || resolved.value().isEmpty()) {
+            logger.debug("Configuration key '{}' not found, using default", key);
+            recordAccess(key, ConfigAccessMetrics.Outcome.DEFAULT, start);
+            return defaultValue;
+        }
+        recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
+        return resolved.value();
+    }
+
+    @Override
+    public <ConversionType> Optional<ConversionType> getProperty(String key, Class<ConversionType> type) {
+        long start = startAccess();
+        ResolvedValue resolved = resolution.values().get(key);
+        if (resolved == null || resolved.value().isEmpty()) {
+            logger.debug("Configuration key '{}' not found in any layer", key);
+            recordAccess(key, ConfigAccessMetrics.Outcome.MISS, start);
+            return Optional.empty();
+        }
+        try {
+            ConversionType converted = getConversionType(key, type, resolved.value());
+            recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
+            return Optional.of(converted);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "getProperty",
+                    "Failed to convert configuration key '" + key + "' to type: " + type.getSimpleName());
+            recordAccess(key, ConfigAccessMetrics.Outcome.CONVERSION_FAILURE, start);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the effective value of a key together with its provenance.
+     *
+     * @param key Configuration key
+     * @return the resolved value, or empty if no layer defines the key
+     */
+    public Optional<ResolvedValue> getResolvedValue(String key) {
+        return Optional.ofNullable(resolution.values().get(key));
+    }
+
+    public EnvironmentConfigConstants.Environment getActiveEnvironment() {
+        return resolution.activeEnvironment();
+    }
+
+    public int size() {
+        return resolution.values().size();
+    }
+
+    /**
+     * Registers a listener that is called after every reload, once the new values are published.
+     *
+     * @param listener Listener to register
+     */
+    public void addChangeListener(Consumer<LayeredConfigResolver> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Change listener cannot be null");
+        }
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(Consumer<LayeredConfigResolver> listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Renders the effective configuration: every key defined by a configuration file or the remote document, plus
+     * any environment variable or system property that overrides one, with its source. Values of keys that look like
+     * passwords, tokens, secrets or keys are masked.
+     *
+     * @return the diagnostic dump, one key per line
+     */
+    public String dump() {
+        Resolution current = resolution;
+        Map<String, ResolvedValue> effective = new TreeMap<>();
+        current.values().forEach((key, resolved) -> {
+            if (!resolved.layer().isOverride() || !resolved.shadowedLayers().isEmpty()) {
+                effective.put(key, resolved);
+            }
+        });
+        int width = effective.keySet().stream().mapToInt(String::length).max().orElse(0);
+
+        StringBuilder dump = new StringBuilder()
+                .append("Effective configuration (").append(effective.size()).append(" keys, active environment ")
+                .append(current.activeEnvironment()).append(")");
+        effective.forEach((key, resolved) -> {
+            dump.append(System.lineSeparator()).append("  ").append(String.format("%-" + width + "s", key))
+                    .append(" = ").append(mask(key, resolved.value()))
+                    .append("  [").append(resolved.layer().getDescription());
+            if (!resolved.layer().isOverride()) {
+                dump.append(": ").append(resolved.source());
+            }
+            if (!resolved.shadowedLayers().isEmpty()) {
+                dump.append(", overrides ").append(resolved.shadowedLayers().stream()
+                        .map(Layer::getDescription).reduce((first, second) -> first + ", " + second).orElse(""));
+            }
+            dump.append("]");
+        });
+        return dump.toString();
+    }
+
+    /**
+     * Checks whether a key holds a secret whose value must not be shown.
+     *
+     * @param key Configuration key
+     * @return true if the value is masked in the dump
+     */
+    public static boolean isSecretKey(String key) {
+        return key != null && SECRET_KEY_PATTERN.matcher(key).matches();
+    }
+
+    @Override
+    public void reload() {
+        try {
+            resolution = resolve();
+            clearConvertedValues();
+            logger.info("Layered configuration reloaded: {} keys, active environment {}",
+                    resolution.values().size(), resolution.activeEnvironment());
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "reload", "Failed to reload layered configuration");
+            throw new IllegalStateException("Failed to reload layered configuration", error);
+        }
+        for (Consumer<LayeredConfigResolver> listener : changeListeners) {
+            try {
+                listener.accept(this);
+            } catch (Exception error) {
+                ErrorHandler.logError(error, "reload", "Layered configuration change listener failed");
+            }
+        }
+    }
+
+    private static String mask(String key, String value) {
+        return isSecretKey(key) ? MASK : value;
+    }
+
+    private static Resolution resolve() {
+        long start = System.nanoTime();
+        Optional<FileLayers> snapshot = ConfigurationSnapshotStore.getInstance().load();
+        FileLayers fileLayers = snapshot.orElseGet(LayeredConfigResolver::mergeFileLayers);
+        Map<String, ResolvedValue> values = new HashMap<>(fileLayers.values());
+
+        HttpConfigManager.getConfigured().ifPresent(remote ->
+                addLayer(values, Layer.REMOTE_PROPERTIES, remote.getUri().toString(), remote.getProperties()));
+        addLayer(values, Layer.OS_ENVIRONMENT, Layer.OS_ENVIRONMENT.getDescription(), System.getenv());
+        Map<String, String> systemProperties = new HashMap<>();
+        System.getProperties().stringPropertyNames().forEach(name -> systemProperties.put(name, System.getProperty(name)));
+        addLayer(values, Layer.SYSTEM_PROPERTIES, Layer.SYSTEM_PROPERTIES.getDescription(), systemProperties);
+
+        logger.info("Resolved {} configuration keys for environment {} from {} in {} ms", values.size(),
+                fileLayers.activeEnvironment(), snapshot.isPresent() ? "snapshot" : "files",
+                String.format("%.1f", (System.nanoTime() - start) / 1_000_000.0));
+        return new Resolution(Map.copyOf(values), fileLayers.activeEnvironment(), fileLayers.sources());
+    }
+
+    /**
+     * Reads and merges the configuration files of the active environment.
+     *
+     * @return the merged file layers
+     */
+    static FileLayers mergeFileLayers() {
+        Map<String, ResolvedValue> values = new HashMap<>();
+        List<SourceFile> sources = new ArrayList<>();
+
+        Path globalFile = Paths.get(PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+        sources.add(SourceFile.capture(globalFile));
+        Map<String, String> globalProperties = readProperties(globalFile)
+                .orElseThrow(() -> new IllegalStateException("Properties file not found: " + globalFile));
+        addLayer(values, Layer.GLOBAL_PROPERTIES, globalFile.toString(), globalProperties);
+
+        EnvironmentConfigConstants.Environment activeEnvironment = EnvironmentConfigConstants.resolveActiveEnvironment(
+                globalProperties.get(EnvironmentConfigConstants.ACTIVE_ENVIRONMENT_KEY));
+
+        Arrays.stream(PropertyConfigConstants.PropertiesFilePath.values())
+                .filter(path -> path.name().equals(activeEnvironment.name()))
+                .findFirst()
+                .map(path -> Paths.get(path.getFullPath()))
+                .ifPresent(file -> addFileLayer(values, sources, Layer.ENVIRONMENT_PROPERTIES, file, LayeredConfigResolver::readProperties));
+
+        Path baseEnvFile = envFile(EnvironmentConfigConstants.EnvironmentFilePath.BASE);
+        addFileLayer(values, sources, Layer.BASE_ENV_FILE, baseEnvFile, LayeredConfigResolver::readEnvironmentFile);
+        if (activeEnvironment != EnvironmentConfigConstants.Environment.BASE) {
+            Path environmentEnvFile = envFile(EnvironmentConfigConstants.EnvironmentFilePath.valueOf(activeEnvironment.name()));
+            addFileLayer(values, sources, Layer.ENVIRONMENT_ENV_FILE, environmentEnvFile, LayeredConfigResolver::readEnvironmentFile);
+        }
+        return new FileLayers(Map.copyOf(values), activeEnvironment, List.copyOf(sources));
+    }
+
+    private static void addFileLayer(Map<String, ResolvedValue> values, List<SourceFile> sources, Layer layer, Path file,
+                                     Function<Path, Optional<Map<String, String>>> reader) {
+        // Captured before reading, so a change made while reading makes the recorded state stale rather than current
+        sources.add(SourceFile.capture(file));
+        reader.apply(file).ifPresentOrElse(
+                layerValues -> addLayer(values, layer, file.toString(), layerValues),
+                () -> logger.debug("No {} at {}, layer skipped", layer.getDescription(), file));
+    }
+
+    private static void addLayer(Map<String, ResolvedValue> values, Layer layer, String source, Map<String, String> entries) {
+        entries.forEach((key, value) -> {
+            ResolvedValue previous = values.get(key);
+            List<Layer> shadowed = Collections.emptyList();
+            if (previous != null) {
+                List<Layer> layers = new ArrayList<>(previous.shadowedLayers());
+                layers.add(previous.layer());
+                shadowed = List.copyOf(layers);
+            }
+            values.put(key, new ResolvedValue(value, layer, source, shadowed));
+        });
+    }
+
+    private static Optional<Map<String, String>> readProperties(Path file) {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "readProperties", "Failed to read properties file: " + file);
+            throw new IllegalStateException("Failed to read properties file: " + file, error);
+        }
+        Map<String, String> entries = new HashMap<>();
+        properties.stringPropertyNames().forEach(name -> entries.put(name, properties.getProperty(name)));
+        return Optional.of(entries);
+    }
+
+    private static Optional<Map<String, String>> readEnvironmentFile(Path file) {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            EnvironmentFileDocument document = EnvironmentFileDocument.load(file);
+            Map<String, String> entries = new HashMap<>();
+            document.getVariableNames().forEach(name -> document.getValue(name).ifPresent(value -> entries.put(name, value)));
+            return Optional.of(entries);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "readEnvironmentFile", "Failed to read environment file: " + file);
+            throw new IllegalStateException("Failed to read environment file: " + file, error);
+        }
+    }
+
+    private static Path envFile(EnvironmentConfigConstants.EnvironmentFilePath filePath) {
+        return Paths.get(filePath.getFullPath());
+    }
+}
@@ -1,9 +1,14 @@
 package com.orangehrm.configuration.environments;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
 public class EnvironmentConfigConstants {
 
     // Base directory for all environment files
     private static final String ENV_DIRECTORY = "envs";
+    public static final String ACTIVE_ENVIRONMENT_KEY = "ACTIVE_ENVIRONMENT";
 
     private EnvironmentConfigConstants() {
     }
@@ -66,6 +71,62 @@ public class EnvironmentConfigConstants {
         public String getKeyName() {
             return keyName;
         }
+
+        /**
+         * Name of the variable holding the next key while a rotation is in progress, e.g. UAT_SECRET_KEY_NEXT
+         */
+        public String getStagedKeyName() {
+            return keyName + "_NEXT";
+        }
+
+        /**
+         * Find the environment secret key stored under a variable name, either the current or the staged one
+         *
+         * @param variableName Secret key variable name, e.g. PROD_SECRET_KEY or PROD_SECRET_KEY_NEXT
+         * @return The matching secret key, or empty if the variable does not hold an environment secret key
+         */
+        public static Optional<EnvironmentSecretKey> forVariableName(String variableName) {
+            return Arrays.stream(values())
+                    .filter(secretKey -> secretKey.keyName.equals(variableName) || secretKey.getStagedKeyName().equals(variableName))
+                    .findFirst();
+        }
+    }
+
+    /**
+     * Argon2 cost profiles, stored in the base environment file next to the secret keys
+     */
+    public enum EnvironmentArgon2Profile {
+        DEV("DEV_ARGON2_PROFILE", EnvironmentSecretKey.DEV),
+        UAT("UAT_ARGON2_PROFILE", EnvironmentSecretKey.UAT),
+        PROD("PROD_ARGON2_PROFILE", EnvironmentSecretKey.PROD);
+
+        private final String keyName;
+        private final EnvironmentSecretKey secretKey;
+
+        EnvironmentArgon2Profile(String keyName, EnvironmentSecretKey secretKey) {
+            this.keyName = keyName;
+            this.secretKey = secretKey;
+        }
+
+        public String getKeyName() {
+            return keyName;
+        }
+
+        public EnvironmentSecretKey getSecretKey() {
+            return secretKey;
+        }
+
+        /**
+         * Find the profile belonging to a secret key variable
+         *
+         * @param secretKeyName Secret key variable name, e.g. UAT_SECRET_KEY
+         * @return The matching profile, or empty if the key is not a known environment secret key
+         */
+        public static Optional<EnvironmentArgon2Profile> forSecretKey(String secretKeyName) {
+            return Arrays.stream(values())
+                    .filter(profile -> profile.secretKey.getKeyName().equals(secretKeyName))
+                    .findFirst();
+        }
     }
 
     /**
@@ -76,4 +137,28 @@ public class EnvironmentConfigConstants {
     public static String getEnvironmentDirectoryPath() {
         return ENV_DIRECTORY;
     }
-}
\ No newline at end of file
+
+    /**
+     * Resolve the active environment. Every reader goes through here so configuration, credentials and the derived
+     * key store agree: the ACTIVE_ENVIRONMENT system property, then the OS environment variable, then the value from
+     * global-config.properties, and UAT when none is set.
+     *
+     * @param configuredValue ACTIVE_ENVIRONMENT from global-config.properties, or null if absent
+     * @return The active environment
+     * @throws IllegalArgumentException if the effective value names no environment
+     */
+    public static Environment resolveActiveEnvironment(String configuredValue) {
+        String activeEnvironment = Optional.ofNullable(System.getProperty(ACTIVE_ENVIRONMENT_KEY))
+                .or(() -> Optional.ofNullable(System.getenv(ACTIVE_ENVIRONMENT_KEY)))
+                .or(() -> Optional.ofNullable(configuredValue))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .orElse(Environment.UAT.name());
+        try {
+            return Environment.valueOf(activeEnvironment.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException error) {
+            throw new IllegalArgumentException("Unknown " + ACTIVE_ENVIRONMENT_KEY + ": '" + activeEnvironment
+                    + "', expected one of " + Arrays.toString(Environment.values()), error);
+        }
+    }
+}
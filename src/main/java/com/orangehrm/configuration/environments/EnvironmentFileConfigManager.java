@@ -1,14 +1,22 @@
 package com.orangehrm.configuration.environments;
 
 import com.orangehrm.configuration.AbstractConfigManager;
+import com.orangehrm.configuration.ConfigAccessMetrics;
+import com.orangehrm.configuration.ConfigurationFileWatcher;
+import com.orangehrm.configuration.ConfigurationInvalidationListener;
 import com.orangehrm.utils.Base64Utils;
 import com.orangehrm.utils.ErrorHandler;
 import io.github.cdimascio.dotenv.Dotenv;
 
 import javax.crypto.SecretKey;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.orangehrm.utils.ErrorHandler.validateParameters;
 
@@ -17,8 +25,10 @@ public class EnvironmentFileConfigManager extends AbstractConfigManager<Environm
 
     // Cache for EnvironmentConfigManager instances
     private static final Map<String, EnvironmentFileConfigManager> configManagerCache = new ConcurrentHashMap<>();
+    private static final List<ConfigurationInvalidationListener> invalidationListeners = new CopyOnWriteArrayList<>();
 
-    private Dotenv dotenv;
+    // Replaced as a whole on reload, so readers see either the old or the new file, never a mix
+    private volatile Dotenv dotenv;
 
     public EnvironmentFileConfigManager(String configurationDisplayName, String envFileName) {
         super(configurationDisplayName, envFileName);
@@ -49,23 +59,27 @@ public class EnvironmentFileConfigManager extends AbstractConfigManager<Environm
 
     @Override
     public String getProperty(String key) {
+        long start = startAccess();
         try {
             // First check system environment variables
             String systemValue = System.getenv(key);
             if (systemValue != null) {
                 ErrorHandler.logPropertySource(key, "system environment variable", systemValue);
+                recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
                 return systemValue;
             }
 
             // Then check dotenv file
             String value = dotenv.get(key);
             if (value == null || value.isEmpty()) {
+                recordAccess(key, ConfigAccessMetrics.Outcome.MISS, start);
                 String message = String.format("Environment variable '%s' not found or empty in configuration '%s'",
                         key, configurationDisplayName);
                 logger.error(message);
                 throw new IllegalArgumentException(message);
             }
 
+            recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
             return value;
         } catch (Exception error) {
             ErrorHandler.logError(error, "getProperty", "Failed to retrieve environment variable");
@@ -75,11 +89,13 @@ public class EnvironmentFileConfigManager extends AbstractConfigManager<Environm
 
     @Override
     public String getProperty(String key, String defaultValue) {
+        long start = startAccess();
         try {
             // First check system environment variables
             String systemValue = System.getenv(key);
             if (systemValue != null) {
                 ErrorHandler.logPropertySource(key, "system environment variable", systemValue);
+                recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
                 return systemValue;
             }
 
@@ -88,8 +104,10 @@ public class EnvironmentFileConfigManager extends AbstractConfigManager<Environm
             if (value.equals(defaultValue)) {
                 logger.warn("Environment variable '{}' not found, using default '{}' in configuration '{}'",
                         key, defaultValue, configurationDisplayName);
+                recordAccess(key, ConfigAccessMetrics.Outcome.DEFAULT, start);
             } else {
                 logger.info("Retrieved environment variable '{}' from configuration '{}'", key, configurationDisplayName);
+                recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
             }
 
             return value;
@@ -101,6 +119,7 @@ public class EnvironmentFileConfigManager extends AbstractConfigManager<Environm
 
     @Override
     public <ConversionType> Optional<ConversionType> getProperty(String key, Class<ConversionType> type) {
+        long start = startAccess();
         try {
             // Check system environment variables first
             String systemValue = System.getenv(key);
@@ -108,23 +127,40 @@ public class EnvironmentFileConfigManager extends AbstractConfigManager<Environm
 
             if (value == null || value.isEmpty()) {
                 logger.warn("Environment variable '{}' not found in configuration '{}'", key, configurationDisplayName);
+                recordAccess(key, ConfigAccessMetrics.Outcome.MISS, start);
                 return Optional.empty();
             }
 
             // Type conversion
-            ConversionType result = getConversionType(type, value);
+            ConversionType result = getConversionType(key, type, value);
             logger.debug("Retrieved and converted environment variable '{}' to type: {}", key, type.getSimpleName());
+            recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
             return Optional.of(result);
         } catch (Exception error) {
             ErrorHandler.logError(error, "getProperty", "Failed to retrieve or convert environment variable");
+            recordAccess(key, ConfigAccessMetrics.Outcome.CONVERSION_FAILURE, start);
             return Optional.empty();
         }
     }
 
+    /**
+     * Returns the variables declared in the environment file, without OS environment overrides.
+     *
+     * @return the declared variables in file order
+     */
+    public Map<String, String> getDeclaredVariables() {
+        Map<String, String> variables = new LinkedHashMap<>();
+        dotenv.entries(Dotenv.Filter.DECLARED_IN_ENV_FILE)
+                .forEach(entry -> variables.put(entry.getKey(), entry.getValue()));
+        return Collections.unmodifiableMap(variables);
+    }
+
     @Override
     public void reload() {
         try {
             loadEnvironment();
+            clearConvertedValues();
+            notifyInvalidationListeners(configurationDisplayName, configSource);
             logger.info("Environment configuration '{}' reloaded successfully", configurationDisplayName);
         } catch (Exception error) {
             ErrorHandler.logError(error, "reload", "Failed to reload environment configuration");
@@ -171,6 +207,9 @@ public class EnvironmentFileConfigManager extends AbstractConfigManager<Environm
 
             // Store in cache for future use
             configManagerCache.put(cacheKey, newConfig);
+            ConfigurationFileWatcher.getInstance().watch(
+                    Paths.get(EnvironmentConfigConstants.getEnvironmentDirectoryPath(), envName), cacheKey,
+                    () -> reloadCached(cacheKey));
             return newConfig;
         } catch (Exception e) {
             logger.error("Unexpected error loading configuration for environment: {}, file: {}: {}",
@@ -179,6 +218,13 @@ public class EnvironmentFileConfigManager extends AbstractConfigManager<Environm
         }
     }
 
+    /**
+     * Reloads the cached configuration for a cache key, if it is still cached.
+     */
+    private static void reloadCached(String cacheKey) {
+        Optional.ofNullable(configManagerCache.get(cacheKey)).ifPresent(EnvironmentFileConfigManager::reload);
+    }
+
     /**
      * Generates a consistent cache key from configuration parameters.
      */
@@ -191,9 +237,54 @@ public class EnvironmentFileConfigManager extends AbstractConfigManager<Environm
      */
     public static void clearConfigCache() {
         configManagerCache.clear();
+        notifyInvalidationListeners(null, null);
         logger.info("Configuration cache cleared");
     }
 
+    /**
+     * Clears the cached configurations loaded from one environment file, leaving other configurations and the
+     * secret keys resolved from them untouched.
+     *
+     * @param envName The environment file name, e.g. .env.uat
+     */
+    public static void clearConfigCache(String envName) {
+        validateParameters(envName);
+        configManagerCache.values().removeIf(configuration -> {
+            if (!configuration.configSource.equals(envName)) {
+                return false;
+            }
+            notifyInvalidationListeners(configuration.configurationDisplayName, envName);
+            return true;
+        });
+        logger.info("Configuration cache cleared for {}", envName);
+    }
+
+    /**
+     * Registers a listener notified whenever an environment configuration is reloaded or the cache is cleared.
+     *
+     * @param listener Listener to register
+     */
+    public static void addInvalidationListener(ConfigurationInvalidationListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Invalidation listener cannot be null");
+        }
+        invalidationListeners.add(listener);
+    }
+
+    public static void removeInvalidationListener(ConfigurationInvalidationListener listener) {
+        invalidationListeners.remove(listener);
+    }
+
+    private static void notifyInvalidationListeners(String configurationDisplayName, String configSource) {
+        for (ConfigurationInvalidationListener listener : invalidationListeners) {
+            try {
+                listener.onInvalidated(configurationDisplayName, configSource);
+            } catch (Exception error) {
+                ErrorHandler.logError(error, "notifyInvalidationListeners", "Invalidation listener failed");
+            }
+        }
+    }
+
     // Custom exception class for configuration errors
     public static class ConfigurationException extends RuntimeException {
         public ConfigurationException(String message) {
@@ -0,0 +1,161 @@
+package com.orangehrm.configuration.environments;
+
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.FileDirectoryManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Ordered, editable model of a .env file.
+ * The file is read once; comments, blank lines and variable order are kept exactly as found, and variables are
+ * indexed by name so any number of updates can be applied before the file is written back in a single atomic step.
+ */
+public final class EnvironmentFileDocument {
+
+    private static final String SEPARATOR = "=";
+    private static final String COMMENT_PREFIX = "#";
+
+    private final List<String> lines;
+    private final Map<String, Integer> variableIndex = new LinkedHashMap<>();
+    private boolean modified;
+
+    private EnvironmentFileDocument(List<String> lines) {
+        this.lines = new ArrayList<>(lines);
+        reindex();
+    }
+
+    /**
+     * Reads a .env file into a document. A missing file yields an empty document.
+     *
+     * @param filePath Path to the environment file
+     * @return the parsed document
+     * @throws IOException If the file cannot be read
+     */
+    public static EnvironmentFileDocument load(Path filePath) throws IOException {
+        if (filePath == null) {
+            throw new IllegalArgumentException("File path cannot be null");
+        }
+        try {
+            return new EnvironmentFileDocument(Files.exists(filePath) ? Files.readAllLines(filePath) : List.of());
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "load", "Failed to read environment file: " + filePath);
+            throw error;
+        }
+    }
+
+    /**
+     * Returns the value of a variable with surrounding quotes removed.
+     *
+     * @param name Variable name
+     * @return the value, or empty if the variable is not defined
+     */
+    public Optional<String> getValue(String name) {
+        Integer index = variableIndex.get(name);
+        if (index == null) {
+            return Optional.empty();
+        }
+        String line = lines.get(index);
+        return Optional.of(unquote(line.substring(line.indexOf(SEPARATOR) + 1).trim()));
+    }
+
+    /**
+     * Sets a variable in place, or appends it when it is not yet defined.
+     *
+     * @param name Variable name
+     * @param value Value to set
+     */
+    public void setValue(String name, String value) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Environment variable name cannot be null or empty");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+
+        String line = name + SEPARATOR + value;
+        Integer index = variableIndex.get(name);
+        if (index == null) {
+            lines.add(line);
+            variableIndex.put(name, lines.size() - 1);
+        } else {
+            lines.set(index, line);
+        }
+        modified = true;
+    }
+
+    /**
+     * Removes every line defining a variable.
+     *
+     * @param name Variable name
+     * @return true if the variable was defined
+     */
+    public boolean removeVariable(String name) {
+        if (!variableIndex.containsKey(name)) {
+            return false;
+        }
+        lines.removeIf(line -> parseVariableName(line).filter(name::equals).isPresent());
+        reindex();
+        modified = true;
+        return true;
+    }
+
+    public Set<String> getVariableNames() {
+        return Collections.unmodifiableSet(variableIndex.keySet());
+    }
+
+    public List<String> getLines() {
+        return Collections.unmodifiableList(lines);
+    }
+
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Writes the document to a temporary file and moves it over the target in one step.
+     *
+     * @param filePath Path to the environment file
+     * @throws IOException If the file cannot be written
+     */
+    public void writeAtomically(Path filePath) throws IOException {
+        FileDirectoryManager.writeLinesAtomically(filePath, lines);
+        modified = false;
+    }
+
+    private void reindex() {
+        variableIndex.clear();
+        for (int index = 0; index < lines.size(); index++) {
+            int lineIndex = index;
+            // The first definition wins, matching the line that in-place updates rewrite
+            parseVariableName(lines.get(index)).ifPresent(name -> variableIndex.putIfAbsent(name, lineIndex));
+        }
+    }
+
+    private static Optional<String> parseVariableName(String line) {
+        int separatorIndex = line.indexOf(SEPARATOR);
+        if (line.trim().startsWith(COMMENT_PREFIX) || separatorIndex <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(line.substring(0, separatorIndex).trim());
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2) {
+            char first = value.charAt(0);
+            char last = value.charAt(value.length() - 1);
+            if ((first == '"' || first == '\'') && first == last) {
+                return value.substring(1, value.length() - 1);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,285 @@
+package com.orangehrm.configuration.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Generates the typed accessor classes declared with {@link ConfigurationAccessors}.
+ * The properties files are read from the directory given by the {@code configuration.directory} processor option,
+ * or from {@code src/main/resources/properties} relative to the working directory when the option is not set.
+ * <p>
+ * Each generated class holds one final field per key. All fields are resolved through the
+ * {@code LayeredConfigResolver} when the class is initialized and again after every resolver reload, so the usual
+ * precedence of system properties, environment variables and .env files applies and a read is a volatile read of
+ * the current instance followed by a field read: no key hashing, no string conversion and no boxing. Missing or
+ * malformed values fall back to the value the key had in the files at compile time.
+ */
+@SupportedAnnotationTypes({
+        "com.orangehrm.configuration.processor.ConfigurationAccessors",
+        "com.orangehrm.configuration.processor.ConfigurationAccessors.List"
+})
+@SupportedOptions(ConfigurationAccessorProcessor.DIRECTORY_OPTION)
+public class ConfigurationAccessorProcessor extends AbstractProcessor {
+
+    static final String DIRECTORY_OPTION = "configuration.directory";
+    private static final String DEFAULT_DIRECTORY = "src/main/resources/properties";
+    private static final String RESOLVER_CLASS = "com.orangehrm.configuration.LayeredConfigResolver";
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("-?\\d{1,18}");
+
+    private enum ValueType {
+        INT("int", "Integer", "0"),
+        LONG("long", "Long", "0L"),
+        BOOLEAN("boolean", "Boolean", "false"),
+        STRING("String", "String", "null");
+
+        private final String javaType;
+        private final String boxedType;
+        private final String zeroValue;
+
+        ValueType(String javaType, String boxedType, String zeroValue) {
+            this.javaType = javaType;
+            this.boxedType = boxedType;
+            this.zeroValue = zeroValue;
+        }
+    }
+
+    private record Accessor(String key, String name, ValueType type, String defaultValue, String fallback) {
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        Set<? extends Element> elements = roundEnvironment.getElementsAnnotatedWithAny(
+                Set.of(ConfigurationAccessors.class, ConfigurationAccessors.List.class));
+        for (Element element : elements) {
+            for (ConfigurationAccessors accessors : element.getAnnotationsByType(ConfigurationAccessors.class)) {
+                generate(element, accessors);
+            }
+        }
+        return true;
+    }
+
+    private void generate(Element element, ConfigurationAccessors accessors) {
+        Messager messager = processingEnv.getMessager();
+        if (!SourceVersion.isIdentifier(accessors.className()) || SourceVersion.isKeyword(accessors.className())) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Invalid accessor class name: " + accessors.className(), element);
+            return;
+        }
+
+        Path directory = Paths.get(processingEnv.getOptions().getOrDefault(DIRECTORY_OPTION, DEFAULT_DIRECTORY));
+        Map<String, List<String>> valuesByKey = new TreeMap<>();
+        List<String> readFiles = new ArrayList<>();
+        for (String file : accessors.files()) {
+            Path path = directory.resolve(file);
+            if (!Files.isRegularFile(path)) {
+                continue;
+            }
+            Properties properties = new Properties();
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                properties.load(inputStream);
+            } catch (IOException error) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Cannot read properties file " + path + ": " + error.getMessage(), element);
+                return;
+            }
+            readFiles.add(file);
+            properties.stringPropertyNames().forEach(key ->
+                    valuesByKey.computeIfAbsent(key, name -> new ArrayList<>()).add(properties.getProperty(key).trim()));
+        }
+        if (readFiles.isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "None of the properties files " + String.join(", ", accessors.files())
+                    + " exist in " + directory.toAbsolutePath() + "; set -A" + DIRECTORY_OPTION, element);
+            return;
+        }
+
+        List<Accessor> fields = new ArrayList<>();
+        valuesByKey.forEach((key, values) -> {
+            String name = toCamelCase(key);
+            if (!SourceVersion.isName(key) || !SourceVersion.isName(name)) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "Configuration key '" + key
+                        + "' is not a valid Java identifier, no accessor generated", element);
+                return;
+            }
+            ValueType type = inferType(values);
+            boolean sameEverywhere = values.size() == readFiles.size() && values.stream().distinct().count() == 1;
+            if (accessors.compiledDefaults() && sameEverywhere) {
+                fields.add(new Accessor(key, name, type, literal(type, values.get(0)), describe(values.get(0))));
+            } else {
+                fields.add(new Accessor(key, name, type, type.zeroValue, describe(type.zeroValue)));
+            }
+        });
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+        String qualifiedName = packageName.isEmpty() ? accessors.className() : packageName + "." + accessors.className();
+        try {
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(qualifiedName, element);
+            try (Writer writer = source.openWriter()) {
+                writer.write(render(packageName, accessors.className(), readFiles, fields));
+            }
+        } catch (IOException error) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write " + qualifiedName + ": " + error.getMessage(), element);
+        }
+    }
+
+    private static String render(String packageName, String className, List<String> files, List<Accessor> fields) {
+        String fileList = String.join(", ", files);
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import ").append(RESOLVER_CLASS).append(";\n\n")
+                .append("import javax.annotation.processing.Generated;\n\n")
+                .append("/**\n")
+                .append(" * Typed accessors for ").append(fileList).append(".\n")
+                .append(" * Generated from the files at compile time; do not edit. Values are resolved through the\n")
+                .append(" * {@link LayeredConfigResolver} when the class is initialized and after every reload, so each accessor\n")
+                .append(" * is a field read. Missing or malformed values fall back to the value shown on the accessor.\n")
+                .append(" */\n")
+                .append("@Generated(\"").append(ConfigurationAccessorProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(className).append(" {\n\n")
+                .append("    /**\n")
+                .append("     * Configuration keys of ").append(fileList).append(".\n")
+                .append("     */\n")
+                .append("    public static final class Keys {\n");
+        for (Accessor field : fields) {
+            source.append("        public static final String ").append(field.key()).append(" = ")
+                    .append(quote(field.key())).append(";\n");
+        }
+        source.append("\n        private Keys() {\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("    private static volatile ").append(className).append(" current;\n\n")
+                .append("    static {\n")
+                .append("        LayeredConfigResolver resolver = LayeredConfigResolver.getInstance();\n")
+                .append("        current = new ").append(className).append("(resolver);\n")
+                .append("        resolver.addChangeListener(reloaded -> current = new ").append(className).append("(reloaded));\n")
+                .append("    }\n\n");
+        for (Accessor field : fields) {
+            source.append("    private final ").append(field.type().javaType).append(' ').append(field.name()).append(";\n");
+        }
+        source.append("\n    private ").append(className).append("(LayeredConfigResolver resolver) {\n");
+        for (Accessor field : fields) {
+            source.append("        this.").append(field.name()).append(" = ");
+            if (field.type() == ValueType.STRING) {
+                // A bare null default would be ambiguous between the String and Class overloads
+                String defaultValue = field.defaultValue().equals("null") ? "(String) null" : field.defaultValue();
+                source.append("resolver.getProperty(Keys.").append(field.key()).append(", ")
+                        .append(defaultValue).append(");\n");
+            } else {
+                source.append("resolver.getProperty(Keys.").append(field.key()).append(", ")
+                        .append(field.type().boxedType).append(".class).orElse(").append(field.defaultValue()).append(");\n");
+            }
+        }
+        source.append("    }\n");
+        for (Accessor field : fields) {
+            source.append("\n    /**\n")
+                    .append("     * @return ").append(field.key()).append(", or ").append(field.fallback()).append(" when unset\n")
+                    .append("     */\n")
+                    .append("    public static ").append(field.type().javaType).append(' ').append(field.name()).append("() {\n")
+                    .append("        return current.").append(field.name()).append(";\n")
+                    .append("    }\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static ValueType inferType(List<String> values) {
+        if (values.stream().allMatch(value -> INTEGER_PATTERN.matcher(value).matches())) {
+            boolean fitsInt = values.stream().mapToLong(Long::parseLong)
+                    .allMatch(value -> value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE);
+            return fitsInt ? ValueType.INT : ValueType.LONG;
+        }
+        if (values.stream().allMatch(value -> value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false"))) {
+            return ValueType.BOOLEAN;
+        }
+        return ValueType.STRING;
+    }
+
+    private static String literal(ValueType type, String value) {
+        return switch (type) {
+            case INT -> Integer.toString(Integer.parseInt(value));
+            case LONG -> Long.parseLong(value) + "L";
+            case BOOLEAN -> Boolean.toString(Boolean.parseBoolean(value));
+            case STRING -> quote(value);
+        };
+    }
+
+    private static String toCamelCase(String key) {
+        StringBuilder name = new StringBuilder();
+        boolean upperNext = false;
+        for (char character : key.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (character == '_' || character == '.' || character == '-') {
+                upperNext = name.length() > 0;
+            } else {
+                name.append(upperNext ? Character.toUpperCase(character) : character);
+                upperNext = false;
+            }
+        }
+        return name.toString();
+    }
+
+    private static String quote(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (character < 0x20 || character > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        literal.append(character);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static String describe(String value) {
+        if (value.isEmpty()) {
+            return "an empty string";
+        }
+        StringBuilder text = new StringBuilder("<code>");
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '&' -> text.append("&amp;");
+                case '<' -> text.append("&lt;");
+                case '>' -> text.append("&gt;");
+                case '@' -> text.append("&#64;");
+                case '*' -> text.append("&#42;");
+                case '\\' -> text.append("&#92;");
+                default -> text.append(character < 0x20 || character > 0x7e ? ' ' : character);
+            }
+        }
+        return text.append("</code>").toString();
+    }
+}
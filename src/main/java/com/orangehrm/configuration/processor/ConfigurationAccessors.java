@@ -0,0 +1,55 @@
+package com.orangehrm.configuration.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a class of typed, static accessors for the keys of one or more properties files.
+ * The class is generated at compile time by {@link ConfigurationAccessorProcessor} into the package of the
+ * annotated type. Each key gets a constant in a nested {@code Keys} class and an accessor named after the key in
+ * camel case, e.g. {@code DEFAULT_GLOBAL_TIMEOUT} becomes {@code defaultGlobalTimeout()}. The return type is
+ * inferred from the values in the files: {@code int} or {@code long} for integers, {@code boolean} for true/false
+ * and {@code String} otherwise.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(ConfigurationAccessors.List.class)
+public @interface ConfigurationAccessors {
+
+    /**
+     * @return simple name of the generated class
+     */
+    String className();
+
+    /**
+     * Properties files to read, relative to the configuration directory. Files that do not exist are skipped; when
+     * several files define a key, its value in all of them decides the type and the compiled-in default.
+     *
+     * @return the properties file names
+     */
+    String[] files();
+
+    /**
+     * Whether a key that has the same value in every file falls back to that value when it is unset at runtime.
+     * Disable for per-environment files, where one environment's value is no sensible default for another; unset
+     * keys then read as {@code null}, {@code 0} or {@code false}.
+     *
+     * @return whether compile-time values are used as defaults
+     */
+    boolean compiledDefaults() default true;
+
+    /**
+     * Container for repeated {@link ConfigurationAccessors} annotations.
+     */
+    @Documented
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.TYPE)
+    @interface List {
+        ConfigurationAccessors[] value();
+    }
+}
@@ -0,0 +1,162 @@
+package com.orangehrm.configuration.properties;
+
+import com.orangehrm.configuration.LayeredConfigResolver;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Immutable view of the global settings read on hot paths such as waits and screenshots, converted once to
+ * durations and paths. The values are taken from the generated {@link GlobalConfig} accessors, so they come from the
+ * {@link LayeredConfigResolver} with every layer applied (system property, OS environment, remote document, files)
+ * and always match what GlobalConfig reports. Reading a field afterwards allocates nothing, logs nothing and never
+ * touches the configuration cache. When the resolver reloads a new snapshot is built and published with a single
+ * volatile write, and change listeners receive it.
+ */
+public final class GlobalConfigSnapshot {
+
+    private static final Logger logger = LoggerUtils.getLogger(GlobalConfigSnapshot.class);
+    private static final String IMPLICIT_TIMEOUT_KEY = GlobalConfig.Keys.IMPLICIT_TIMEOUT;
+    private static final String DEFAULT_TIMEOUT_KEY = GlobalConfig.Keys.DEFAULT_GLOBAL_TIMEOUT;
+    private static final String POLLING_TIMEOUT_KEY = GlobalConfig.Keys.POLLING_TIMEOUT;
+    private static final String SCREENSHOT_DIRECTORY_KEY = GlobalConfig.Keys.SCREENSHOT_DIR;
+    private static final int DEFAULT_IMPLICIT_TIMEOUT_SECONDS = 10;
+    private static final int DEFAULT_TIMEOUT_SECONDS = 60;
+    private static final int DEFAULT_POLLING_MILLIS = 1000;
+    private static final String DEFAULT_SCREENSHOT_DIRECTORY = "screenshots";
+    private static final List<Consumer<GlobalConfigSnapshot>> changeListeners = new CopyOnWriteArrayList<>();
+    private static volatile GlobalConfigSnapshot instance;
+
+    static {
+        // Building the first snapshot initializes GlobalConfig, whose own change listener is therefore registered
+        // first and has published the reloaded values by the time this one runs
+        instance = createFromConfiguration();
+        LayeredConfigResolver.getInstance().addChangeListener(reloaded -> refresh());
+    }
+
+    private final Duration implicitWaitTimeout;
+    private final Duration defaultWaitTimeout;
+    private final Duration pollingInterval;
+    private final Path screenshotDirectory;
+
+    /**
+     * Creates a snapshot from already resolved values.
+     *
+     * @param implicitWaitTimeout Implicit wait applied to new drivers
+     * @param defaultWaitTimeout  Timeout of explicit and fluent waits
+     * @param pollingInterval     Polling interval of fluent waits
+     * @param screenshotDirectory Directory screenshots are written to
+     * @throws IllegalArgumentException If any value is null or a duration is negative
+     */
+    public GlobalConfigSnapshot(Duration implicitWaitTimeout, Duration defaultWaitTimeout, Duration pollingInterval,
+                                Path screenshotDirectory) {
+        this.implicitWaitTimeout = requireNonNegative(implicitWaitTimeout, IMPLICIT_TIMEOUT_KEY);
+        this.defaultWaitTimeout = requireNonNegative(defaultWaitTimeout, DEFAULT_TIMEOUT_KEY);
+        this.pollingInterval = requireNonNegative(pollingInterval, POLLING_TIMEOUT_KEY);
+        if (screenshotDirectory == null) {
+            throw new IllegalArgumentException(SCREENSHOT_DIRECTORY_KEY + " cannot be null");
+        }
+        this.screenshotDirectory = screenshotDirectory;
+    }
+
+    public static GlobalConfigSnapshot getInstance() {
+        return instance;
+    }
+
+    /**
+     * Registers a listener that receives every snapshot published after a reload.
+     *
+     * @param listener Listener to register
+     */
+    public static void addChangeListener(Consumer<GlobalConfigSnapshot> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Change listener cannot be null");
+        }
+        changeListeners.add(listener);
+    }
+
+    public static void removeChangeListener(Consumer<GlobalConfigSnapshot> listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Resolves the global settings again and publishes the result.
+     */
+    public static void refresh() {
+        GlobalConfigSnapshot snapshot = createFromConfiguration();
+        instance = snapshot;
+        for (Consumer<GlobalConfigSnapshot> listener : changeListeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (Exception error) {
+                ErrorHandler.logError(error, "refresh", "Global settings change listener failed");
+            }
+        }
+    }
+
+    /**
+     * Builds a snapshot from the current values of the generated {@link GlobalConfig} accessors.
+     *
+     * @return the resolved snapshot
+     */
+    public static GlobalConfigSnapshot resolve() {
+        return new GlobalConfigSnapshot(
+                Duration.ofSeconds(GlobalConfig.implicitTimeout()),
+                Duration.ofSeconds(GlobalConfig.defaultGlobalTimeout()),
+                Duration.ofMillis(GlobalConfig.pollingTimeout()),
+                Paths.get(GlobalConfig.screenshotDir().trim()));
+    }
+
+    public Duration getImplicitWaitTimeout() {
+        return implicitWaitTimeout;
+    }
+
+    public Duration getDefaultWaitTimeout() {
+        return defaultWaitTimeout;
+    }
+
+    public Duration getPollingInterval() {
+        return pollingInterval;
+    }
+
+    public Path getScreenshotDirectory() {
+        return screenshotDirectory;
+    }
+
+    @Override
+    public String toString() {
+        return "GlobalConfigSnapshot{implicitWaitTimeout=" + implicitWaitTimeout
+                + ", defaultWaitTimeout=" + defaultWaitTimeout
+                + ", pollingInterval=" + pollingInterval
+                + ", screenshotDirectory=" + screenshotDirectory + "}";
+    }
+
+    private static Duration requireNonNegative(Duration value, String key) {
+        if (value == null || value.isNegative()) {
+            throw new IllegalArgumentException(key + " must be zero or positive");
+        }
+        return value;
+    }
+
+    private static GlobalConfigSnapshot createFromConfiguration() {
+        try {
+            GlobalConfigSnapshot snapshot = resolve();
+            logger.info("Resolved {}", snapshot);
+            return snapshot;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "createFromConfiguration", "Failed to resolve global settings, using defaults");
+            return new GlobalConfigSnapshot(
+                    Duration.ofSeconds(DEFAULT_IMPLICIT_TIMEOUT_SECONDS),
+                    Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS),
+                    Duration.ofMillis(DEFAULT_POLLING_MILLIS),
+                    Paths.get(DEFAULT_SCREENSHOT_DIRECTORY));
+        }
+    }
+}
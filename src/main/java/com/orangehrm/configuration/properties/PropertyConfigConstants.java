@@ -1,5 +1,14 @@
 package com.orangehrm.configuration.properties;
 
+import com.orangehrm.configuration.processor.ConfigurationAccessors;
+
+/**
+ * Properties file locations. The typed accessor classes {@code GlobalConfig} and {@code EnvironmentConfig} are
+ * generated from these files at compile time, so a misspelt key is a compile error rather than a runtime lookup miss.
+ */
+@ConfigurationAccessors(className = "GlobalConfig", files = "global-config.properties")
+@ConfigurationAccessors(className = "EnvironmentConfig", compiledDefaults = false,
+        files = {"config-dev.properties", "config-uat.properties", "config-prod.properties"})
 public final class PropertyConfigConstants {
 
     // Base directory for properties files
@@ -1,6 +1,9 @@
 package com.orangehrm.configuration.properties;
 
 import com.orangehrm.configuration.AbstractConfigManager;
+import com.orangehrm.configuration.ConfigAccessMetrics;
+import com.orangehrm.configuration.ConfigurationFileWatcher;
+import com.orangehrm.configuration.ConfigurationInvalidationListener;
 import com.orangehrm.utils.ErrorHandler;
 
 import java.io.FileInputStream;
@@ -9,10 +12,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.orangehrm.utils.ErrorHandler.logPropertySource;
 import static com.orangehrm.utils.ErrorHandler.validateParameters;
@@ -21,18 +27,19 @@ public class PropertyFileConfigManager extends AbstractConfigManager<PropertyFil
 
     // Cache for EnvironmentConfigManager instances
     private static final Map<String, PropertyFileConfigManager> configManagerCache = new ConcurrentHashMap<>();
+    private static final List<ConfigurationInvalidationListener> invalidationListeners = new CopyOnWriteArrayList<>();
 
-    private final Properties properties;
+    // Immutable; a reload parses into a new map and publishes it with a single write
+    private volatile Map<String, String> properties;
     private final Path configPath;
 
     public PropertyFileConfigManager(String configurationDisplayName, String propertiesFilePath) {
         super(configurationDisplayName, propertiesFilePath);
-        this.properties = new Properties();
         this.configPath = Paths.get(propertiesFilePath);
 
         try {
             validateFilePath();
-            loadProperties();
+            this.properties = loadProperties();
             logger.info("Configuration '{}' successfully loaded from: {}",
                     configurationDisplayName, propertiesFilePath);
         } catch (IOException e) {
@@ -54,92 +61,120 @@ public class PropertyFileConfigManager extends AbstractConfigManager<PropertyFil
 
     @Override
     public String getProperty(String key) {
+        long start = startAccess();
         // First check system properties
         String systemValue = System.getProperty(key);
         if (systemValue != null) {
             logPropertySource(key, "system property", systemValue);
+            recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
             return systemValue;
         }
 
         // Then check properties file
-        String value = properties.getProperty(key);
+        String value = properties.get(key);
         if (value == null || value.isEmpty()) {
+            recordAccess(key, ConfigAccessMetrics.Outcome.MISS, start);
             logger.warn("Property '{}' not found or empty in properties file", key);
             throw new ConfigurationException("Property '" + key + "' not found or empty in properties file");
         }
 
+        recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
         return value;
     }
 
     @Override
     public String getProperty(String key, String defaultValue) {
+        long start = startAccess();
         try {
             // First check system properties
             String systemValue = System.getProperty(key);
             if (systemValue != null) {
                 logPropertySource(key, "system property", systemValue);
+                recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
                 return systemValue;
             }
 
             // Then check properties file
-            String value = properties.getProperty(key);
+            String value = properties.get(key);
             if (value == null || value.isEmpty()) {
-                logger.info("Property '{}' not found, using default: '{}'", key, defaultValue);
+                // Counted in the access metrics report; logging every fallback floods the log on hot paths
+                logger.debug("Property '{}' not found, using default: '{}'", key, defaultValue);
+                recordAccess(key, ConfigAccessMetrics.Outcome.DEFAULT, start);
                 return defaultValue;
             }
 
+            recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
             return value;
         } catch (Exception error) {
             ErrorHandler.logError(error, "getValue", "Failed to retrieve property: " + key);
+            recordAccess(key, ConfigAccessMetrics.Outcome.DEFAULT, start);
             return defaultValue; // Return default on any error
         }
     }
 
     @Override
     public <ConversionType> Optional<ConversionType> getProperty(String key, Class<ConversionType> type) {
+        long start = startAccess();
         try {
             // Check system properties first
             String systemValue = System.getProperty(key);
-            String value = systemValue != null ? systemValue : properties.getProperty(key);
+            String value = systemValue != null ? systemValue : properties.get(key);
 
             if (value == null || value.isEmpty()) {
                 logger.warn("Property '{}' not found or empty", key);
+                recordAccess(key, ConfigAccessMetrics.Outcome.MISS, start);
                 return Optional.empty();
             }
 
             // Type conversion
-            ConversionType result = getConversionType(type, value);
+            ConversionType result = getConversionType(key, type, value);
             logger.debug("Retrieved and converted property '{}' to type: {}", key, type.getSimpleName());
+            recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
             return Optional.of(result);
         } catch (Exception error) {
             ErrorHandler.logError(error, "getValue",
                     "Failed to retrieve or convert property '" + key + "' to type: " + type.getSimpleName());
+            recordAccess(key, ConfigAccessMetrics.Outcome.CONVERSION_FAILURE, start);
             return Optional.empty();
         }
     }
 
+    /**
+     * Returns every property loaded from the file, without system property overrides.
+     *
+     * @return immutable view of the file's current properties
+     */
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
     @Override
     public void reload() {
         try {
-            properties.clear();
-            loadProperties();
+            properties = loadProperties();
+            clearConvertedValues();
             logger.info("Configuration '{}' reloaded successfully from: {}",
                     configurationDisplayName, configSource);
+            notifyInvalidationListeners(configurationDisplayName, configSource);
         } catch (IOException error) {
             ErrorHandler.logError(error, "reload", "Failed to reload properties file: " + configSource);
             throw new ConfigurationException("Failed to reload properties configuration", error);
         }
     }
 
-    private void loadProperties() throws IOException {
+    private Map<String, String> loadProperties() throws IOException {
         if (!Files.exists(configPath)) {
             throw new FileNotFoundException("Properties file not found: " + configPath);
         }
 
+        Properties loaded = new Properties();
         try (FileInputStream inputStream = new FileInputStream(configPath.toFile())) {
-            properties.load(inputStream);
-            logger.debug("Loaded {} properties from file", properties.size());
+            loaded.load(inputStream);
         }
+        Map<String, String> values = new HashMap<>();
+        loaded.stringPropertyNames().forEach(name -> values.put(name, loaded.getProperty(name)));
+        logger.debug("Loaded {} properties from file", values.size());
+        return Map.copyOf(values);
     }
 
     private void validateFilePath() {
@@ -148,6 +183,13 @@ public class PropertyFileConfigManager extends AbstractConfigManager<PropertyFil
         }
     }
 
+    /**
+     * Reloads the cached configuration for a cache key, if it is still cached.
+     */
+    private static void reloadCached(String cacheKey) {
+        Optional.ofNullable(configManagerCache.get(cacheKey)).ifPresent(PropertyFileConfigManager::reload);
+    }
+
     /**
      * Generates a consistent cache key from configuration parameters.
      */
@@ -175,6 +217,8 @@ public class PropertyFileConfigManager extends AbstractConfigManager<PropertyFil
                     configurationDisplayName, envName);
 
             configManagerCache.put(cacheKey, newConfig);
+            ConfigurationFileWatcher.getInstance().watch(newConfig.configPath, cacheKey,
+                    () -> reloadCached(cacheKey));
             return newConfig;
         } catch (Exception e) {
             logger.error("Error loading configuration for {}: {}", cacheKey, e.getMessage(), e);
@@ -187,9 +231,37 @@ public class PropertyFileConfigManager extends AbstractConfigManager<PropertyFil
      */
     public static void clearConfigCache() {
         configManagerCache.clear();
+        notifyInvalidationListeners(null, null);
         logger.info("Configuration cache cleared");
     }
 
+    /**
+     * Registers a listener notified whenever a properties configuration is reloaded, including reloads triggered
+     * by a change on disk, or the cache is cleared.
+     *
+     * @param listener Listener to register
+     */
+    public static void addInvalidationListener(ConfigurationInvalidationListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Invalidation listener cannot be null");
+        }
+        invalidationListeners.add(listener);
+    }
+
+    public static void removeInvalidationListener(ConfigurationInvalidationListener listener) {
+        invalidationListeners.remove(listener);
+    }
+
+    private static void notifyInvalidationListeners(String configurationDisplayName, String configSource) {
+        for (ConfigurationInvalidationListener listener : invalidationListeners) {
+            try {
+                listener.onInvalidated(configurationDisplayName, configSource);
+            } catch (Exception error) {
+                ErrorHandler.logError(error, "notifyInvalidationListeners", "Invalidation listener failed");
+            }
+        }
+    }
+
     // Custom exception class for configuration errors
     public static class ConfigurationException extends RuntimeException {
         public ConfigurationException(String message) {
@@ -0,0 +1,469 @@
+package com.orangehrm.configuration.remote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orangehrm.configuration.AbstractConfigManager;
+import com.orangehrm.configuration.ConfigAccessMetrics;
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.FileDirectoryManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static com.orangehrm.utils.ErrorHandler.logPropertySource;
+
+/**
+ * Configuration served over HTTP, for settings shared by every machine such as the grid URL, timeouts and browsers.
+ * The service answers {@code GET <uri>} with a properties document. Requests are conditional: the ETag and
+ * Last-Modified of the last response are sent back as If-None-Match and If-Modified-Since, so an unchanged document
+ * costs a 304 without a body. {@link LocalConfigServer} implements the same protocol for local runs.
+ * <p>
+ * Every response is written to an on-disk cache together with its validators.
+ * <ul>
+ *     <li>At startup a cached copy younger than the maximum cache age is served at once and revalidated in the
+ *     background, so startup does not wait on the network.</li>
+ *     <li>An older cached copy is revalidated before startup continues, but is still served when the service is
+ *     unreachable.</li>
+ *     <li>Without a cached copy the first fetch must succeed.</li>
+ * </ul>
+ * After startup the document is revalidated on a background thread at the refresh interval. Readers always see a
+ * complete document, published with a single volatile write, and a failed refresh keeps the current one. System
+ * properties override remote values, as they do for the properties files. Configured by CONFIG_HTTP_URL; the bearer
+ * token, if the service needs one, comes from the CONFIG_HTTP_TOKEN environment variable.
+ */
+public final class HttpConfigManager extends AbstractConfigManager<HttpConfigManager> implements AutoCloseable {
+
+    public static final String TOKEN_VARIABLE = "CONFIG_HTTP_TOKEN";
+    private static final String DISPLAY_NAME = "REMOTE";
+    private static final String URL_KEY = "CONFIG_HTTP_URL";
+    private static final String REFRESH_SECONDS_KEY = "CONFIG_HTTP_REFRESH_SECONDS";
+    private static final String TIMEOUT_SECONDS_KEY = "CONFIG_HTTP_TIMEOUT_SECONDS";
+    private static final String CACHE_PATH_KEY = "CONFIG_HTTP_CACHE_PATH";
+    private static final String CACHE_MAX_AGE_SECONDS_KEY = "CONFIG_HTTP_CACHE_MAX_AGE_SECONDS";
+    private static final long DEFAULT_REFRESH_SECONDS = 60;
+    private static final long DEFAULT_TIMEOUT_SECONDS = 5;
+    private static final String DEFAULT_CACHE_PATH = "target/config-http-cache.json";
+    private static final long DEFAULT_CACHE_MAX_AGE_SECONDS = 3600;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Optional<HttpConfigManager> configured = createFromConfiguration();
+
+    private final URI uri;
+    private final String bearerToken;
+    private final Duration timeout;
+    private final Path cachePath;
+    private final Duration maxCacheAge;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService refreshExecutor;
+    private final List<Consumer<HttpConfigManager>> changeListeners = new CopyOnWriteArrayList<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+    private volatile Document document;
+
+    /**
+     * A fetched configuration document and its validators, as kept in memory and in the cache file.
+     *
+     * @param uri             URI the document was fetched from
+     * @param etag            ETag of the response, or null
+     * @param lastModified    Last-Modified of the response, or null
+     * @param fetchedAtMillis when the service last confirmed the document, in epoch milliseconds
+     * @param properties      the configuration values
+     */
+    record Document(String uri, String etag, String lastModified, long fetchedAtMillis, Map<String, String> properties) {
+
+        Document revalidated(long nowMillis) {
+            return new Document(uri, etag, lastModified, nowMillis, properties);
+        }
+    }
+
+    /**
+     * Creates a manager and loads the document, from the cache or from the service.
+     *
+     * @param configurationDisplayName Display name of the configuration
+     * @param uri                      URI of the configuration document
+     * @param bearerToken              Token sent in the Authorization header, or null to send none
+     * @param timeout                  Connect and request timeout
+     * @param refreshInterval          Delay between background revalidations; zero disables them
+     * @param cachePath                File the last good document is cached in
+     * @param maxCacheAge              Age up to which a cached document is served without waiting for the service
+     * @throws IllegalArgumentException If an argument is invalid
+     * @throws ConfigurationException   If there is no cached document and the service cannot be reached
+     */
+    public HttpConfigManager(String configurationDisplayName, URI uri, String bearerToken, Duration timeout,
+                             Duration refreshInterval, Path cachePath, Duration maxCacheAge) {
+        super(configurationDisplayName, uri == null ? null : uri.toString());
+        if (uri == null || !uri.isAbsolute()) {
+            throw new IllegalArgumentException("Configuration service URI must be absolute");
+        }
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Configuration service timeout must be positive");
+        }
+        if (refreshInterval == null || refreshInterval.isNegative()) {
+            throw new IllegalArgumentException("Configuration refresh interval cannot be negative");
+        }
+        if (cachePath == null || maxCacheAge == null || maxCacheAge.isNegative()) {
+            throw new IllegalArgumentException("Configuration cache path and maximum age are required");
+        }
+        this.uri = uri;
+        this.bearerToken = bearerToken == null || bearerToken.isBlank() ? null : bearerToken;
+        this.timeout = timeout;
+        this.cachePath = cachePath;
+        this.maxCacheAge = maxCacheAge;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+
+        Optional<Document> cached = readCache();
+        boolean fresh = cached.filter(this::isFresh).isPresent();
+        if (fresh) {
+            document = cached.get();
+            logger.info("Configuration '{}' loaded from cache {} ({} keys), revalidating with {} in the background",
+                    configurationDisplayName, cachePath, document.properties().size(), uri);
+        } else {
+            try {
+                document = fetch(cached.orElse(null));
+                logger.info("Configuration '{}' loaded from {} ({} keys)", configurationDisplayName, uri,
+                        document.properties().size());
+            } catch (RuntimeException error) {
+                if (cached.isEmpty()) {
+                    ErrorHandler.logError(error, "Constructor", "Failed to load remote configuration from " + uri);
+                    throw new ConfigurationException("Remote configuration unavailable and not cached: " + uri, error);
+                }
+                document = cached.get();
+                logger.warn("Configuration service {} unreachable, serving cached copy from {} ({})", uri,
+                        Instant.ofEpochMilli(document.fetchedAtMillis()), error.getMessage());
+            }
+        }
+
+        this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "config-http-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!refreshInterval.isZero()) {
+            long intervalMillis = refreshInterval.toMillis();
+            refreshExecutor.scheduleWithFixedDelay(this::refreshInBackground, fresh ? 0L : intervalMillis,
+                    intervalMillis, TimeUnit.MILLISECONDS);
+        } else if (fresh) {
+            refreshExecutor.execute(this::refreshInBackground);
+        }
+    }
+
+    /**
+     * Returns the manager configured by CONFIG_HTTP_URL.
+     *
+     * @return the shared manager, or empty when no configuration service is configured
+     */
+    public static Optional<HttpConfigManager> getConfigured() {
+        return configured;
+    }
+
+    @Override
+    public String getProperty(String key) {
+        long start = startAccess();
+        String systemValue = System.getProperty(key);
+        if (systemValue != null) {
+            logPropertySource(key, "system property", systemValue);
+            recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
+            return systemValue;
+        }
+
+        String value = document.properties().get(key);
+        if (value == null || value.isEmpty()) {
+            recordAccess(key, ConfigAccessMetrics.Outcome.MISS, start);
+            logger.warn("Property '{}' not found or empty in remote configuration {}", key, uri);
+            throw new ConfigurationException("Property '" + key + "' not found or empty in remote configuration");
+        }
+        recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
+        return value;
+    }
+
+    @Override
+    public String getProperty(String key, String defaultValue) {
+        long start = startAccess();
+        String systemValue = System.getProperty(key);
+        if (systemValue != null) {
+            logPropertySource(key, "system property", systemValue);
+            recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
+            return systemValue;
+        }
+
+        String value = document.properties().get(key);
+        if (value == null || value.isEmpty()) {
+            logger.debug("Property '{}' not found in remote configuration, using default: '{}'", key, defaultValue);
+            recordAccess(key, ConfigAccessMetrics.Outcome.DEFAULT, start);
+            return defaultValue;
+        }
+        recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
+        return value;
+    }
+
+    @Override
+    public <ConversionType> Optional<ConversionType> getProperty(String key, Class<ConversionType> type) {
+        long start = startAccess();
+        String systemValue = System.getProperty(key);
+        String value = systemValue != null ? systemValue : document.properties().get(key);
+        if (value == null || value.isEmpty()) {
+            logger.warn("Property '{}' not found or empty in remote configuration {}", key, uri);
+            recordAccess(key, ConfigAccessMetrics.Outcome.MISS, start);
+            return Optional.empty();
+        }
+        try {
+            ConversionType converted = getConversionType(key, type, value);
+            recordAccess(key, ConfigAccessMetrics.Outcome.HIT, start);
+            return Optional.of(converted);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "getProperty",
+                    "Failed to convert remote property '" + key + "' to type: " + type.getSimpleName());
+            recordAccess(key, ConfigAccessMetrics.Outcome.CONVERSION_FAILURE, start);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns every value of the current document, without system property overrides.
+     *
+     * @return immutable view of the current document
+     */
+    public Map<String, String> getProperties() {
+        return document.properties();
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    /**
+     * Returns when the service last confirmed the current document, which is older than the start of this JVM when
+     * the document was served from the cache.
+     *
+     * @return time of the last successful fetch or revalidation
+     */
+    public Instant getFetchedAt() {
+        return Instant.ofEpochMilli(document.fetchedAtMillis());
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getNotModifiedCount() {
+        return notModified.sum();
+    }
+
+    public long getFailedRefreshCount() {
+        return failedRefreshes.sum();
+    }
+
+    /**
+     * Registers a listener that is called after a refresh changed the document, once it is published.
+     *
+     * @param listener Listener to register
+     */
+    public void addChangeListener(Consumer<HttpConfigManager> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Change listener cannot be null");
+        }
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(Consumer<HttpConfigManager> listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Revalidates the document with the service now, on the calling thread.
+     *
+     * @throws IllegalStateException If the service cannot be reached or answers with an error
+     */
+    @Override
+    public void reload() {
+        try {
+            refresh();
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "reload", "Failed to reload remote configuration from " + uri);
+            throw new IllegalStateException("Failed to reload remote configuration from " + uri, error);
+        }
+    }
+
+    /**
+     * Stops the background refresh. The current document stays readable.
+     */
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void refreshInBackground() {
+        try {
+            refresh();
+        } catch (RuntimeException error) {
+            // The current document stays published; the next refresh retries
+            failedRefreshes.increment();
+            logger.warn("Failed to refresh remote configuration from {}: {}", uri, error.getMessage());
+        }
+    }
+
+    private synchronized void refresh() {
+        Document previous = document;
+        Document current = fetch(previous);
+        document = current;
+        if (current.properties().equals(previous.properties())) {
+            return;
+        }
+        clearConvertedValues();
+        logger.info("Remote configuration '{}' changed: {} keys from {}", configurationDisplayName,
+                current.properties().size(), uri);
+        for (Consumer<HttpConfigManager> listener : changeListeners) {
+            try {
+                listener.accept(this);
+            } catch (Exception error) {
+                ErrorHandler.logError(error, "refresh", "Remote configuration change listener failed");
+            }
+        }
+    }
+
+    private Document fetch(Document previous) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "text/plain")
+                .GET();
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
+        if (previous != null && previous.etag() != null) {
+            request.header("If-None-Match", previous.etag());
+        }
+        if (previous != null && previous.lastModified() != null) {
+            request.header("If-Modified-Since", previous.lastModified());
+        }
+
+        HttpResponse<byte[]> response;
+        try {
+            requests.increment();
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching configuration from " + uri, error);
+        } catch (IOException error) {
+            throw new IllegalStateException("Configuration service unreachable at " + uri, error);
+        }
+
+        long now = System.currentTimeMillis();
+        if (response.statusCode() == 304 && previous != null) {
+            notModified.increment();
+            Document revalidated = previous.revalidated(now);
+            writeCache(revalidated);
+            return revalidated;
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Configuration service returned HTTP " + response.statusCode() + " for " + uri);
+        }
+
+        Document fetched = new Document(uri.toString(),
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null),
+                now,
+                parse(response.body()));
+        writeCache(fetched);
+        return fetched;
+    }
+
+    private Map<String, String> parse(byte[] body) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(new String(body, StandardCharsets.UTF_8)));
+        } catch (IOException | IllegalArgumentException error) {
+            throw new IllegalStateException("Configuration service returned a malformed properties document: " + uri, error);
+        }
+        Map<String, String> values = new HashMap<>();
+        properties.stringPropertyNames().forEach(name -> values.put(name, properties.getProperty(name)));
+        return Map.copyOf(values);
+    }
+
+    private boolean isFresh(Document cached) {
+        Duration age = Duration.ofMillis(System.currentTimeMillis() - cached.fetchedAtMillis());
+        return !age.isNegative() && age.compareTo(maxCacheAge) <= 0;
+    }
+
+    private Optional<Document> readCache() {
+        if (!Files.exists(cachePath)) {
+            return Optional.empty();
+        }
+        try {
+            Document cached = objectMapper.readValue(cachePath.toFile(), Document.class);
+            if (!uri.toString().equals(cached.uri()) || cached.properties() == null) {
+                logger.info("Ignoring configuration cache {}: it belongs to {}", cachePath, cached.uri());
+                return Optional.empty();
+            }
+            return Optional.of(new Document(cached.uri(), cached.etag(), cached.lastModified(),
+                    cached.fetchedAtMillis(), Map.copyOf(cached.properties())));
+        } catch (IOException error) {
+            logger.warn("Ignoring unreadable configuration cache {}: {}", cachePath, error.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeCache(Document fetched) {
+        try {
+            FileDirectoryManager.writeBytesAtomically(cachePath, objectMapper.writeValueAsBytes(fetched));
+        } catch (IOException error) {
+            // The document is already published; only the next offline start loses it
+            logger.warn("Failed to write configuration cache {}: {}", cachePath, error.getMessage());
+        }
+    }
+
+    private static Optional<HttpConfigManager> createFromConfiguration() {
+        try {
+            PropertyFileConfigManager configuration = PropertyFileConfigManager.getConfiguration(
+                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+            String url = configuration.getProperty(URL_KEY, "").trim();
+            if (url.isEmpty()) {
+                return Optional.empty();
+            }
+            long refreshSeconds = configuration.getProperty(REFRESH_SECONDS_KEY, Long.class).orElse(DEFAULT_REFRESH_SECONDS);
+            long timeoutSeconds = configuration.getProperty(TIMEOUT_SECONDS_KEY, Long.class).orElse(DEFAULT_TIMEOUT_SECONDS);
+            String cachePath = configuration.getProperty(CACHE_PATH_KEY, String.class).orElse(DEFAULT_CACHE_PATH);
+            long maxAgeSeconds = configuration.getProperty(CACHE_MAX_AGE_SECONDS_KEY, Long.class).orElse(DEFAULT_CACHE_MAX_AGE_SECONDS);
+            return Optional.of(new HttpConfigManager(DISPLAY_NAME, URI.create(url), System.getenv(TOKEN_VARIABLE),
+                    Duration.ofSeconds(timeoutSeconds), Duration.ofSeconds(refreshSeconds), Paths.get(cachePath.trim()),
+                    Duration.ofSeconds(maxAgeSeconds)));
+        } catch (Exception error) {
+            // A configured service that cannot be used must stop the run rather than silently drop its values
+            ErrorHandler.logError(error, "createFromConfiguration", "Failed to start remote configuration");
+            throw error;
+        }
+    }
+
+    // Custom exception class for configuration errors
+    public static class ConfigurationException extends RuntimeException {
+        public ConfigurationException(String message) {
+            super(message);
+        }
+
+        public ConfigurationException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
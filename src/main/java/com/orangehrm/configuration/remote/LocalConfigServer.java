@@ -0,0 +1,182 @@
+package com.orangehrm.configuration.remote;
+
+import com.orangehrm.utils.LoggerUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loopback-only stand-in for a configuration service, speaking the protocol {@link HttpConfigManager} expects.
+ * One properties file is served at {@link #CONFIG_PATH}, read again on every request so edits show up at once. The
+ * ETag is a hash of the content and Last-Modified is the file's modification time; matching validators get a 304.
+ */
+public final class LocalConfigServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerUtils.getLogger(LocalConfigServer.class);
+    public static final String CONFIG_PATH = "/v1/config";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Path source;
+    private final byte[] bearerToken;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    /**
+     * Starts a server on the loopback interface.
+     *
+     * @param port        Port to listen on, or 0 to pick a free port
+     * @param source      Properties file to serve
+     * @param bearerToken Token clients must send, or null to accept any client
+     * @throws IOException If the port cannot be bound
+     */
+    public LocalConfigServer(int port, Path source, String bearerToken) throws IOException {
+        if (source == null || !Files.isRegularFile(source)) {
+            throw new IllegalArgumentException("Configuration source must be an existing file: " + source);
+        }
+        this.source = source;
+        this.bearerToken = bearerToken == null || bearerToken.isBlank()
+                ? null
+                : ("Bearer " + bearerToken).getBytes(StandardCharsets.UTF_8);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "local-config-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext(CONFIG_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Local configuration server serving {} at {}", source, getUri());
+    }
+
+    /**
+     * Returns the URI to configure as CONFIG_HTTP_URL.
+     *
+     * @return the URI of the configuration document
+     */
+    public URI getUri() {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + CONFIG_PATH);
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getNotModifiedCount() {
+        return notModified.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Local configuration server stopped after {} requests, {} not modified",
+                getRequestCount(), getNotModifiedCount());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, null);
+                return;
+            }
+            if (!isAuthorized(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                respond(exchange, 401, null);
+                return;
+            }
+
+            byte[] body;
+            Instant modified;
+            try {
+                body = Files.readAllBytes(source);
+                modified = Files.getLastModifiedTime(source).toInstant().truncatedTo(ChronoUnit.SECONDS);
+            } catch (IOException error) {
+                logger.error("Failed to read configuration source: {}", source, error);
+                respond(exchange, 500, null);
+                return;
+            }
+
+            String etag = etag(body);
+            String lastModified = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(modified, ZoneOffset.UTC));
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.getResponseHeaders().set("Last-Modified", lastModified);
+            if (isNotModified(exchange, etag, modified)) {
+                notModified.increment();
+                respond(exchange, 304, null);
+                return;
+            }
+            respond(exchange, 200, body);
+        }
+    }
+
+    private static boolean isNotModified(HttpExchange exchange, String etag, Instant modified) {
+        // If-None-Match takes precedence over If-Modified-Since (RFC 9110, section 13.2.2)
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch != null) {
+            return ifNoneMatch.equals(etag);
+        }
+        String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        if (ifModifiedSince == null) {
+            return false;
+        }
+        try {
+            Instant since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return !modified.isAfter(since);
+        } catch (DateTimeParseException error) {
+            return false;
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException error) {
+            throw new IllegalStateException("SHA-256 is not available", error);
+        }
+    }
+
+    private boolean isAuthorized(String authorization) {
+        if (bearerToken == null) {
+            return true;
+        }
+        return authorization != null
+                && MessageDigest.isEqual(bearerToken, authorization.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
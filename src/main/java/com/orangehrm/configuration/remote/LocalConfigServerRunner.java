@@ -0,0 +1,42 @@
+package com.orangehrm.configuration.remote;
+
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs the local configuration service stand-in until the JVM is stopped.
+ * The first argument is the properties file to serve and the optional second one the port (default 8300); start the
+ * tests with {@code -DCONFIG_HTTP_URL=http://127.0.0.1:8300/v1/config} to read it. When CONFIG_HTTP_TOKEN is set
+ * clients must send it as a bearer token.
+ */
+public class LocalConfigServerRunner {
+
+    private static final Logger logger = LoggerUtils.getLogger(LocalConfigServerRunner.class);
+    private static final int DEFAULT_PORT = 8300;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: LocalConfigServerRunner <properties file> [port]");
+        }
+        Path source = Paths.get(args[0].trim());
+        int port = args.length > 1 ? Integer.parseInt(args[1].trim()) : DEFAULT_PORT;
+        String bearerToken = System.getenv(HttpConfigManager.TOKEN_VARIABLE);
+        if (bearerToken == null || bearerToken.isBlank()) {
+            logger.warn("{} is not set, the local configuration server accepts unauthenticated requests from this machine",
+                    HttpConfigManager.TOKEN_VARIABLE);
+        }
+
+        LocalConfigServer server = new LocalConfigServer(port, source, bearerToken);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }, "local-config-server-shutdown"));
+        stopped.await();
+    }
+}
@@ -0,0 +1,229 @@
+package com.orangehrm.crypto.credentials;
+
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches credentials from another provider so parallel scenarios do not repeat remote calls or key derivations.
+ * <ul>
+ *     <li>Entries expire after the time to live; an expired credential is fetched again before it is returned.</li>
+ *     <li>Concurrent requests for a credential that is not cached share a single fetch.</li>
+ *     <li>Once an entry is older than the refresh point it is refetched in the background while callers keep
+ *     receiving the cached value; a failed refresh leaves the entry in place until it expires.</li>
+ * </ul>
+ * Cached values are zeroized when they are replaced, and when the cache is cleared or closed. Closing also stops the
+ * background refresh thread; the owner of the cache closes it, {@link CredentialProviders} at JVM shutdown.
+ */
+public final class CachingCredentialProvider implements CredentialProvider, AutoCloseable {
+
+    private static final Logger logger = LoggerUtils.getLogger(CachingCredentialProvider.class);
+
+    private final CredentialProvider delegate;
+    private final long timeToLiveNanos;
+    private final long refreshAfterNanos;
+    private final LongSupplier clock;
+    private final Map<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+    private final Set<String> refreshesInFlight = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+
+    /**
+     * Creates a caching layer in front of the given provider.
+     *
+     * @param delegate     Provider that credentials are fetched from
+     * @param timeToLive   How long a fetched credential may be served
+     * @param refreshAhead How long before expiry a background refresh starts; zero disables background refresh
+     * @throws IllegalArgumentException If the durations are invalid
+     */
+    public CachingCredentialProvider(CredentialProvider delegate, Duration timeToLive, Duration refreshAhead) {
+        this(delegate, timeToLive, refreshAhead, System::nanoTime);
+    }
+
+    CachingCredentialProvider(CredentialProvider delegate, Duration timeToLive, Duration refreshAhead, LongSupplier clock) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate credential provider cannot be null");
+        }
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Credential cache time to live must be positive");
+        }
+        if (refreshAhead == null || refreshAhead.isNegative() || refreshAhead.compareTo(timeToLive) >= 0) {
+            throw new IllegalArgumentException("Credential refresh-ahead must be zero or shorter than the time to live");
+        }
+        this.delegate = delegate;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.refreshAfterNanos = refreshAhead.isZero() ? Long.MAX_VALUE : timeToLiveNanos - refreshAhead.toNanos();
+        this.clock = clock;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "credential-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public char[] getCredential(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Credential name cannot be null or empty");
+        }
+
+        while (true) {
+            CompletableFuture<Entry> current = entries.get(name);
+            if (current == null) {
+                CompletableFuture<Entry> pending = new CompletableFuture<>();
+                if (entries.putIfAbsent(name, pending) == null) {
+                    return fetchInto(name, pending);
+                }
+                continue;
+            }
+
+            Entry entry = await(name, current);
+            long age = clock.getAsLong() - entry.fetchedAt;
+            if (age >= timeToLiveNanos) {
+                // Expired: the first caller to swap in a new future fetches, everyone else waits on that future
+                CompletableFuture<Entry> pending = new CompletableFuture<>();
+                if (entries.replace(name, current, pending)) {
+                    entry.destroy();
+                    return fetchInto(name, pending);
+                }
+                continue;
+            }
+
+            char[] value = entry.copy();
+            if (value == null) {
+                // Replaced and zeroized between lookup and copy; read the replacement
+                continue;
+            }
+            hits.increment();
+            if (age >= refreshAfterNanos) {
+                scheduleRefresh(name, current);
+            }
+            return value;
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "cached " + delegate.getDescription();
+    }
+
+    /**
+     * Removes every cached credential, zeroizing the values.
+     */
+    public void clear() {
+        int cleared = entries.size();
+        entries.values().forEach(future -> future.thenAccept(Entry::destroy));
+        entries.clear();
+        logger.info("Credential cache cleared {} entries after {} fetches, {} refreshes ({} failed), {} hits",
+                cleared, getFetchCount(), getRefreshCount(), failedRefreshes.sum(), getHitCount());
+    }
+
+    /**
+     * Stops background refreshes and zeroizes every cached credential. The cache must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+        clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getFetchCount() {
+        return fetches.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    private char[] fetchInto(String name, CompletableFuture<Entry> pending) {
+        try {
+            char[] value = delegate.getCredential(name);
+            fetches.increment();
+            char[] copy = Arrays.copyOf(value, value.length);
+            pending.complete(new Entry(value, clock.getAsLong()));
+            return copy;
+        } catch (RuntimeException error) {
+            // Fail the callers already waiting, but drop the future so the next request retries the fetch
+            entries.remove(name, pending);
+            pending.completeExceptionally(error);
+            throw error;
+        }
+    }
+
+    private void scheduleRefresh(String name, CompletableFuture<Entry> current) {
+        if (!refreshesInFlight.add(name)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                char[] value = delegate.getCredential(name);
+                refreshes.increment();
+                CompletableFuture<Entry> refreshed = CompletableFuture.completedFuture(new Entry(value, clock.getAsLong()));
+                if (entries.replace(name, current, refreshed)) {
+                    current.join().destroy();
+                } else {
+                    refreshed.join().destroy();
+                }
+            } catch (RuntimeException error) {
+                failedRefreshes.increment();
+                logger.warn("Background refresh of credential {} from {} failed, serving cached value until it expires",
+                        name, delegate.getDescription(), error);
+            } finally {
+                refreshesInFlight.remove(name);
+            }
+        });
+    }
+
+    private static Entry await(String name, CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException error) {
+            if (error.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to fetch credential: " + name, error.getCause());
+        }
+    }
+
+    private static final class Entry {
+        private final char[] value;
+        private final long fetchedAt;
+        private boolean destroyed;
+
+        private Entry(char[] value, long fetchedAt) {
+            this.value = value;
+            this.fetchedAt = fetchedAt;
+        }
+
+        synchronized char[] copy() {
+            return destroyed ? null : Arrays.copyOf(value, value.length);
+        }
+
+        synchronized void destroy() {
+            Arrays.fill(value, '\0');
+            destroyed = true;
+        }
+    }
+}
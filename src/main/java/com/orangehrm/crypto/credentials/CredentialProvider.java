@@ -0,0 +1,48 @@
+package com.orangehrm.crypto.credentials;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Source of plaintext credentials such as portal usernames and passwords.
+ * Implementations return a fresh array on every call, which the caller owns and should clear after use.
+ */
+public interface CredentialProvider {
+
+    /**
+     * Resolves a single credential.
+     *
+     * @param name Name of the credential, e.g. PORTAL_USERNAME
+     * @return a copy of the plaintext characters
+     * @throws IllegalArgumentException If the name is invalid or the credential does not exist
+     * @throws IllegalStateException If the backing store cannot be read or the value cannot be decrypted
+     */
+    char[] getCredential(String name);
+
+    /**
+     * Short description of the backing store, used in log messages.
+     *
+     * @return the provider description
+     */
+    String getDescription();
+
+    /**
+     * Resolves several credentials as strings, in the order requested.
+     *
+     * @param names Names of the credentials
+     * @return the plaintext values
+     */
+    default List<String> getCredentials(String... names) {
+        List<String> values = new ArrayList<>(names.length);
+        for (String name : names) {
+            char[] value = getCredential(name);
+            try {
+                values.add(new String(value));
+            } finally {
+                Arrays.fill(value, '\0');
+            }
+        }
+        return values;
+    }
+}
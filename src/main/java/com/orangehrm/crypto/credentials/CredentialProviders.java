@@ -0,0 +1,124 @@
+package com.orangehrm.crypto.credentials;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Builds the run-wide credential provider from the global configuration.
+ * CREDENTIAL_PROVIDER selects the backing store (ENCRYPTED_ENV, ENVIRONMENT or HTTP). ENVIRONMENT and HTTP are
+ * wrapped in a {@link CachingCredentialProvider} configured by CREDENTIAL_CACHE_TTL_SECONDS and
+ * CREDENTIAL_REFRESH_AHEAD_SECONDS; ENCRYPTED_ENV is not, because the credential vault behind it already decrypts
+ * each value once and drops it when the environment file changes. The cache is closed at JVM shutdown.
+ * The HTTP bearer token is read from the CREDENTIAL_HTTP_TOKEN environment variable, never from a properties file.
+ */
+public final class CredentialProviders {
+
+    private static final Logger logger = LoggerUtils.getLogger(CredentialProviders.class);
+    private static final String PROVIDER_KEY = "CREDENTIAL_PROVIDER";
+    private static final String CACHE_TTL_KEY = "CREDENTIAL_CACHE_TTL_SECONDS";
+    private static final String REFRESH_AHEAD_KEY = "CREDENTIAL_REFRESH_AHEAD_SECONDS";
+    private static final String ENVIRONMENT_PREFIX_KEY = "CREDENTIAL_ENV_PREFIX";
+    private static final String HTTP_URL_KEY = "CREDENTIAL_HTTP_URL";
+    private static final String HTTP_TIMEOUT_KEY = "CREDENTIAL_HTTP_TIMEOUT_SECONDS";
+    public static final String HTTP_TOKEN_VARIABLE = "CREDENTIAL_HTTP_TOKEN";
+    private static final int DEFAULT_CACHE_TTL_SECONDS = 15 * 60;
+    private static final int DEFAULT_REFRESH_AHEAD_SECONDS = 2 * 60;
+    private static final int DEFAULT_HTTP_TIMEOUT_SECONDS = 5;
+    private static final String DEFAULT_HTTP_URL = "http://127.0.0.1:8200" + LocalSecretsServer.SECRETS_PATH;
+    private static final CredentialProvider instance = createFromConfiguration();
+
+    public enum ProviderType {
+        ENCRYPTED_ENV,
+        ENVIRONMENT,
+        HTTP
+    }
+
+    private CredentialProviders() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Returns the shared, cached credential provider for this run.
+     *
+     * @return the configured provider
+     */
+    public static CredentialProvider getInstance() {
+        return instance;
+    }
+
+    /**
+     * Creates an uncached provider of the given type from the global configuration.
+     *
+     * @param type Backing store to create
+     * @return the provider
+     */
+    public static CredentialProvider createProvider(ProviderType type) {
+        PropertyFileConfigManager configuration = getGlobalConfiguration();
+        return switch (type) {
+            case ENCRYPTED_ENV -> new EncryptedEnvironmentCredentialProvider(getActiveEnvironment(configuration));
+            case ENVIRONMENT -> new EnvironmentVariableCredentialProvider(
+                    configuration.getProperty(ENVIRONMENT_PREFIX_KEY, String.class).orElse(""));
+            case HTTP -> new HttpCredentialProvider(
+                    URI.create(configuration.getProperty(HTTP_URL_KEY, String.class).orElse(DEFAULT_HTTP_URL).trim()),
+                    System.getenv(HTTP_TOKEN_VARIABLE),
+                    Duration.ofSeconds(configuration.getProperty(HTTP_TIMEOUT_KEY, Integer.class).orElse(DEFAULT_HTTP_TIMEOUT_SECONDS)));
+        };
+    }
+
+    /**
+     * Resolves ACTIVE_ENVIRONMENT to the environment whose encrypted file holds the credentials, with the same
+     * precedence as the configuration resolver: system property, OS environment, then global-config.properties.
+     *
+     * @return the active environment, UAT when unset
+     */
+    public static EnvironmentConfigConstants.Environment getActiveEnvironment() {
+        return getActiveEnvironment(getGlobalConfiguration());
+    }
+
+    private static EnvironmentConfigConstants.Environment getActiveEnvironment(PropertyFileConfigManager configuration) {
+        return EnvironmentConfigConstants.resolveActiveEnvironment(
+                configuration.getProperty(EnvironmentConfigConstants.ACTIVE_ENVIRONMENT_KEY, String.class).orElse(null));
+    }
+
+    private static PropertyFileConfigManager getGlobalConfiguration() {
+        return PropertyFileConfigManager.getConfiguration(
+                PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+    }
+
+    private static CredentialProvider createFromConfiguration() {
+        try {
+            PropertyFileConfigManager configuration = getGlobalConfiguration();
+            ProviderType type = ProviderType.valueOf(configuration.getProperty(PROVIDER_KEY, String.class)
+                    .orElse(ProviderType.ENCRYPTED_ENV.name()).trim().toUpperCase(Locale.ROOT));
+            if (type == ProviderType.ENCRYPTED_ENV) {
+                CredentialProvider provider = createProvider(type);
+                logger.info("Credentials resolved from {} (decrypted once per run by the credential vault)",
+                        provider.getDescription());
+                return provider;
+            }
+
+            int timeToLiveSeconds = configuration.getProperty(CACHE_TTL_KEY, Integer.class).orElse(DEFAULT_CACHE_TTL_SECONDS);
+            int refreshAheadSeconds = configuration.getProperty(REFRESH_AHEAD_KEY, Integer.class).orElse(DEFAULT_REFRESH_AHEAD_SECONDS);
+
+            CachingCredentialProvider provider = new CachingCredentialProvider(createProvider(type),
+                    Duration.ofSeconds(timeToLiveSeconds), Duration.ofSeconds(refreshAheadSeconds));
+            Runtime.getRuntime().addShutdownHook(new Thread(provider::close, "credential-cache-cleanup"));
+            logger.info("Credentials resolved from {} (time to live {} s, refresh {} s before expiry)",
+                    provider.getDescription(), timeToLiveSeconds, refreshAheadSeconds);
+            return provider;
+        } catch (Exception error) {
+            // No fallback: silently reading credentials from a different store than configured would be worse
+            ErrorHandler.logError(error, "createFromConfiguration", "Failed to configure credential provider");
+            throw new IllegalStateException("Failed to configure credential provider", error);
+        }
+    }
+}
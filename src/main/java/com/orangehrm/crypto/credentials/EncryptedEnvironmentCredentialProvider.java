@@ -0,0 +1,45 @@
+package com.orangehrm.crypto.credentials;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.crypto.services.EnvironmentCryptoManager;
+
+/**
+ * Reads credentials from an encrypted environment file, decrypting them with the environment's secret key from
+ * the base environment file. Values come from the run-scoped credential vault, so each one is decrypted once and
+ * decrypted again only after the environment file changes.
+ */
+public final class EncryptedEnvironmentCredentialProvider implements CredentialProvider {
+
+    private final EnvironmentConfigConstants.Environment environment;
+    private final EnvironmentConfigConstants.EnvironmentFilePath environmentFile;
+    private final EnvironmentConfigConstants.EnvironmentSecretKey secretKey;
+
+    /**
+     * Creates a provider for the given environment, e.g. UAT reads {@code .env.uat} with UAT_SECRET_KEY.
+     *
+     * @param environment Environment to read credentials for; BASE is not allowed
+     * @throws IllegalArgumentException If the environment has no secret key
+     */
+    public EncryptedEnvironmentCredentialProvider(EnvironmentConfigConstants.Environment environment) {
+        if (environment == null || environment == EnvironmentConfigConstants.Environment.BASE) {
+            throw new IllegalArgumentException("Encrypted credentials need a DEV, UAT or PROD environment");
+        }
+        this.environment = environment;
+        this.environmentFile = EnvironmentConfigConstants.EnvironmentFilePath.valueOf(environment.name());
+        this.secretKey = EnvironmentConfigConstants.EnvironmentSecretKey.valueOf(environment.name());
+    }
+
+    @Override
+    public char[] getCredential(String name) {
+        return EnvironmentCryptoManager.getVaultedEnvironmentVariable(
+                environment.getDisplayName(),
+                environmentFile.getFilename(),
+                secretKey.getKeyName(),
+                name);
+    }
+
+    @Override
+    public String getDescription() {
+        return "encrypted " + environmentFile.getFilename();
+    }
+}
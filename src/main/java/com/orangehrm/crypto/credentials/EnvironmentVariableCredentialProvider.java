@@ -0,0 +1,52 @@
+package com.orangehrm.crypto.credentials;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads plaintext credentials from process environment variables, as injected by CI secret stores.
+ * A credential named PORTAL_PASSWORD is read from {@code <prefix>PORTAL_PASSWORD}.
+ */
+public final class EnvironmentVariableCredentialProvider implements CredentialProvider {
+
+    private final String prefix;
+    private final Map<String, String> variables;
+
+    /**
+     * Creates a provider over the process environment.
+     *
+     * @param prefix Prefix prepended to credential names, may be empty
+     */
+    public EnvironmentVariableCredentialProvider(String prefix) {
+        this(prefix, System.getenv());
+    }
+
+    /**
+     * Creates a provider over the given variables.
+     *
+     * @param prefix    Prefix prepended to credential names, may be empty
+     * @param variables Variables to read from
+     */
+    public EnvironmentVariableCredentialProvider(String prefix, Map<String, String> variables) {
+        this.prefix = prefix == null ? "" : prefix.trim();
+        this.variables = Objects.requireNonNull(variables, "Variables cannot be null");
+    }
+
+    @Override
+    public char[] getCredential(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Credential name cannot be null or empty");
+        }
+        String variable = prefix + name;
+        String value = variables.get(variable);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Environment variable '" + variable + "' not found or empty");
+        }
+        return value.toCharArray();
+    }
+
+    @Override
+    public String getDescription() {
+        return "environment variables" + (prefix.isEmpty() ? "" : " prefixed " + prefix);
+    }
+}
@@ -0,0 +1,104 @@
+package com.orangehrm.crypto.credentials;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orangehrm.utils.ErrorHandler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Reads credentials from an HTTP secrets service.
+ * A credential is fetched with {@code GET <baseUri><name>}, sending the bearer token when one is configured, and
+ * the service answers {@code {"name": "...", "value": "..."}}; 404 means the credential does not exist.
+ * {@link LocalSecretsServer} implements the same protocol for local runs.
+ */
+public final class HttpCredentialProvider implements CredentialProvider {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String VALUE_FIELD = "value";
+
+    private final URI baseUri;
+    private final String bearerToken;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    /**
+     * Creates a provider for the given service.
+     *
+     * @param baseUri     Base URI that credential names are appended to, e.g. http://127.0.0.1:8200/v1/secrets/
+     * @param bearerToken Token sent in the Authorization header, or null to send none
+     * @param timeout     Connect and request timeout
+     * @throws IllegalArgumentException If the base URI or timeout is invalid
+     */
+    public HttpCredentialProvider(URI baseUri, String bearerToken, Duration timeout) {
+        if (baseUri == null || !baseUri.isAbsolute()) {
+            throw new IllegalArgumentException("Secrets service URI must be absolute");
+        }
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Secrets service timeout must be positive");
+        }
+        String base = baseUri.toString();
+        this.baseUri = URI.create(base.endsWith("/") ? base : base + "/");
+        this.bearerToken = bearerToken == null || bearerToken.isBlank() ? null : bearerToken;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public char[] getCredential(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Credential name cannot be null or empty");
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(URLEncoder.encode(name, StandardCharsets.UTF_8)))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET();
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
+
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching credential: " + name, error);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "getCredential", "Secrets service unreachable at " + baseUri);
+            throw new IllegalStateException("Secrets service unreachable at " + baseUri, error);
+        }
+
+        if (response.statusCode() == 404) {
+            throw new IllegalArgumentException("Credential '" + name + "' not found in secrets service");
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Secrets service returned HTTP " + response.statusCode() + " for credential: " + name);
+        }
+
+        try {
+            JsonNode value = objectMapper.readTree(response.body()).get(VALUE_FIELD);
+            if (value == null || !value.isTextual()) {
+                throw new IllegalStateException("Secrets service response has no '" + VALUE_FIELD + "' for credential: " + name);
+            }
+            return value.textValue().toCharArray();
+        } catch (IOException error) {
+            throw new IllegalStateException("Secrets service returned malformed JSON for credential: " + name, error);
+        } finally {
+            Arrays.fill(response.body(), (byte) 0);
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "secrets service " + baseUri;
+    }
+}
@@ -0,0 +1,148 @@
+package com.orangehrm.crypto.credentials;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orangehrm.utils.LoggerUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loopback-only stand-in for a secrets service, speaking the protocol {@link HttpCredentialProvider} expects.
+ * Credentials are served from another provider, typically the encrypted environment files, so the HTTP provider
+ * and the caching layer can be exercised locally without a real vault.
+ */
+public final class LocalSecretsServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerUtils.getLogger(LocalSecretsServer.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    public static final String SECRETS_PATH = "/v1/secrets/";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CredentialProvider source;
+    private final byte[] bearerToken;
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * Starts a server on the loopback interface.
+     *
+     * @param port        Port to listen on, or 0 to pick a free port
+     * @param source      Provider the served credentials come from
+     * @param bearerToken Token clients must send, or null to accept any client
+     * @throws IOException If the port cannot be bound
+     */
+    public LocalSecretsServer(int port, CredentialProvider source, String bearerToken) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("Credential source cannot be null");
+        }
+        this.source = source;
+        this.bearerToken = bearerToken == null || bearerToken.isBlank()
+                ? null
+                : ("Bearer " + bearerToken).getBytes(StandardCharsets.UTF_8);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "local-secrets-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext(SECRETS_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Local secrets server serving {} at {}", source.getDescription(), getBaseUri());
+    }
+
+    /**
+     * Returns the URI to configure as CREDENTIAL_HTTP_URL.
+     *
+     * @return the base URI of the secrets endpoint
+     */
+    public URI getBaseUri() {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + SECRETS_PATH);
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        if (bearerToken != null) {
+            Arrays.fill(bearerToken, (byte) 0);
+        }
+        logger.info("Local secrets server stopped after {} requests", getRequestCount());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, null);
+                return;
+            }
+            if (!isAuthorized(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                respond(exchange, 401, null);
+                return;
+            }
+
+            String name = URLDecoder.decode(exchange.getRequestURI().getRawPath().substring(SECRETS_PATH.length()),
+                    StandardCharsets.UTF_8);
+            char[] value;
+            try {
+                value = source.getCredential(name);
+            } catch (IllegalArgumentException error) {
+                respond(exchange, 404, null);
+                return;
+            } catch (RuntimeException error) {
+                logger.error("Failed to serve credential: {}", name, error);
+                respond(exchange, 500, null);
+                return;
+            }
+
+            Map<String, String> body = new LinkedHashMap<>();
+            body.put("name", name);
+            body.put("value", new String(value));
+            Arrays.fill(value, '\0');
+            respond(exchange, 200, objectMapper.writeValueAsBytes(body));
+        }
+    }
+
+    private boolean isAuthorized(String authorization) {
+        if (bearerToken == null) {
+            return true;
+        }
+        return authorization != null
+                && MessageDigest.isEqual(bearerToken, authorization.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        } finally {
+            Arrays.fill(body, (byte) 0);
+        }
+    }
+}
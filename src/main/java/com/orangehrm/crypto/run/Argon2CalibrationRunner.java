@@ -0,0 +1,56 @@
+package com.orangehrm.crypto.run;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.crypto.services.Argon2Calibrator;
+import com.orangehrm.crypto.services.EnvironmentCryptoManager;
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Calibrates Argon2 cost per environment on the current host and saves the result in the base environment file.
+ * Pass environment names (DEV, UAT, PROD) as arguments to calibrate a subset; all environments are calibrated
+ * otherwise. Target latencies come from ARGON2_TARGET_LATENCY_MS_&lt;ENV&gt; in the global configuration.
+ */
+public class Argon2CalibrationRunner {
+
+    private static final Logger logger = LoggerUtils.getLogger(Argon2CalibrationRunner.class);
+    private static final String TARGET_LATENCY_PREFIX = "ARGON2_TARGET_LATENCY_MS_";
+    private static final int DEFAULT_TARGET_LATENCY_MS = 250;
+
+    public static void main(String[] args) throws IOException {
+        List<EnvironmentConfigConstants.EnvironmentArgon2Profile> environments = args.length == 0
+                ? Arrays.asList(EnvironmentConfigConstants.EnvironmentArgon2Profile.values())
+                : Arrays.stream(args)
+                .map(name -> EnvironmentConfigConstants.EnvironmentArgon2Profile.valueOf(name.trim().toUpperCase()))
+                .toList();
+
+        for (EnvironmentConfigConstants.EnvironmentArgon2Profile environment : environments) {
+            calibrateEnvironment(environment);
+        }
+        logger.info("Argon2 calibration process completed");
+    }
+
+    public static void calibrateEnvironment(EnvironmentConfigConstants.EnvironmentArgon2Profile environment) throws IOException {
+        Duration targetLatency = Duration.ofMillis(getTargetLatencyMillis(environment));
+        Argon2Profile profile = Argon2Calibrator.calibrate(targetLatency);
+        EnvironmentCryptoManager.saveArgon2ProfileInBaseEnvironment(environment.getKeyName(), profile);
+        logger.info("Environment {} calibrated to {} for a {} ms target",
+                environment.name(), profile.format(), targetLatency.toMillis());
+    }
+
+    private static int getTargetLatencyMillis(EnvironmentConfigConstants.EnvironmentArgon2Profile environment) {
+        return PropertyFileConfigManager.getConfiguration(
+                        PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                        PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath())
+                .getProperty(TARGET_LATENCY_PREFIX + environment.name(), Integer.class)
+                .orElse(DEFAULT_TARGET_LATENCY_MS);
+    }
+}
@@ -1,44 +1,381 @@
 package com.orangehrm.crypto.run;
 
 import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.environments.EnvironmentFileDocument;
+import com.orangehrm.crypto.services.CryptoOperations;
 import com.orangehrm.crypto.services.EnvironmentCryptoManager;
+import com.orangehrm.crypto.services.EpochKeyScope;
 import com.orangehrm.crypto.services.SecureKeyGenerator;
+import com.orangehrm.crypto.utils.DestroyableSecretKey;
 import com.orangehrm.utils.Base64Utils;
+import com.orangehrm.utils.ErrorHandler;
 import com.orangehrm.utils.LoggerUtils;
 import org.apache.logging.log4j.Logger;
 import org.bouncycastle.crypto.CryptoException;
 
 import javax.crypto.SecretKey;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
 
+/**
+ * Prepares encrypted environment files from the command line, processing several environments in parallel.
+ * <pre>
+ * EncryptionFlowTests [actions] [--env=DEV,UAT,PROD] [--vars=PORTAL_*,API_?] [--dry-run]
+ * </pre>
+ * Actions are a comma-separated list of {@code generate-keys}, {@code encrypt}, {@code decrypt-verify} and
+ * {@code report}. Environments default to DEV, UAT and PROD; variable patterns accept {@code *} and {@code ?}
+ * and are required for {@code encrypt}. With {@code --dry-run} nothing is written: key generation and encryption
+ * only report what they would change. Without arguments the runner generates the UAT key, encrypts
+ * PORTAL_USERNAME and PORTAL_PASSWORD in {@code .env.uat} and reports.
+ * Keys are generated one environment at a time because they share the base environment file; all other work runs
+ * concurrently per environment. Only {@code report} logs the summary table with the time spent per environment;
+ * the other actions log a single completion line.
+ */
 public class EncryptionFlowTests {
 
     private static final Logger logger = LoggerUtils.getLogger(EncryptionFlowTests.class);
     private static final String USERNAME = "PORTAL_USERNAME";
     private static final String PASSWORD = "PORTAL_PASSWORD";
+    private static final String ENVIRONMENTS_OPTION = "--env=";
+    private static final String VARIABLES_OPTION = "--vars=";
+    private static final String DRY_RUN_OPTION = "--dry-run";
+    private static final String LIST_SEPARATOR = ",";
+    private static final String USAGE = "Usage: EncryptionFlowTests [generate-keys,encrypt,decrypt-verify,report] "
+            + "[--env=DEV,UAT,PROD] [--vars=PATTERN,...] [--dry-run]";
+
+    enum Action {
+        GENERATE_KEYS("generate-keys"),
+        ENCRYPT("encrypt"),
+        DECRYPT_VERIFY("decrypt-verify"),
+        REPORT("report");
+
+        private final String argument;
+
+        Action(String argument) {
+            this.argument = argument;
+        }
+
+        static Action fromArgument(String argument) {
+            return Arrays.stream(values())
+                    .filter(action -> action.argument.equalsIgnoreCase(argument.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown action '" + argument + "'. " + USAGE));
+        }
+    }
+
+    record Options(
+            EnumSet<Action> actions,
+            List<EnvironmentConfigConstants.EnvironmentFilePath> environments,
+            List<Pattern> variablePatterns,
+            boolean dryRun
+    ) {
+    }
+
+    /**
+     * Outcome of one environment, one row of the summary table.
+     */
+    static final class EnvironmentResult {
+        private final EnvironmentConfigConstants.EnvironmentFilePath environment;
+        private String keyStatus;
+        private boolean keyAvailable;
+        private int matched;
+        private int encrypted;
+        private int plainText;
+        private int newlyEncrypted;
+        private int verified;
+        private int undecryptable;
+        private final List<String> failures = new ArrayList<>();
+        private long elapsedNanos;
+
+        EnvironmentResult(EnvironmentConfigConstants.EnvironmentFilePath environment) {
+            this.environment = environment;
+        }
+
+        boolean isFailed() {
+            return !failures.isEmpty() || undecryptable > 0;
+        }
+    }
 
     public static void main(String[] args) throws CryptoException, IOException {
-        generateSecretKey();
-        encryptCredentials();
+        Options options = args.length == 0
+                ? new Options(EnumSet.of(Action.GENERATE_KEYS, Action.ENCRYPT, Action.REPORT),
+                List.of(EnvironmentConfigConstants.EnvironmentFilePath.UAT),
+                List.of(toPattern(USERNAME), toPattern(PASSWORD)), false)
+                : parseOptions(args);
+
+        long startNanos = System.nanoTime();
+        Map<EnvironmentConfigConstants.EnvironmentFilePath, EnvironmentResult> results = new LinkedHashMap<>();
+        options.environments().forEach(environment -> results.put(environment, new EnvironmentResult(environment)));
+
+        // Every key lives in the base environment file, so keys are written one at a time before the parallel phase
+        if (options.actions().contains(Action.GENERATE_KEYS)) {
+            for (EnvironmentResult result : results.values()) {
+                timed(result, () -> generateSecretKey(result, options.dryRun()));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(results.size());
+        try {
+            CompletableFuture.allOf(results.values().stream()
+                    .map(result -> CompletableFuture.runAsync(() -> timed(result, () -> processEnvironment(result, options)), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        logger.info("{} {} in {} ms", options.dryRun() ? "Dry run of" : "Completed",
+                options.actions().stream().map(action -> action.argument).toList(), elapsed.toMillis());
+        if (options.actions().contains(Action.REPORT)) {
+            logSummary(options, results.values());
+        }
+        List<String> failed = results.values().stream()
+                .filter(EnvironmentResult::isFailed)
+                .map(result -> result.environment.name())
+                .toList();
+        if (!failed.isEmpty()) {
+            throw new CryptoException("Environment processing failed for " + failed);
+        }
+    }
+
+    static Options parseOptions(String[] args) {
+        EnumSet<Action> actions = EnumSet.noneOf(Action.class);
+        List<EnvironmentConfigConstants.EnvironmentFilePath> environments = new ArrayList<>();
+        List<Pattern> variablePatterns = new ArrayList<>();
+        boolean dryRun = false;
+
+        for (String argument : args) {
+            if (argument.startsWith(ENVIRONMENTS_OPTION)) {
+                for (String name : splitList(argument.substring(ENVIRONMENTS_OPTION.length()))) {
+                    EnvironmentConfigConstants.EnvironmentFilePath environment = parseEnvironment(name);
+                    if (!environments.contains(environment)) {
+                        environments.add(environment);
+                    }
+                }
+            } else if (argument.startsWith(VARIABLES_OPTION)) {
+                splitList(argument.substring(VARIABLES_OPTION.length())).forEach(pattern -> variablePatterns.add(toPattern(pattern)));
+            } else if (argument.equals(DRY_RUN_OPTION)) {
+                dryRun = true;
+            } else if (argument.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option '" + argument + "'. " + USAGE);
+            } else {
+                splitList(argument).forEach(action -> actions.add(Action.fromArgument(action)));
+            }
+        }
+
+        if (actions.isEmpty()) {
+            throw new IllegalArgumentException("No action given. " + USAGE);
+        }
+        if (actions.contains(Action.ENCRYPT) && variablePatterns.isEmpty()) {
+            throw new IllegalArgumentException("The encrypt action needs --vars to select the variables to encrypt. " + USAGE);
+        }
+        if (environments.isEmpty()) {
+            environments.addAll(List.of(
+                    EnvironmentConfigConstants.EnvironmentFilePath.DEV,
+                    EnvironmentConfigConstants.EnvironmentFilePath.UAT,
+                    EnvironmentConfigConstants.EnvironmentFilePath.PROD));
+        }
+        if (variablePatterns.isEmpty()) {
+            variablePatterns.add(toPattern("*"));
+        }
+        return new Options(actions, List.copyOf(environments), List.copyOf(variablePatterns), dryRun);
     }
 
-    public static void generateSecretKey() throws IOException {
+    private static void generateSecretKey(EnvironmentResult result, boolean dryRun) throws IOException {
+        String keyName = secretKeyOf(result.environment).getKeyName();
+        if (isSecretKeyPresent(keyName)) {
+            result.keyStatus = "present";
+            result.keyAvailable = true;
+            return;
+        }
+        if (dryRun) {
+            result.keyStatus = "would generate";
+            return;
+        }
+
         SecretKey generatedSecretKey = SecureKeyGenerator.generateSecretKey();
         EnvironmentCryptoManager.saveSecretKeyInBaseEnvironment(
                 EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFullPath(),
-                EnvironmentConfigConstants.EnvironmentSecretKey.UAT.getKeyName(),
+                keyName,
                 Base64Utils.encodeSecretKey(generatedSecretKey)
         );
-        logger.info("Secret key generation process completed");
+        result.keyStatus = "generated";
+        result.keyAvailable = true;
+        logger.info("Secret key generated for {}", result.environment.name());
     }
 
-    public static void encryptCredentials() throws CryptoException {
-        EnvironmentCryptoManager.encryptEnvironmentVariables(
-                EnvironmentConfigConstants.Environment.UAT.getDisplayName(),
-                EnvironmentConfigConstants.EnvironmentFilePath.UAT.getFilename(),
-                EnvironmentConfigConstants.EnvironmentSecretKey.UAT.getKeyName(),
-                USERNAME, PASSWORD
-        );
-        logger.info("Encryption process completed");
+    private static void processEnvironment(EnvironmentResult result, Options options) throws Exception {
+        Path filePath = Paths.get(result.environment.getFullPath());
+        if (!Files.exists(filePath)) {
+            throw new IOException("Environment file does not exist: " + filePath);
+        }
+        if (result.keyStatus == null) {
+            result.keyAvailable = isSecretKeyPresent(secretKeyOf(result.environment).getKeyName());
+            result.keyStatus = result.keyAvailable ? "present" : "missing";
+        }
+
+        EnvironmentFileDocument document = EnvironmentFileDocument.load(filePath);
+        List<String> matchedVariables = document.getVariableNames().stream()
+                .filter(name -> options.variablePatterns().stream().anyMatch(pattern -> pattern.matcher(name).matches()))
+                .toList();
+        List<String> plainVariables = matchedVariables.stream()
+                .filter(name -> !EnvironmentCryptoManager.isAlreadyEncrypted(document.getValue(name).orElse("")))
+                .filter(name -> !document.getValue(name).orElse("").isEmpty())
+                .toList();
+        result.matched = matchedVariables.size();
+        result.plainText = plainVariables.size();
+        result.encrypted = (int) matchedVariables.stream()
+                .filter(name -> EnvironmentCryptoManager.isAlreadyEncrypted(document.getValue(name).orElse("")))
+                .count();
+
+        if (options.actions().contains(Action.ENCRYPT) && !plainVariables.isEmpty()) {
+            result.newlyEncrypted = plainVariables.size();
+            if (!options.dryRun()) {
+                EnvironmentCryptoManager.encryptEnvironmentVariables(
+                        environmentOf(result.environment).getDisplayName(),
+                        result.environment.getFilename(),
+                        secretKeyOf(result.environment).getKeyName(),
+                        plainVariables.toArray(String[]::new));
+                result.encrypted += plainVariables.size();
+                result.plainText = 0;
+            }
+        }
+
+        // A key that does not exist yet has nothing to verify against; the key column already reports it
+        if (options.actions().contains(Action.DECRYPT_VERIFY) && result.keyAvailable) {
+            verifyDecryption(result, EnvironmentFileDocument.load(filePath), matchedVariables);
+        }
+    }
+
+    private static void verifyDecryption(EnvironmentResult result, EnvironmentFileDocument document, List<String> variables) {
+        SecretKey secretKey = EnvironmentCryptoManager.getSecretKey(
+                EnvironmentConfigConstants.Environment.BASE.getDisplayName(),
+                EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFilename(),
+                secretKeyOf(result.environment).getKeyName());
+
+        try (EpochKeyScope epochKeys = new EpochKeyScope(secretKey)) {
+            for (String variable : variables) {
+                String value = document.getValue(variable).orElse("");
+                if (!EnvironmentCryptoManager.isAlreadyEncrypted(value)) {
+                    continue;
+                }
+                try {
+                    Arrays.fill(CryptoOperations.decryptToBytes(epochKeys, value), (byte) 0);
+                    result.verified++;
+                } catch (CryptoException error) {
+                    result.undecryptable++;
+                    logger.warn("{} in {} does not decrypt with {}", variable, result.environment.getFilename(),
+                            secretKeyOf(result.environment).getKeyName());
+                }
+            }
+        } finally {
+            DestroyableSecretKey.destroyIfSupported(secretKey);
+        }
+    }
+
+    private static void timed(EnvironmentResult result, EnvironmentTask task) {
+        long startNanos = System.nanoTime();
+        try {
+            task.run();
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "processEnvironment", "Failed to process " + result.environment.name());
+            result.failures.add(error.getMessage());
+        } finally {
+            result.elapsedNanos += System.nanoTime() - startNanos;
+        }
+    }
+
+    private static void logSummary(Options options, Iterable<EnvironmentResult> results) {
+        boolean verifying = options.actions().contains(Action.DECRYPT_VERIFY);
+        String rowFormat = "%-6s | %-15s | %7s | %9s | %5s | %8s | %6s | %9s | %s";
+        logger.info(String.format(rowFormat,
+                "ENV", "KEY", "MATCHED", "ENCRYPTED", "PLAIN", "VERIFIED", "FAILED", "TIME (ms)", "STATUS"));
+        for (EnvironmentResult result : results) {
+            logger.info(String.format(rowFormat,
+                    result.environment.name(),
+                    result.keyStatus,
+                    result.matched,
+                    result.encrypted,
+                    result.plainText,
+                    verifying ? String.valueOf(result.verified) : "-",
+                    verifying ? String.valueOf(result.undecryptable) : "-",
+                    Duration.ofNanos(result.elapsedNanos).toMillis(),
+                    describeStatus(result, options.dryRun())));
+        }
+    }
+
+    private static String describeStatus(EnvironmentResult result, boolean dryRun) {
+        if (!result.failures.isEmpty()) {
+            return "FAILED: " + String.join("; ", result.failures);
+        }
+        if (result.undecryptable > 0) {
+            return "FAILED: " + result.undecryptable + " value(s) do not decrypt";
+        }
+        if (result.newlyEncrypted > 0) {
+            return (dryRun ? "OK, would encrypt " : "OK, encrypted ") + result.newlyEncrypted;
+        }
+        return "OK";
+    }
+
+    private static boolean isSecretKeyPresent(String keyName) throws IOException {
+        return EnvironmentFileDocument.load(Paths.get(EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFullPath()))
+                .getValue(keyName)
+                .filter(value -> !value.isEmpty())
+                .isPresent();
+    }
+
+    private static EnvironmentConfigConstants.EnvironmentFilePath parseEnvironment(String name) {
+        EnvironmentConfigConstants.EnvironmentFilePath environment;
+        try {
+            environment = EnvironmentConfigConstants.EnvironmentFilePath.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException error) {
+            throw new IllegalArgumentException("Unknown environment '" + name + "'. " + USAGE, error);
+        }
+        if (environment == EnvironmentConfigConstants.EnvironmentFilePath.BASE) {
+            throw new IllegalArgumentException("The base environment holds keys, not secrets, and cannot be processed");
+        }
+        return environment;
+    }
+
+    private static EnvironmentConfigConstants.Environment environmentOf(EnvironmentConfigConstants.EnvironmentFilePath environment) {
+        return EnvironmentConfigConstants.Environment.valueOf(environment.name());
+    }
+
+    private static EnvironmentConfigConstants.EnvironmentSecretKey secretKeyOf(EnvironmentConfigConstants.EnvironmentFilePath environment) {
+        return EnvironmentConfigConstants.EnvironmentSecretKey.valueOf(environment.name());
+    }
+
+    private static List<String> splitList(String value) {
+        return Arrays.stream(value.split(LIST_SEPARATOR)).map(String::trim).filter(item -> !item.isEmpty()).toList();
+    }
+
+    private static Pattern toPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char character : glob.toCharArray()) {
+            switch (character) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(character)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    @FunctionalInterface
+    private interface EnvironmentTask {
+        void run() throws Exception;
     }
 }
@@ -0,0 +1,40 @@
+package com.orangehrm.crypto.run;
+
+import com.orangehrm.crypto.credentials.CredentialProviders;
+import com.orangehrm.crypto.credentials.EncryptedEnvironmentCredentialProvider;
+import com.orangehrm.crypto.credentials.LocalSecretsServer;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs the local secrets service stand-in until the JVM is stopped.
+ * Credentials are served from the encrypted file of ACTIVE_ENVIRONMENT; start the tests with
+ * {@code -DCREDENTIAL_PROVIDER=HTTP} to read them through the HTTP provider. The optional argument is the port
+ * (default 8200), and when CREDENTIAL_HTTP_TOKEN is set clients must send it as a bearer token.
+ */
+public class LocalSecretsServerRunner {
+
+    private static final Logger logger = LoggerUtils.getLogger(LocalSecretsServerRunner.class);
+    private static final int DEFAULT_PORT = 8200;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0].trim()) : DEFAULT_PORT;
+        String bearerToken = System.getenv(CredentialProviders.HTTP_TOKEN_VARIABLE);
+        if (bearerToken == null || bearerToken.isBlank()) {
+            logger.warn("{} is not set, the local secrets server accepts unauthenticated requests from this machine",
+                    CredentialProviders.HTTP_TOKEN_VARIABLE);
+        }
+
+        LocalSecretsServer server = new LocalSecretsServer(port,
+                new EncryptedEnvironmentCredentialProvider(CredentialProviders.getActiveEnvironment()), bearerToken);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }, "local-secrets-server-shutdown"));
+        stopped.await();
+    }
+}
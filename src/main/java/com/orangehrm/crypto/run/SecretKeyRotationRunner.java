@@ -0,0 +1,43 @@
+package com.orangehrm.crypto.run;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.crypto.services.SecretKeyRotator;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.crypto.CryptoException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rotates environment secret keys from the command line.
+ * Each argument names an environment (DEV, UAT, PROD) and may list the files encrypted with its key, e.g.
+ * {@code UAT} or {@code UAT=.env.uat,.env.uat.local}; without a file list the environment's own file is rotated.
+ * Re-running after a failure resumes from the checkpoint of the interrupted rotation.
+ */
+public class SecretKeyRotationRunner {
+
+    private static final Logger logger = LoggerUtils.getLogger(SecretKeyRotationRunner.class);
+    private static final String FILES_SEPARATOR = "=";
+    private static final String FILE_LIST_SEPARATOR = ",";
+
+    public static void main(String[] args) throws CryptoException, IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: SecretKeyRotationRunner <ENV>[=file1,file2] ...");
+        }
+
+        for (String argument : args) {
+            String[] parts = argument.split(FILES_SEPARATOR, 2);
+            String environmentName = parts[0].trim().toUpperCase();
+            List<String> envFiles = parts.length > 1
+                    ? Arrays.stream(parts[1].split(FILE_LIST_SEPARATOR)).map(String::trim).filter(file -> !file.isEmpty()).toList()
+                    : List.of(EnvironmentConfigConstants.EnvironmentFilePath.valueOf(environmentName).getFilename());
+
+            SecretKeyRotator.RotationReport report = SecretKeyRotator.rotate(
+                    EnvironmentConfigConstants.EnvironmentSecretKey.valueOf(environmentName), envFiles);
+            logger.info("{} rotation finished at {} entries/s", environmentName, String.format("%.1f", report.entriesPerSecond()));
+        }
+        logger.info("Secret key rotation process completed");
+    }
+}
@@ -0,0 +1,87 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Benchmarks Argon2 on the current host and picks cost parameters that meet a target derivation latency.
+ * Memory starts at the default profile and is halved while a single pass is slower than the target allows,
+ * then iterations are raised to use the remaining budget. Results never drop below the OWASP minimum for Argon2id.
+ */
+public final class Argon2Calibrator {
+
+    private static final Logger logger = LoggerUtils.getLogger(Argon2Calibrator.class);
+    public static final int MIN_CALIBRATED_MEMORY_KB = 19456;  // 19 MB, OWASP minimum for Argon2id
+    public static final int MIN_CALIBRATED_ITERATIONS = 2;
+    private static final int MAX_CALIBRATED_ITERATIONS = 10;
+    private static final int SAMPLES = 3;
+
+    private Argon2Calibrator() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Calibrates a profile whose derivation takes roughly the target latency on this host.
+     *
+     * @param targetLatency desired duration of a single key derivation
+     * @return the calibrated profile
+     * @throws IllegalArgumentException if the target latency is not positive
+     */
+    public static Argon2Profile calibrate(Duration targetLatency) {
+        if (targetLatency == null || targetLatency.isNegative() || targetLatency.isZero()) {
+            throw new IllegalArgumentException("Target latency must be positive");
+        }
+
+        try {
+            Argon2Profile defaults = Argon2Profile.defaultProfile();
+            long targetNanos = targetLatency.toNanos();
+            int memoryKB = defaults.memoryKB();
+
+            long passNanos = measure(new Argon2Profile(1, memoryKB, defaults.parallelism())).toNanos();
+            while (passNanos * MIN_CALIBRATED_ITERATIONS > targetNanos && memoryKB / 2 >= MIN_CALIBRATED_MEMORY_KB) {
+                memoryKB /= 2;
+                passNanos = measure(new Argon2Profile(1, memoryKB, defaults.parallelism())).toNanos();
+            }
+
+            int iterations = (int) Math.max(MIN_CALIBRATED_ITERATIONS,
+                    Math.min(MAX_CALIBRATED_ITERATIONS, targetNanos / Math.max(1, passNanos)));
+            Argon2Profile profile = new Argon2Profile(iterations, memoryKB, defaults.parallelism());
+
+            logger.info("Calibrated Argon2 profile {} for target {} ms (single pass {} ms)",
+                    profile.format(), targetLatency.toMillis(), passNanos / 1_000_000);
+            return profile;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "calibrate", "Failed to calibrate Argon2 parameters");
+            throw error;
+        }
+    }
+
+    /**
+     * Measures the median duration of a key derivation with the given profile.
+     *
+     * @param profile the profile to measure
+     * @return median derivation time over several samples, after one warm-up run
+     */
+    public static Duration measure(Argon2Profile profile) {
+        SecretKey sampleKey = SecureKeyGenerator.generateSecretKey();
+        byte[] salt = SecureKeyGenerator.generateSalt();
+        long[] samples = new long[SAMPLES];
+
+        Arrays.fill(CryptoOperations.deriveKeyBytes(sampleKey, salt, profile), (byte) 0);  // Warm-up
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            long start = System.nanoTime();
+            byte[] derived = CryptoOperations.deriveKeyBytes(sampleKey, salt, profile);
+            samples[sample] = System.nanoTime() - start;
+            Arrays.fill(derived, (byte) 0);
+        }
+
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[SAMPLES / 2]);
+    }
+}
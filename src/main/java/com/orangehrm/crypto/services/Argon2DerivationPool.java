@@ -0,0 +1,193 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs Argon2id key derivations on a fixed set of engines that keep their working memory between derivations.
+ * BouncyCastle's generator allocates a fresh block array (64 MB with the default profile) on every derivation;
+ * here each engine allocates once, wipes its memory after every use, and callers wait for a free engine when all
+ * are busy. Engines keep no more than the default profile's memory between derivations, so a run that derives one
+ * PROD-calibrated key does not hold that profile's memory for the rest of the JVM's life.
+ * Concurrent derivations are also bounded by a memory budget (half the maximum heap by default): each one reserves
+ * its own profile's memory before it starts, so a few large calibrated profiles run fewer at a time than small ones.
+ */
+public final class Argon2DerivationPool {
+
+    private static final Logger logger = LoggerUtils.getLogger(Argon2DerivationPool.class);
+    private static final String POOL_SIZE_KEY = "ARGON2_POOL_SIZE";
+    private static final int DEFAULT_POOL_SIZE = 2;
+    private static final Argon2DerivationPool instance = createFromConfiguration();
+
+    private final int poolSize;
+    private final int memoryBudgetKB;
+    private final Semaphore memoryBudget;
+    private final BlockingQueue<Argon2Engine> idleEngines;
+    private final Argon2Engine[] engines;
+    private final LongAdder derivations = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+
+    /**
+     * Creates a pool with the given number of engines and a memory budget of half the maximum heap.
+     * Engines allocate their memory on first use.
+     *
+     * @param poolSize Maximum number of concurrent derivations
+     * @throws IllegalArgumentException if poolSize is not positive
+     */
+    public Argon2DerivationPool(int poolSize) {
+        this(poolSize, defaultMemoryBudgetKB());
+    }
+
+    /**
+     * Creates a pool with the given number of engines and memory budget.
+     *
+     * @param poolSize       Maximum number of concurrent derivations
+     * @param memoryBudgetKB Argon2 memory, in KB, that concurrent derivations may use together
+     * @throws IllegalArgumentException if either value is not positive
+     */
+    public Argon2DerivationPool(int poolSize, int memoryBudgetKB) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Argon2 pool size must be positive");
+        }
+        if (memoryBudgetKB <= 0) {
+            throw new IllegalArgumentException("Argon2 memory budget must be positive");
+        }
+        this.poolSize = poolSize;
+        this.memoryBudgetKB = memoryBudgetKB;
+        this.memoryBudget = new Semaphore(memoryBudgetKB, true);
+        this.idleEngines = new ArrayBlockingQueue<>(poolSize);
+        this.engines = new Argon2Engine[poolSize];
+        for (int index = 0; index < poolSize; index++) {
+            engines[index] = new Argon2Engine();
+            idleEngines.add(engines[index]);
+        }
+    }
+
+    public static Argon2DerivationPool getInstance() {
+        return instance;
+    }
+
+    /**
+     * Derives key material with Argon2id, waiting until the profile's memory fits the budget and an engine is free.
+     *
+     * @param password     Password bytes, not modified
+     * @param salt         Salt bytes
+     * @param profile      Argon2 cost parameters
+     * @param outputLength Number of bytes to derive
+     * @return the derived bytes
+     * @throws IllegalStateException if the calling thread is interrupted while waiting for memory or an engine
+     */
+    public byte[] derive(byte[] password, byte[] salt, Argon2Profile profile, int outputLength) {
+        if (password == null || salt == null || profile == null) {
+            throw new IllegalArgumentException("Password, salt and profile cannot be null");
+        }
+        if (outputLength < 4) {
+            throw new IllegalArgumentException("Argon2 output length must be at least 4 bytes");
+        }
+
+        // A profile larger than the whole budget still runs, but only on its own
+        int reservedKB = Math.min(profile.memoryKB(), memoryBudgetKB);
+        reserve(reservedKB);
+        try {
+            Argon2Engine engine = acquire();
+            try {
+                byte[] output = new byte[outputLength];
+                engine.derive(password, salt, profile, output);
+                derivations.increment();
+                return output;
+            } finally {
+                idleEngines.add(engine);
+            }
+        } finally {
+            memoryBudget.release(reservedKB);
+        }
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getMemoryBudgetKB() {
+        return memoryBudgetKB;
+    }
+
+    public long getDerivationCount() {
+        return derivations.sum();
+    }
+
+    public long getWaitCount() {
+        return waits.sum();
+    }
+
+    /**
+     * Returns the working memory currently held by the pool's engines.
+     *
+     * @return retained bytes across all engines
+     */
+    public long getRetainedBytes() {
+        long retained = 0;
+        for (Argon2Engine engine : engines) {
+            retained += engine.getRetainedBytes();
+        }
+        return retained;
+    }
+
+    private void reserve(int memoryKB) {
+        if (memoryBudget.tryAcquire(memoryKB)) {
+            return;
+        }
+        waits.increment();
+        try {
+            memoryBudget.acquire(memoryKB);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Argon2 memory", error);
+        }
+    }
+
+    private Argon2Engine acquire() {
+        Argon2Engine engine = idleEngines.poll();
+        if (engine != null) {
+            return engine;
+        }
+        waits.increment();
+        try {
+            return idleEngines.take();
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an Argon2 engine", error);
+        }
+    }
+
+    private static Argon2DerivationPool createFromConfiguration() {
+        int poolSize = 0;
+        try {
+            PropertyFileConfigManager configuration = PropertyFileConfigManager.getConfiguration(
+                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+            poolSize = configuration.getProperty(POOL_SIZE_KEY, Integer.class).orElse(0);
+        } catch (Exception error) {
+            logger.error("Failed to read Argon2 pool settings, using the default pool size", error);
+        }
+        if (poolSize <= 0) {
+            // Batches and files share one derivation per key epoch, so derivations are few even with the caches off
+            poolSize = Math.min(DEFAULT_POOL_SIZE, Runtime.getRuntime().availableProcessors());
+        }
+        int memoryBudgetKB = defaultMemoryBudgetKB();
+        logger.info("Argon2 derivation pool sized to {} engine(s) with a {} MB memory budget", poolSize, memoryBudgetKB / 1024);
+        return new Argon2DerivationPool(poolSize, memoryBudgetKB);
+    }
+
+    private static int defaultMemoryBudgetKB() {
+        long budgetKB = Runtime.getRuntime().maxMemory() / 2 / 1024;
+        return (int) Math.max(Argon2Profile.MIN_MEMORY_KB, Math.min(Integer.MAX_VALUE, budgetKB));
+    }
+}
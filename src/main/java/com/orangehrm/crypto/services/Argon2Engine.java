@@ -0,0 +1,334 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+import org.bouncycastle.util.Pack;
+
+import java.util.Arrays;
+
+/**
+ * Argon2id (version 1.3, RFC 9106) over working memory that is kept between derivations.
+ * The output is identical to BouncyCastle's {@code Argon2BytesGenerator} for the same parameters, but the
+ * memory blocks live in one flat array that is zero-filled after every derivation instead of being reallocated.
+ * The array is kept only up to the retained size (the default profile's memory); a derivation with a larger
+ * profile allocates for itself and releases the array when it finishes. An engine is not thread-safe;
+ * {@link Argon2DerivationPool} hands each one to a single caller at a time.
+ */
+final class Argon2Engine {
+
+    private static final int QWORDS_IN_BLOCK = 128;
+    private static final int BLOCK_SIZE = QWORDS_IN_BLOCK * Long.BYTES;
+    private static final int ADDRESSES_IN_BLOCK = 128;
+    private static final int SYNC_POINTS = 4;
+    private static final int PREHASH_DIGEST_LENGTH = 64;
+    private static final int PREHASH_SEED_LENGTH = PREHASH_DIGEST_LENGTH + 2 * Integer.BYTES;
+    private static final int VERSION = 0x13;
+    private static final int TYPE_ID = 2;
+    private static final long LOW_32_BITS = 0xFFFFFFFFL;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final long retainedQwords;
+    private long[] memory = new long[0];
+    private final long[] blockR = new long[QWORDS_IN_BLOCK];
+    private final long[] blockTmp = new long[QWORDS_IN_BLOCK];
+    private final long[] addressBlock = new long[QWORDS_IN_BLOCK];
+    private final long[] inputBlock = new long[QWORDS_IN_BLOCK];
+    private final long[] zeroBlock = new long[QWORDS_IN_BLOCK];
+    private final byte[] blockBytes = new byte[BLOCK_SIZE];
+
+    private int lanes;
+    private int segmentLength;
+    private int laneLength;
+    private int usedQwords;
+
+    /**
+     * Creates an engine that keeps as much working memory between derivations as the default profile uses.
+     */
+    Argon2Engine() {
+        this(Argon2Profile.defaultProfile().memoryKB());
+    }
+
+    /**
+     * Creates an engine that keeps up to the given working memory between derivations.
+     *
+     * @param retainedMemoryKB Working memory, in KB, kept after a derivation; anything larger is released
+     */
+    Argon2Engine(int retainedMemoryKB) {
+        this.retainedQwords = (long) retainedMemoryKB * QWORDS_IN_BLOCK;
+    }
+
+    /**
+     * Derives key material into the output array, using its full length.
+     *
+     * @param password Password bytes
+     * @param salt     Salt bytes
+     * @param profile  Argon2 cost parameters
+     * @param output   Destination for the derived bytes
+     */
+    void derive(byte[] password, byte[] salt, Argon2Profile profile, byte[] output) {
+        derive(password, salt, EMPTY, EMPTY, profile, output);
+    }
+
+    /**
+     * Derives key material with the optional secret and associated data inputs of RFC 9106.
+     *
+     * @param password       Password bytes
+     * @param salt           Salt bytes
+     * @param secret         Secret value, empty when unused
+     * @param associatedData Associated data, empty when unused
+     * @param profile        Argon2 cost parameters
+     * @param output         Destination for the derived bytes
+     */
+    void derive(byte[] password, byte[] salt, byte[] secret, byte[] associatedData, Argon2Profile profile,
+                byte[] output) {
+        lanes = profile.parallelism();
+        int memoryBlocks = Math.max(profile.memoryKB(), 2 * SYNC_POINTS * lanes);
+        segmentLength = memoryBlocks / (SYNC_POINTS * lanes);
+        laneLength = segmentLength * SYNC_POINTS;
+        usedQwords = lanes * laneLength * QWORDS_IN_BLOCK;
+        if (memory.length < usedQwords) {
+            memory = new long[usedQwords];
+        }
+
+        try {
+            fillFirstBlocks(password, salt, secret, associatedData, profile, output.length);
+            for (int pass = 0; pass < profile.iterations(); pass++) {
+                for (int slice = 0; slice < SYNC_POINTS; slice++) {
+                    for (int lane = 0; lane < lanes; lane++) {
+                        fillSegment(pass, slice, lane, profile.iterations());
+                    }
+                }
+            }
+            finalizeOutput(output);
+        } finally {
+            wipe();
+            if (memory.length > retainedQwords) {
+                memory = new long[0];
+            }
+        }
+    }
+
+    long getRetainedBytes() {
+        return (long) memory.length * Long.BYTES;
+    }
+
+    private void fillFirstBlocks(byte[] password, byte[] salt, byte[] secret, byte[] associatedData,
+                                 Argon2Profile profile, int outputLength) {
+        Blake2bDigest digest = new Blake2bDigest(PREHASH_DIGEST_LENGTH * Byte.SIZE);
+        byte[] seed = new byte[PREHASH_SEED_LENGTH];
+        try {
+            addInt(digest, lanes);
+            addInt(digest, outputLength);
+            addInt(digest, profile.memoryKB());
+            addInt(digest, profile.iterations());
+            addInt(digest, VERSION);
+            addInt(digest, TYPE_ID);
+            addByteString(digest, password);
+            addByteString(digest, salt);
+            addByteString(digest, secret);
+            addByteString(digest, associatedData);
+            digest.doFinal(seed, 0);
+
+            for (int lane = 0; lane < lanes; lane++) {
+                Pack.intToLittleEndian(lane, seed, PREHASH_DIGEST_LENGTH + Integer.BYTES);
+                for (int column = 0; column < 2; column++) {
+                    Pack.intToLittleEndian(column, seed, PREHASH_DIGEST_LENGTH);
+                    variableLengthHash(seed, blockBytes, BLOCK_SIZE);
+                    Pack.littleEndianToLong(blockBytes, 0, memory, blockOffset(lane * laneLength + column), QWORDS_IN_BLOCK);
+                }
+            }
+        } finally {
+            Arrays.fill(seed, (byte) 0);
+        }
+    }
+
+    private void fillSegment(int pass, int slice, int lane, int iterations) {
+        boolean dataIndependentAddressing = pass == 0 && slice < SYNC_POINTS / 2;
+        if (dataIndependentAddressing) {
+            Arrays.fill(inputBlock, 0L);
+            inputBlock[0] = pass;
+            inputBlock[1] = lane;
+            inputBlock[2] = slice;
+            inputBlock[3] = (long) lanes * laneLength;
+            inputBlock[4] = iterations;
+            inputBlock[5] = TYPE_ID;
+        }
+
+        int startingIndex = 0;
+        if (pass == 0 && slice == 0) {
+            // The first two blocks of each lane come from the pre-hash
+            startingIndex = 2;
+            if (dataIndependentAddressing) {
+                nextAddresses();
+            }
+        }
+
+        int currentOffset = lane * laneLength + slice * segmentLength + startingIndex;
+        int previousOffset = currentOffset % laneLength == 0 ? currentOffset + laneLength - 1 : currentOffset - 1;
+        for (int index = startingIndex; index < segmentLength; index++, currentOffset++, previousOffset++) {
+            if (currentOffset % laneLength == 1) {
+                previousOffset = currentOffset - 1;
+            }
+
+            long pseudoRandom;
+            if (dataIndependentAddressing) {
+                if (index % ADDRESSES_IN_BLOCK == 0) {
+                    nextAddresses();
+                }
+                pseudoRandom = addressBlock[index % ADDRESSES_IN_BLOCK];
+            } else {
+                pseudoRandom = memory[blockOffset(previousOffset)];
+            }
+
+            int referenceLane = pass == 0 && slice == 0 ? lane : (int) ((pseudoRandom >>> 32) % lanes);
+            int referenceIndex = referenceIndex(pass, slice, index, pseudoRandom & LOW_32_BITS, referenceLane == lane);
+            fillBlock(memory, blockOffset(previousOffset), memory, blockOffset(referenceLane * laneLength + referenceIndex),
+                    memory, blockOffset(currentOffset), pass != 0);
+        }
+    }
+
+    private int referenceIndex(int pass, int slice, int index, long pseudoRandom, boolean sameLane) {
+        long referenceAreaSize;
+        if (pass == 0) {
+            if (slice == 0) {
+                referenceAreaSize = index - 1;
+            } else if (sameLane) {
+                referenceAreaSize = (long) slice * segmentLength + index - 1;
+            } else {
+                referenceAreaSize = (long) slice * segmentLength + (index == 0 ? -1 : 0);
+            }
+        } else if (sameLane) {
+            referenceAreaSize = laneLength - segmentLength + index - 1;
+        } else {
+            referenceAreaSize = laneLength - segmentLength + (index == 0 ? -1 : 0);
+        }
+
+        long relativePosition = (pseudoRandom * pseudoRandom) >>> 32;
+        relativePosition = referenceAreaSize - 1 - ((referenceAreaSize * relativePosition) >>> 32);
+        long startPosition = pass != 0 && slice != SYNC_POINTS - 1 ? (long) (slice + 1) * segmentLength : 0;
+        return (int) ((startPosition + relativePosition) % laneLength);
+    }
+
+    private void nextAddresses() {
+        inputBlock[6]++;
+        fillBlock(zeroBlock, 0, inputBlock, 0, addressBlock, 0, false);
+        fillBlock(zeroBlock, 0, addressBlock, 0, addressBlock, 0, false);
+    }
+
+    private void fillBlock(long[] previous, int previousOffset, long[] reference, int referenceOffset,
+                           long[] next, int nextOffset, boolean withXor) {
+        for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+            blockR[i] = previous[previousOffset + i] ^ reference[referenceOffset + i];
+            blockTmp[i] = withXor ? blockR[i] ^ next[nextOffset + i] : blockR[i];
+        }
+
+        for (int row = 0; row < 8; row++) {
+            int base = 16 * row;
+            permute(blockR, base, base + 1, base + 2, base + 3, base + 4, base + 5, base + 6, base + 7,
+                    base + 8, base + 9, base + 10, base + 11, base + 12, base + 13, base + 14, base + 15);
+        }
+        for (int column = 0; column < 8; column++) {
+            int base = 2 * column;
+            permute(blockR, base, base + 1, base + 16, base + 17, base + 32, base + 33, base + 48, base + 49,
+                    base + 64, base + 65, base + 80, base + 81, base + 96, base + 97, base + 112, base + 113);
+        }
+
+        for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+            next[nextOffset + i] = blockTmp[i] ^ blockR[i];
+        }
+    }
+
+    private void finalizeOutput(byte[] output) {
+        System.arraycopy(memory, blockOffset(laneLength - 1), blockTmp, 0, QWORDS_IN_BLOCK);
+        for (int lane = 1; lane < lanes; lane++) {
+            int lastBlock = blockOffset(lane * laneLength + laneLength - 1);
+            for (int i = 0; i < QWORDS_IN_BLOCK; i++) {
+                blockTmp[i] ^= memory[lastBlock + i];
+            }
+        }
+        Pack.longToLittleEndian(blockTmp, blockBytes, 0);
+        variableLengthHash(blockBytes, output, output.length);
+    }
+
+    private void wipe() {
+        Arrays.fill(memory, 0, usedQwords, 0L);
+        Arrays.fill(blockR, 0L);
+        Arrays.fill(blockTmp, 0L);
+        Arrays.fill(addressBlock, 0L);
+        Arrays.fill(inputBlock, 0L);
+        Arrays.fill(blockBytes, (byte) 0);
+    }
+
+    /**
+     * H' from RFC 9106: Blake2b extended to arbitrary output lengths.
+     */
+    private static void variableLengthHash(byte[] input, byte[] output, int outputLength) {
+        if (outputLength <= PREHASH_DIGEST_LENGTH) {
+            Blake2bDigest digest = new Blake2bDigest(outputLength * Byte.SIZE);
+            addInt(digest, outputLength);
+            digest.update(input, 0, input.length);
+            digest.doFinal(output, 0);
+            return;
+        }
+
+        int halfDigest = PREHASH_DIGEST_LENGTH / 2;
+        int rounds = (outputLength + halfDigest - 1) / halfDigest - 2;
+        byte[] chain = new byte[PREHASH_DIGEST_LENGTH];
+        Blake2bDigest digest = new Blake2bDigest(PREHASH_DIGEST_LENGTH * Byte.SIZE);
+        addInt(digest, outputLength);
+        digest.update(input, 0, input.length);
+        digest.doFinal(chain, 0);
+        System.arraycopy(chain, 0, output, 0, halfDigest);
+
+        for (int round = 1; round < rounds; round++) {
+            digest.update(chain, 0, chain.length);
+            digest.doFinal(chain, 0);
+            System.arraycopy(chain, 0, output, round * halfDigest, halfDigest);
+        }
+
+        Blake2bDigest lastDigest = new Blake2bDigest((outputLength - rounds * halfDigest) * Byte.SIZE);
+        lastDigest.update(chain, 0, chain.length);
+        lastDigest.doFinal(output, rounds * halfDigest);
+        Arrays.fill(chain, (byte) 0);
+    }
+
+    private static void permute(long[] v, int v0, int v1, int v2, int v3, int v4, int v5, int v6, int v7,
+                                int v8, int v9, int v10, int v11, int v12, int v13, int v14, int v15) {
+        mix(v, v0, v4, v8, v12);
+        mix(v, v1, v5, v9, v13);
+        mix(v, v2, v6, v10, v14);
+        mix(v, v3, v7, v11, v15);
+        mix(v, v0, v5, v10, v15);
+        mix(v, v1, v6, v11, v12);
+        mix(v, v2, v7, v8, v13);
+        mix(v, v3, v4, v9, v14);
+    }
+
+    private static void mix(long[] v, int a, int b, int c, int d) {
+        v[a] = blaMka(v[a], v[b]);
+        v[d] = Long.rotateRight(v[d] ^ v[a], 32);
+        v[c] = blaMka(v[c], v[d]);
+        v[b] = Long.rotateRight(v[b] ^ v[c], 24);
+        v[a] = blaMka(v[a], v[b]);
+        v[d] = Long.rotateRight(v[d] ^ v[a], 16);
+        v[c] = blaMka(v[c], v[d]);
+        v[b] = Long.rotateRight(v[b] ^ v[c], 63);
+    }
+
+    private static long blaMka(long x, long y) {
+        return x + y + 2 * ((x & LOW_32_BITS) * (y & LOW_32_BITS));
+    }
+
+    private static void addInt(Blake2bDigest digest, int value) {
+        digest.update(Pack.intToLittleEndian(value), 0, Integer.BYTES);
+    }
+
+    private static void addByteString(Blake2bDigest digest, byte[] value) {
+        addInt(digest, value.length);
+        digest.update(value, 0, value.length);
+    }
+
+    private static int blockOffset(int blockIndex) {
+        return blockIndex * QWORDS_IN_BLOCK;
+    }
+}
@@ -0,0 +1,258 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.crypto.CryptoException;
+
+import javax.crypto.SecretKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decrypts batches of values on a dedicated executor with one worker per available processor.
+ * Each batch resolves its epoch keys once through an {@link EpochKeyScope} shared by its tasks and zeroized when the
+ * batch ends, so the remaining work is AES only. Argon2 working memory is not budgeted here:
+ * {@link Argon2DerivationPool} reserves the memory of the profile actually being derived, so calibrated profiles
+ * run fewer derivations at once than the default one while AES work keeps every worker busy.
+ * Work is kept off the common ForkJoinPool so large derivations cannot starve unrelated tasks.
+ * Encryption batches run on the same executor so they share the same derivation budget.
+ */
+public final class BatchDecryptionEngine {
+
+    private static final Logger logger = LoggerUtils.getLogger(BatchDecryptionEngine.class);
+    private static final BatchDecryptionEngine instance = new BatchDecryptionEngine(calculateConcurrencyLimit());
+
+    private final int concurrencyLimit;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private final AtomicLong firstSubmissionNanos = new AtomicLong();
+    private final AtomicLong lastCompletionNanos = new AtomicLong();
+
+    /**
+     * Snapshot of the engine's throughput and queue metrics.
+     */
+    public record BatchMetrics(
+            int concurrencyLimit,
+            int activeWorkers,
+            int queueDepth,
+            int peakQueueDepth,
+            long submitted,
+            long completed,
+            long failed,
+            double throughputPerSecond
+    ) {
+    }
+
+    /**
+     * Creates an engine running at most the given number of decryptions concurrently.
+     *
+     * @param concurrencyLimit maximum number of concurrent decryptions
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public BatchDecryptionEngine(int concurrencyLimit) {
+        if (concurrencyLimit <= 0) {
+            throw new IllegalArgumentException("Concurrency limit must be positive");
+        }
+        this.concurrencyLimit = concurrencyLimit;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                concurrencyLimit,
+                concurrencyLimit,
+                30L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-decrypt-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static BatchDecryptionEngine getInstance() {
+        return instance;
+    }
+
+    /**
+     * Decrypts a single value asynchronously on the engine's executor.
+     *
+     * @param key           the master secret key
+     * @param encryptedData Base64 encoded ciphertext
+     * @return future completing with the decrypted value
+     */
+    public CompletableFuture<String> submit(SecretKey key, String encryptedData) {
+        return submitTask("submit", () -> CryptoOperations.decrypt(key, encryptedData));
+    }
+
+    /**
+     * Encrypts a single value asynchronously on the engine's executor.
+     *
+     * @param key       the master secret key
+     * @param plainText the value to encrypt
+     * @param epochSalt the Argon2 salt identifying the key epoch
+     * @param profile   the Argon2 cost parameters for the epoch key
+     * @return future completing with the Base64 encoded envelope
+     */
+    public CompletableFuture<String> submitEncryption(SecretKey key, String plainText, byte[] epochSalt, Argon2Profile profile) {
+        return submitTask("submitEncryption", () -> CryptoOperations.encrypt(key, plainText, epochSalt, profile));
+    }
+
+    /**
+     * Decrypts all values in parallel under the derivation memory budget.
+     * Each key epoch found among the values is derived once for the whole batch; legacy values, which carry their
+     * own salt, are derived one by one.
+     *
+     * @param key             the master secret key
+     * @param encryptedValues Base64 encoded ciphertexts
+     * @return decrypted values in the same order as the input
+     * @throws CryptoException if any value fails to decrypt
+     */
+    public List<String> decryptAll(SecretKey key, List<String> encryptedValues) throws CryptoException {
+        if (key == null) {
+            throw new IllegalArgumentException("Secret Key cannot be null");
+        }
+        if (encryptedValues == null || encryptedValues.isEmpty()) {
+            return List.of();
+        }
+
+        try (EpochKeyScope epochKeys = new EpochKeyScope(key)) {
+            List<CompletableFuture<String>> futures = new ArrayList<>(encryptedValues.size());
+            for (String encryptedValue : encryptedValues) {
+                futures.add(submitTask("decryptAll", () -> CryptoOperations.decrypt(epochKeys, encryptedValue)));
+            }
+            return joinAll(futures, "decryptAll", "decryption");
+        }
+    }
+
+    /**
+     * Encrypts all values in parallel under the derivation memory budget.
+     * All values share one key epoch, which is derived once on the calling thread before the AES-only tasks are
+     * submitted and zeroized when the batch ends.
+     *
+     * @param key         the master secret key
+     * @param plainValues the values to encrypt
+     * @param epochSalt   the Argon2 salt identifying the key epoch
+     * @param profile     the Argon2 cost parameters for the epoch key
+     * @return Base64 encoded envelopes in the same order as the input
+     * @throws CryptoException if any value fails to encrypt
+     * @throws IllegalArgumentException if the epoch salt is not {@code SALT_SIZE} bytes long
+     */
+    public List<String> encryptAll(SecretKey key, List<String> plainValues, byte[] epochSalt, Argon2Profile profile)
+            throws CryptoException {
+        if (key == null) {
+            throw new IllegalArgumentException("Secret Key cannot be null");
+        }
+        if (plainValues == null || plainValues.isEmpty()) {
+            return List.of();
+        }
+
+        CryptoOperations.validateEpochSalt(epochSalt);
+        if (profile == null) {
+            throw new IllegalArgumentException("Argon2 profile cannot be null");
+        }
+
+        try (EpochKeyScope epochKeys = new EpochKeyScope(key)) {
+            epochKeys.getEpochKey(epochSalt, profile);
+            List<CompletableFuture<String>> futures = new ArrayList<>(plainValues.size());
+            for (String plainValue : plainValues) {
+                futures.add(submitTask("encryptAll", () -> CryptoOperations.encrypt(epochKeys, plainValue, epochSalt, profile)));
+            }
+            return joinAll(futures, "encryptAll", "encryption");
+        }
+    }
+
+    public BatchMetrics getMetrics() {
+        long completedCount = completed.sum();
+        long windowNanos = lastCompletionNanos.get() - firstSubmissionNanos.get();
+        double throughput = windowNanos > 0 ? completedCount / (windowNanos / 1_000_000_000.0) : 0.0;
+        return new BatchMetrics(
+                concurrencyLimit,
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                peakQueueDepth.get(),
+                submitted.sum(),
+                completedCount,
+                failed.sum(),
+                throughput);
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    <T> CompletableFuture<T> submitTask(String operation, CryptoTask<T> task) {
+        submitted.increment();
+        firstSubmissionNanos.compareAndSet(0L, System.nanoTime());
+        try {
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.run();
+                } catch (Exception error) {
+                    throw new CompletionException(error);
+                }
+            }, executor);
+            peakQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+            return future.whenComplete((result, error) -> recordCompletion(error == null));
+        } catch (Exception error) {
+            failed.increment();
+            ErrorHandler.logError(error, operation, "Failed to submit crypto task");
+            throw error;
+        }
+    }
+
+    static <T> List<T> joinAll(List<CompletableFuture<T>> futures, String operation, String description)
+            throws CryptoException {
+        List<T> results = new ArrayList<>(futures.size());
+        for (int index = 0; index < futures.size(); index++) {
+            try {
+                results.add(futures.get(index).join());
+            } catch (CompletionException error) {
+                futures.forEach(future -> future.cancel(false));
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                ErrorHandler.logError(cause, operation, "Failed " + description + " of value at index " + index);
+                throw new CryptoException("Batch " + description + " failed at index " + index, cause);
+            }
+        }
+        return results;
+    }
+
+    private void recordCompletion(boolean successful) {
+        if (successful) {
+            completed.increment();
+        } else {
+            failed.increment();
+        }
+        lastCompletionNanos.accumulateAndGet(System.nanoTime(), Math::max);
+    }
+
+    @FunctionalInterface
+    interface CryptoTask<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Calculates the number of batch workers. Derivation memory is budgeted per profile by the Argon2 pool.
+     *
+     * @return the number of available processors
+     */
+    public static int calculateConcurrencyLimit() {
+        int limit = Math.max(1, Runtime.getRuntime().availableProcessors());
+        logger.info("Batch decryption concurrency set to {} (Argon2 memory budget {} MB)",
+                limit, Argon2DerivationPool.getInstance().getMemoryBudgetKB() / 1024);
+        return limit;
+    }
+}
@@ -0,0 +1,367 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.crypto.utils.CryptoConfigConstants;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.LoggerUtils;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Chooses the JCE provider used for AES-GCM.
+ * The candidates are SunJCE, which is backed by the JVM's AES and GHASH intrinsics, and the BouncyCastle provider.
+ * {@code CRYPTO_CIPHER_PROVIDER} names the provider, SunJCE by default. With AUTO, the provider chosen by an earlier
+ * probe on the same machine and JVM is reused from {@code target/cipher-provider-probe.properties}; only when there
+ * is no such result do operations start on the JVM's default provider while a background probe measures each
+ * candidate and switches to the fastest. The probe runs for its whole budget because a provider that looks slow
+ * before JIT compilation (SunJCE before its intrinsics are compiled in) can be far faster afterwards, which costs a
+ * core for that long. Argon2 runs on the in-repo {@link Argon2Engine} through {@link Argon2DerivationPool} and is not
+ * subject to selection.
+ * Whether the JVM has AES intrinsics enabled is logged at startup; with {@code CRYPTO_REQUIRE_AES_INTRINSICS=true}
+ * a worker without them fails fast instead of silently encrypting in software.
+ */
+public final class CipherProviderSelector {
+
+    private static final Logger logger = LoggerUtils.getLogger(CipherProviderSelector.class);
+    private static final String PROVIDER_KEY = "CRYPTO_CIPHER_PROVIDER";
+    private static final String PROBE_MILLIS_KEY = "CRYPTO_CIPHER_PROBE_MILLIS";
+    private static final String REQUIRE_INTRINSICS_KEY = "CRYPTO_REQUIRE_AES_INTRINSICS";
+    private static final String AUTO = "AUTO";
+    private static final String SUN_JCE = "SunJCE";
+    private static final String BOUNCY_CASTLE = "BC";
+    private static final String DEFAULT_PROVIDER = SUN_JCE;
+    private static final int DEFAULT_PROBE_MILLIS = 3000;
+    private static final Path PROBE_CACHE_PATH = Paths.get("target", "cipher-provider-probe.properties");
+    private static final String CACHED_PROVIDER = "provider";
+    private static final String CACHED_MACHINE = "machine";
+    private static final long ROUND_NANOS = 50_000_000L;
+    private static final int PROBE_BUFFER_SIZE = 1024;
+    private static final int KEY_SIZE_BYTES = 32;
+    private static final CipherProviderSelector instance = createFromConfiguration();
+
+    /**
+     * Outcome of a provider selection.
+     *
+     * @param provider             Provider used for AES-GCM
+     * @param reason               Why the provider was chosen: default, configured, cached or probed
+     * @param throughputMegabytes  Best measured AES-GCM throughput per probed provider, in MB/s
+     */
+    public record Selection(Provider provider, String reason, Map<String, Double> throughputMegabytes) {
+    }
+
+    private final int probeMillis;
+    private final Path probeCachePath;
+    private final Optional<Boolean> aesIntrinsicsEnabled;
+    private volatile Selection selection;
+
+    /**
+     * Creates a selector. A configured provider is used as is; with AUTO a probe result cached for this machine is
+     * reused, and otherwise the JVM default is used until {@link #reprobe()} has run.
+     *
+     * @param override             Provider name to force, or AUTO to probe
+     * @param probeMillis          Probe duration in milliseconds
+     * @param requireAesIntrinsics Whether to fail when the JVM does not report AES intrinsics enabled
+     * @throws IllegalStateException if AES intrinsics are required but not enabled
+     */
+    public CipherProviderSelector(String override, int probeMillis, boolean requireAesIntrinsics) {
+        this(override, probeMillis, requireAesIntrinsics, PROBE_CACHE_PATH);
+    }
+
+    CipherProviderSelector(String override, int probeMillis, boolean requireAesIntrinsics, Path probeCachePath) {
+        if (probeMillis <= 0) {
+            throw new IllegalArgumentException("Cipher provider probe duration must be positive");
+        }
+        this.probeMillis = probeMillis;
+        this.probeCachePath = probeCachePath;
+
+        // UseAESIntrinsics is a diagnostic flag and is only readable with -XX:+UnlockDiagnosticVMOptions;
+        // UseAES is on only when the CPU supports AES instructions, and the intrinsics follow it by default
+        this.aesIntrinsicsEnabled = readVmFlag("UseAES").map(aes -> aes && readVmFlag("UseAESIntrinsics").orElse(true));
+        logger.info("AES intrinsics: {}", aesIntrinsicsEnabled.map(enabled -> enabled ? "enabled" : "disabled").orElse("unknown"));
+        logger.info("Argon2 key derivation: in-repo Argon2Engine (not provider-selected)");
+        if (requireAesIntrinsics && !aesIntrinsicsEnabled.orElse(false)) {
+            throw new IllegalStateException("AES intrinsics are required but the JVM reports them "
+                    + aesIntrinsicsEnabled.map(enabled -> "disabled").orElse("unavailable")
+                    + "; check the CPU's AES support and -XX:+UseAES on this worker");
+        }
+
+        this.selection = initialSelection(override == null || override.isBlank() ? DEFAULT_PROVIDER : override.trim());
+    }
+
+    public static CipherProviderSelector getInstance() {
+        return instance;
+    }
+
+    public Provider getCipherProvider() {
+        return selection.provider();
+    }
+
+    public Selection getSelection() {
+        return selection;
+    }
+
+    public Optional<Boolean> isAesIntrinsicsEnabled() {
+        return aesIntrinsicsEnabled;
+    }
+
+    /**
+     * Measures every candidate provider and switches to the fastest, caching the choice for later runs on this machine.
+     * Threads pick the new provider up on their next cipher operation.
+     *
+     * @return the new selection
+     * @throws IllegalStateException if no candidate provider supports AES-GCM
+     */
+    public Selection reprobe() {
+        List<ProviderProbe> probes = new ArrayList<>();
+        for (Provider provider : candidates()) {
+            try {
+                probes.add(new ProviderProbe(provider));
+            } catch (GeneralSecurityException error) {
+                logger.warn("Skipping cipher provider {}: {}", provider.getName(), error.getMessage());
+            }
+        }
+        if (probes.isEmpty()) {
+            throw new IllegalStateException("No JCE provider supports "
+                    + CryptoConfigConstants.CryptoAlgorithmTypes.AES_GCM_NO_PADDING.getAlgorithmName());
+        }
+
+        // Providers are measured in interleaved rounds for the whole budget and keep their best round: throughput
+        // can plateau in the interpreter or C1 before the intrinsics are compiled in, so an early stop misleads
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + probeMillis * 1_000_000L;
+        int rounds = 0;
+        while (System.nanoTime() < deadline) {
+            for (ProviderProbe probe : new ArrayList<>(probes)) {
+                try {
+                    probe.measure(ROUND_NANOS);
+                } catch (GeneralSecurityException error) {
+                    logger.warn("Skipping cipher provider {}: {}", probe.provider.getName(), error.getMessage());
+                    probes.remove(probe);
+                }
+            }
+            rounds++;
+        }
+        if (probes.isEmpty()) {
+            throw new IllegalStateException("No JCE provider completed the AES-GCM probe");
+        }
+
+        Map<String, Double> throughput = new LinkedHashMap<>();
+        ProviderProbe fastest = probes.get(0);
+        for (ProviderProbe probe : probes) {
+            throughput.put(probe.provider.getName(), probe.bestMegabytesPerSecond);
+            if (probe.bestMegabytesPerSecond > fastest.bestMegabytesPerSecond) {
+                fastest = probe;
+            }
+        }
+
+        selection = new Selection(fastest.provider, "probed", Map.copyOf(throughput));
+        logger.info("AES-GCM provider: {} (fastest of {} MB/s over {} rounds in {} ms)",
+                fastest.provider.getName(), formatThroughput(throughput), rounds, (System.nanoTime() - startNanos) / 1_000_000);
+        writeProbeCache(fastest.provider);
+        return selection;
+    }
+
+    private Selection initialSelection(String override) {
+        if (!AUTO.equalsIgnoreCase(override)) {
+            Optional<Provider> configured = candidates().stream()
+                    .filter(provider -> provider.getName().equalsIgnoreCase(override))
+                    .findFirst();
+            if (configured.isPresent()) {
+                logger.info("AES-GCM provider: {} (configured by {})", configured.get().getName(), PROVIDER_KEY);
+                return new Selection(configured.get(), "configured", Map.of());
+            }
+            logger.error("Unknown cipher provider '{}' in {}, probing available providers instead", override, PROVIDER_KEY);
+        }
+
+        Optional<Provider> cached = readProbeCache();
+        if (cached.isPresent()) {
+            logger.info("AES-GCM provider: {} (probed earlier on this machine, cached in {})", cached.get().getName(), probeCachePath);
+            return new Selection(cached.get(), "cached", Map.of());
+        }
+
+        try {
+            Provider defaultProvider = Cipher.getInstance(
+                    CryptoConfigConstants.CryptoAlgorithmTypes.AES_GCM_NO_PADDING.getAlgorithmName()).getProvider();
+            logger.info("AES-GCM provider: {} (JVM default until the throughput probe completes)", defaultProvider.getName());
+            return new Selection(defaultProvider, "default", Map.of());
+        } catch (GeneralSecurityException error) {
+            ErrorHandler.logError(error, "initialSelection", "No default provider for AES-GCM, probing synchronously");
+            return reprobe();
+        }
+    }
+
+    private void startBackgroundProbe() {
+        Thread probeThread = new Thread(() -> {
+            try {
+                reprobe();
+            } catch (RuntimeException error) {
+                ErrorHandler.logError(error, "startBackgroundProbe", "Cipher provider probe failed, keeping " + getCipherProvider().getName());
+            }
+        }, "cipher-provider-probe");
+        probeThread.setDaemon(true);
+        probeThread.start();
+    }
+
+    private Optional<Provider> readProbeCache() {
+        if (!Files.isRegularFile(probeCachePath)) {
+            return Optional.empty();
+        }
+        Properties cache = new Properties();
+        try (Reader reader = Files.newBufferedReader(probeCachePath)) {
+            cache.load(reader);
+        } catch (IOException error) {
+            logger.warn("Ignoring unreadable cipher provider probe cache {}: {}", probeCachePath, error.getMessage());
+            return Optional.empty();
+        }
+        if (!machineFingerprint().equals(cache.getProperty(CACHED_MACHINE))) {
+            logger.info("Cipher provider probe cache {} was written on another machine or JVM, probing again", probeCachePath);
+            return Optional.empty();
+        }
+        String providerName = cache.getProperty(CACHED_PROVIDER, "");
+        return candidates().stream().filter(provider -> provider.getName().equals(providerName)).findFirst();
+    }
+
+    private void writeProbeCache(Provider provider) {
+        Properties cache = new Properties();
+        cache.setProperty(CACHED_PROVIDER, provider.getName());
+        cache.setProperty(CACHED_MACHINE, machineFingerprint());
+        try {
+            Path parent = probeCachePath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (Writer writer = Files.newBufferedWriter(probeCachePath)) {
+                cache.store(writer, "AES-GCM provider chosen by the throughput probe");
+            }
+        } catch (IOException error) {
+            logger.warn("Failed to cache the cipher provider probe result in {}: {}", probeCachePath, error.getMessage());
+        }
+    }
+
+    /**
+     * Identifies what the probe result depends on: the JVM build, the CPU architecture and core count, and
+     * whether AES intrinsics are enabled.
+     */
+    private String machineFingerprint() {
+        return String.join("|",
+                System.getProperty("java.vm.name", ""),
+                System.getProperty("java.vm.version", ""),
+                System.getProperty("os.arch", ""),
+                String.valueOf(Runtime.getRuntime().availableProcessors()),
+                aesIntrinsicsEnabled.map(String::valueOf).orElse("unknown"));
+    }
+
+    private static List<Provider> candidates() {
+        List<Provider> providers = new ArrayList<>();
+        Optional.ofNullable(Security.getProvider(SUN_JCE)).ifPresent(providers::add);
+        providers.add(Optional.ofNullable(Security.getProvider(BOUNCY_CASTLE)).orElseGet(BouncyCastleProvider::new));
+        return providers;
+    }
+
+    private static Optional<Boolean> readVmFlag(String flag) {
+        try {
+            HotSpotDiagnosticMXBean diagnostics = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return diagnostics == null ? Optional.empty() : Optional.of(Boolean.parseBoolean(diagnostics.getVMOption(flag).getValue()));
+        } catch (RuntimeException error) {
+            // Non-HotSpot JVMs, or a flag this JVM does not expose
+            return Optional.empty();
+        }
+    }
+
+    private static String formatThroughput(Map<String, Double> throughput) {
+        List<String> entries = new ArrayList<>();
+        throughput.forEach((name, megabytesPerSecond) -> entries.add(name + "=" + String.format("%.0f", megabytesPerSecond)));
+        return String.join(", ", entries);
+    }
+
+    private static CipherProviderSelector createFromConfiguration() {
+        String override = DEFAULT_PROVIDER;
+        int probeMillis = DEFAULT_PROBE_MILLIS;
+        boolean requireAesIntrinsics = false;
+        try {
+            PropertyFileConfigManager configuration = PropertyFileConfigManager.getConfiguration(
+                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+            override = configuration.getProperty(PROVIDER_KEY, String.class).orElse(DEFAULT_PROVIDER);
+            probeMillis = configuration.getProperty(PROBE_MILLIS_KEY, Integer.class).orElse(DEFAULT_PROBE_MILLIS);
+            requireAesIntrinsics = configuration.getProperty(REQUIRE_INTRINSICS_KEY, Boolean.class).orElse(false);
+        } catch (Exception error) {
+            logger.error("Failed to read cipher provider settings, using defaults", error);
+        }
+
+        CipherProviderSelector selector;
+        try {
+            selector = new CipherProviderSelector(override, probeMillis, requireAesIntrinsics);
+        } catch (RuntimeException error) {
+            ErrorHandler.logError(error, "createFromConfiguration", "Failed to select a cipher provider");
+            throw error;
+        }
+        if ("default".equals(selector.getSelection().reason())) {
+            selector.startBackgroundProbe();
+        }
+        return selector;
+    }
+
+    /**
+     * Encryption loop over a fixed buffer for one provider.
+     */
+    private static final class ProviderProbe {
+
+        private final Provider provider;
+        private final Cipher cipher;
+        private final SecretKeySpec key;
+        private final int tagBits = CryptoConfigConstants.CryptoKeyParameters.GCM_TAG_KEY_SIZE.getKeySize();
+        private final byte[] input = new byte[PROBE_BUFFER_SIZE];
+        private final byte[] output = new byte[PROBE_BUFFER_SIZE + tagBits / Byte.SIZE];
+        private final ByteBuffer iv = ByteBuffer.allocate(CryptoConfigConstants.CryptoKeyParameters.IV_SIZE.getKeySize());
+        private long counter;
+        private double bestMegabytesPerSecond;
+
+        private ProviderProbe(Provider provider) throws GeneralSecurityException {
+            this.provider = provider;
+            this.cipher = Cipher.getInstance(CryptoConfigConstants.CryptoAlgorithmTypes.AES_GCM_NO_PADDING.getAlgorithmName(), provider);
+            byte[] keyBytes = new byte[KEY_SIZE_BYTES];
+            new SecureRandom().nextBytes(keyBytes);
+            this.key = new SecretKeySpec(keyBytes, CryptoConfigConstants.CryptoAlgorithmTypes.AES.getAlgorithmName());
+        }
+
+        private void measure(long durationNanos) throws GeneralSecurityException {
+            long bytes = 0;
+            long start = System.nanoTime();
+            long end = start + durationNanos;
+            long now;
+            do {
+                // A fresh counter IV per call: GCM providers reject re-initialisation with a repeated key/IV pair
+                cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(tagBits, iv.putLong(0, ++counter).array()));
+                cipher.doFinal(input, 0, input.length, output);
+                bytes += input.length;
+                now = System.nanoTime();
+            } while (now < end);
+            bestMegabytesPerSecond = Math.max(bestMegabytesPerSecond, bytes / ((now - start) / 1_000_000_000.0) / (1024 * 1024));
+        }
+    }
+}
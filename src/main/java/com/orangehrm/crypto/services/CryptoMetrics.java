@@ -0,0 +1,236 @@
+package com.orangehrm.crypto.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.FileDirectoryManager;
+import com.orangehrm.utils.LatencyHistogram;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation timers for the crypto stack: call counts, bytes processed and latency percentiles for key lookup,
+ * Base64 coding, key derivation, cipher initialisation and doFinal, plus end-to-end encrypt and decrypt.
+ * Latencies go into {@link LatencyHistogram}s (log-linear, about 6% resolution), so recording is lock-free and
+ * allocation-free. Metrics are controlled by CRYPTO_METRICS_ENABLED and written as JSON to CRYPTO_METRICS_REPORT at
+ * the end of a test run.
+ */
+public final class CryptoMetrics {
+
+    private static final Logger logger = LoggerUtils.getLogger(CryptoMetrics.class);
+    private static final String METRICS_ENABLED_KEY = "CRYPTO_METRICS_ENABLED";
+    private static final String METRICS_REPORT_KEY = "CRYPTO_METRICS_REPORT";
+    private static final String DEFAULT_REPORT_PATH = "target/crypto-metrics.json";
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final CryptoMetrics instance = createFromConfiguration();
+
+    private final boolean enabled;
+    private final Path reportPath;
+    private final Map<Operation, OperationTimer> timers = new EnumMap<>(Operation.class);
+
+    public enum Operation {
+        KEY_LOOKUP,
+        BASE64_ENCODE,
+        BASE64_DECODE,
+        KEY_RESOLUTION,
+        KEY_DERIVATION,
+        CIPHER_INIT,
+        CIPHER_FINAL,
+        ENCRYPT,
+        DECRYPT
+    }
+
+    /**
+     * Point-in-time view of one operation's timer. Latencies are in microseconds.
+     */
+    public record OperationSnapshot(
+            long count,
+            long bytes,
+            double totalMillis,
+            double meanMicros,
+            double p50Micros,
+            double p95Micros,
+            double p99Micros,
+            double maxMicros
+    ) {
+    }
+
+    /**
+     * Creates a metrics registry.
+     *
+     * @param enabled    whether operations are recorded
+     * @param reportPath file the JSON report is written to
+     */
+    public CryptoMetrics(boolean enabled, Path reportPath) {
+        this.enabled = enabled;
+        this.reportPath = reportPath;
+        for (Operation operation : Operation.values()) {
+            timers.put(operation, new OperationTimer());
+        }
+    }
+
+    public static CryptoMetrics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return the start timestamp to pass to {@link #record(Operation, long, long)}, or 0 when metrics are disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records a completed operation without a byte count.
+     *
+     * @param operation  the operation
+     * @param startNanos value returned by {@link #start()}
+     */
+    public void record(Operation operation, long startNanos) {
+        record(operation, startNanos, 0L);
+    }
+
+    /**
+     * Records a completed operation.
+     *
+     * @param operation  the operation
+     * @param startNanos value returned by {@link #start()}
+     * @param bytes      number of bytes the operation processed
+     */
+    public void record(Operation operation, long startNanos, long bytes) {
+        if (enabled) {
+            timers.get(operation).record(System.nanoTime() - startNanos, bytes);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the current value of every operation that has been recorded at least once.
+     *
+     * @return snapshots keyed by operation, in declaration order
+     */
+    public Map<Operation, OperationSnapshot> getSnapshot() {
+        Map<Operation, OperationSnapshot> snapshot = new EnumMap<>(Operation.class);
+        timers.forEach((operation, timer) -> {
+            OperationSnapshot operationSnapshot = timer.snapshot();
+            if (operationSnapshot.count() > 0) {
+                snapshot.put(operation, operationSnapshot);
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * Renders the current snapshot as a JSON document.
+     *
+     * @return the JSON report
+     */
+    public String toJson() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("operations", getSnapshot());
+        try {
+            return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "toJson", "Failed to render crypto metrics");
+            throw new IllegalStateException("Failed to render crypto metrics", error);
+        }
+    }
+
+    /**
+     * Writes the JSON report to the configured path and logs a one-line summary per operation.
+     * Does nothing when metrics are disabled.
+     */
+    public void writeReport() {
+        if (!enabled) {
+            return;
+        }
+        getSnapshot().forEach((operation, snapshot) -> logger.info(
+                "{}: {} calls, {} bytes, p50 {} us, p95 {} us, p99 {} us, max {} us",
+                operation, snapshot.count(), snapshot.bytes(), format(snapshot.p50Micros()), format(snapshot.p95Micros()),
+                format(snapshot.p99Micros()), format(snapshot.maxMicros())));
+        try {
+            FileDirectoryManager.writeBytesAtomically(reportPath, toJson().getBytes(StandardCharsets.UTF_8));
+            logger.info("Crypto metrics written to {}", reportPath.toAbsolutePath());
+        } catch (IOException error) {
+            // A missing report must not fail the test run it describes
+            logger.error("Failed to write crypto metrics to {}", reportPath, error);
+        }
+    }
+
+    /**
+     * Resets every timer, e.g. to exclude warm-up from a measurement.
+     */
+    public void reset() {
+        timers.values().forEach(OperationTimer::reset);
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+
+    private static CryptoMetrics createFromConfiguration() {
+        try {
+            PropertyFileConfigManager configuration = PropertyFileConfigManager.getConfiguration(
+                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+            boolean enabled = configuration.getProperty(METRICS_ENABLED_KEY, Boolean.class).orElse(true);
+            String reportPath = configuration.getProperty(METRICS_REPORT_KEY, String.class).orElse(DEFAULT_REPORT_PATH);
+            return new CryptoMetrics(enabled, Paths.get(reportPath.trim()));
+        } catch (Exception error) {
+            logger.error("Failed to read crypto metrics settings, metrics disabled", error);
+            return new CryptoMetrics(false, Paths.get(DEFAULT_REPORT_PATH));
+        }
+    }
+
+    /**
+     * Byte counter and latency histogram of one operation.
+     */
+    private static final class OperationTimer {
+        private final LongAdder bytes = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        void record(long elapsedNanos, long processedBytes) {
+            bytes.add(processedBytes);
+            latency.record(elapsedNanos);
+        }
+
+        OperationSnapshot snapshot() {
+            double[] percentiles = latency.percentiles(0.50, 0.95, 0.99);
+            long calls = latency.getCount();
+            long total = latency.getTotalNanos();
+            return new OperationSnapshot(
+                    calls,
+                    bytes.sum(),
+                    total / NANOS_PER_MILLI,
+                    calls == 0 ? 0.0 : total / (double) calls / NANOS_PER_MICRO,
+                    percentiles[0] / NANOS_PER_MICRO,
+                    percentiles[1] / NANOS_PER_MICRO,
+                    percentiles[2] / NANOS_PER_MICRO,
+                    latency.getMaxNanos() / NANOS_PER_MICRO);
+        }
+
+        void reset() {
+            bytes.reset();
+            latency.reset();
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.orangehrm.crypto.services;
 
+import com.orangehrm.crypto.utils.Argon2Profile;
 import com.orangehrm.crypto.utils.CryptoConfigConstants;
+import com.orangehrm.crypto.utils.InputValidator;
 import com.orangehrm.utils.Base64Utils;
 import com.orangehrm.utils.ErrorHandler;
 import com.orangehrm.utils.LoggerUtils;
 import org.apache.logging.log4j.Logger;
 import org.bouncycastle.crypto.CryptoException;
-import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
-import org.bouncycastle.crypto.params.Argon2Parameters;
 
 import javax.crypto.AEADBadTagException;
 import javax.crypto.Cipher;
@@ -16,99 +16,447 @@ import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
+import java.security.GeneralSecurityException;
+import java.security.Provider;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import static com.orangehrm.crypto.services.SecureKeyGenerator.generateIv;
-import static com.orangehrm.crypto.services.SecureKeyGenerator.generateSalt;
 import static com.orangehrm.crypto.utils.InputValidator.validateStringInput;
 
 public class CryptoOperations {
 
     private static final Logger logger = LoggerUtils.getLogger(CryptoOperations.class);
+    private static final int GCM_TAG_BITS = CryptoConfigConstants.CryptoKeyParameters.GCM_TAG_KEY_SIZE.getKeySize();
+    private static final int GCM_TAG_BYTES = GCM_TAG_BITS / Byte.SIZE;
+    private static final int IV_SIZE = CryptoConfigConstants.CryptoKeyParameters.IV_SIZE.getKeySize();
+    private static final int SALT_SIZE = CryptoConfigConstants.CryptoKeyParameters.SALT_SIZE.getKeySize();
+    private static final CryptoMetrics metrics = CryptoMetrics.getInstance();
+
+    // Cipher instances are not thread-safe but are cheap to re-initialise; each operation calls init with its own key/IV
+    private static final ThreadLocal<Cipher> CIPHERS = new ThreadLocal<>();
+
     private CryptoOperations() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
 
+    /**
+     * Encrypts data into a versioned envelope under the current key epoch of the master key.
+     *
+     * @param key  the master secret key
+     * @param data the plain text to encrypt
+     * @return Base64 encoded envelope
+     * @throws CryptoException if encryption fails
+     */
     public static String encrypt(SecretKey key, String data) throws CryptoException {
         validateInput(key);
+        return encrypt(key, data, KeyEpochRegistry.getInstance().getCurrentEpochSalt(key), Argon2Profile.defaultProfile());
+    }
+
+    /**
+     * Encrypts data into a versioned envelope under an explicit key epoch.
+     * Values sharing an epoch salt share one Argon2 derivation, so callers encrypting a whole environment file
+     * should pass the epoch already used by that file.
+     *
+     * @param key       the master secret key
+     * @param data      the plain text to encrypt
+     * @param epochSalt the Argon2 salt identifying the key epoch
+     * @return Base64 encoded envelope
+     * @throws CryptoException if encryption fails
+     */
+    public static String encrypt(SecretKey key, String data, byte[] epochSalt) throws CryptoException {
+        return encrypt(key, data, epochSalt, Argon2Profile.defaultProfile());
+    }
+
+    /**
+     * Encrypts data into a versioned envelope under an explicit key epoch and Argon2 cost profile.
+     * The profile is recorded in the envelope header, so decryption always uses the cost chosen here.
+     *
+     * @param key       the master secret key
+     * @param data      the plain text to encrypt
+     * @param epochSalt the Argon2 salt identifying the key epoch
+     * @param profile   the Argon2 cost parameters for the epoch key
+     * @return Base64 encoded magic|version|profile|epochSalt|iv|ciphertext
+     * @throws CryptoException if encryption fails
+     * @throws IllegalArgumentException if the epoch salt is not {@code SALT_SIZE} bytes long
+     */
+    public static String encrypt(SecretKey key, String data, byte[] epochSalt, Argon2Profile profile) throws CryptoException {
+        validateInput(key);
+        try (EpochKeyScope epochKeys = new EpochKeyScope(key)) {
+            return encrypt(epochKeys, data, epochSalt, profile);
+        }
+    }
+
+    /**
+     * Encrypts data with the epoch key held by a scope, so every value encrypted through the scope shares one
+     * derivation of that epoch.
+     *
+     * @param epochKeys the epoch keys of the calling batch
+     * @param data      the plain text to encrypt
+     * @param epochSalt the Argon2 salt identifying the key epoch
+     * @param profile   the Argon2 cost parameters for the epoch key
+     * @return Base64 encoded magic|version|profile|epochSalt|iv|ciphertext
+     * @throws CryptoException if encryption fails
+     * @throws IllegalArgumentException if the epoch salt is not {@code SALT_SIZE} bytes long
+     */
+    public static String encrypt(EpochKeyScope epochKeys, String data, byte[] epochSalt, Argon2Profile profile) throws CryptoException {
+        InputValidator.validateInput(epochKeys, "Epoch key scope");
         validateStringInput(data, "Data");
+        validateEpochSalt(epochSalt);
+        InputValidator.validateInput(profile, "Argon2 profile");
 
-        SecretKeySpec derivedKey = null;
+        long started = metrics.start();
+        byte[] plainBytes = data.getBytes(StandardCharsets.UTF_8);
         try {
-            byte[] salt = generateSalt();
-            byte[] iv = generateIv();
-            SecureRandom secureRandom = new SecureRandom();
-            secureRandom.nextBytes(iv);
-
-            derivedKey = deriveKey(key, salt);
-            Cipher cipher = initializeCipher(iv, derivedKey, Cipher.ENCRYPT_MODE);
-            byte[] cipherText = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+            byte[] envelope = new byte[EpochEnvelope.size(epochSalt.length, plainBytes.length)];
+            encryptEnvelope(epochKeys, ByteBuffer.wrap(plainBytes), ByteBuffer.wrap(envelope), epochSalt, profile);
 
-            EncryptionComponents components = new EncryptionComponents(salt, iv, cipherText);
-            return Base64Utils.encodeArray(components.combine());
+            long encodeStarted = metrics.start();
+            String encoded = Base64Utils.encodeArray(envelope);
+            metrics.record(CryptoMetrics.Operation.BASE64_ENCODE, encodeStarted, envelope.length);
+            metrics.record(CryptoMetrics.Operation.ENCRYPT, started, plainBytes.length);
+            return encoded;
         } catch (Exception error) {
             ErrorHandler.logError(error, "encrypt", "Failed to encrypt data");
             throw new CryptoException("Encryption failed", error);
         } finally {
-            clearKeyIfNotNull(derivedKey);
+            Arrays.fill(plainBytes, (byte) 0);
         }
     }
 
+    /**
+     * Encrypts the remaining bytes of a buffer into a binary envelope under the current key epoch.
+     * Works with heap or direct buffers; nothing is Base64 encoded.
+     *
+     * @param key       the master secret key
+     * @param plainText the plain bytes, consumed from position to limit
+     * @param output    receives magic|version|profile|epochSalt|iv|ciphertext; needs {@link #encryptedSize(int)} bytes
+     * @return number of bytes written to the output
+     * @throws CryptoException if encryption fails
+     */
+    public static int encrypt(SecretKey key, ByteBuffer plainText, ByteBuffer output) throws CryptoException {
+        validateInput(key);
+        return encrypt(key, plainText, output, KeyEpochRegistry.getInstance().getCurrentEpochSalt(key), Argon2Profile.defaultProfile());
+    }
+
+    /**
+     * Encrypts the remaining bytes of a buffer into a binary envelope under an explicit key epoch and cost profile.
+     *
+     * @param key       the master secret key
+     * @param plainText the plain bytes, consumed from position to limit
+     * @param output    receives the envelope starting at its position
+     * @param epochSalt the Argon2 salt identifying the key epoch
+     * @param profile   the Argon2 cost parameters for the epoch key
+     * @return number of bytes written to the output
+     * @throws CryptoException if encryption fails or the output is too small
+     * @throws IllegalArgumentException if the epoch salt is not {@code SALT_SIZE} bytes long
+     */
+    public static int encrypt(SecretKey key, ByteBuffer plainText, ByteBuffer output, byte[] epochSalt, Argon2Profile profile)
+            throws CryptoException {
+        validateInput(key);
+        InputValidator.validateInput(plainText, "Plain text");
+        InputValidator.validateInput(output, "Output buffer");
+        validateEpochSalt(epochSalt);
+        InputValidator.validateInput(profile, "Argon2 profile");
+
+        try (EpochKeyScope epochKeys = new EpochKeyScope(key)) {
+            long started = metrics.start();
+            int plainTextLength = plainText.remaining();
+            int written = encryptEnvelope(epochKeys, plainText, output, epochSalt, profile);
+            metrics.record(CryptoMetrics.Operation.ENCRYPT, started, plainTextLength);
+            return written;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "encrypt", "Failed to encrypt data");
+            throw new CryptoException("Encryption failed", error);
+        }
+    }
+
+    /**
+     * Returns the size of the binary envelope produced for a plain text of the given length with the default salt size.
+     *
+     * @param plainTextLength number of plain bytes
+     * @return envelope size in bytes
+     */
+    public static int encryptedSize(int plainTextLength) {
+        return EpochEnvelope.size(SALT_SIZE, plainTextLength);
+    }
+
+    private static int encryptEnvelope(EpochKeyScope epochKeys, ByteBuffer plainText, ByteBuffer output, byte[] epochSalt,
+                                       Argon2Profile profile) throws Exception {
+        int required = EpochEnvelope.size(epochSalt.length, plainText.remaining());
+        if (output.remaining() < required) {
+            throw new IllegalArgumentException("Output buffer needs " + required + " bytes but has " + output.remaining());
+        }
+
+        int start = output.position();
+        byte[] header = EpochEnvelope.header(EpochEnvelope.PROFILE_VERSION, profile, epochSalt);
+        byte[] iv = generateIv();
+        output.put(header).put(iv);
+
+        Cipher cipher = initializeCipher(new GCMParameterSpec(GCM_TAG_BITS, iv), epochKeys.getEpochKey(epochSalt, profile),
+                Cipher.ENCRYPT_MODE);
+        cipher.updateAAD(header);
+        doFinal(cipher, plainText, output);
+        return output.position() - start;
+    }
+
     public static String decrypt(SecretKey key, String encryptedData) throws CryptoException {
+        byte[] decryptedBytes = decryptToBytes(key, encryptedData);
+        try {
+            return new String(decryptedBytes, StandardCharsets.UTF_8);
+        } finally {
+            Arrays.fill(decryptedBytes, (byte) 0);
+        }
+    }
+
+    /**
+     * Decrypts data into a raw UTF-8 byte array so callers can hold plaintext in buffers they are able to zeroize.
+     *
+     * @param key           the master secret key
+     * @param encryptedData Base64 encoded salt|iv|ciphertext
+     * @return decrypted bytes; the caller owns the array and should clear it after use
+     * @throws CryptoException if decryption fails
+     */
+    public static byte[] decryptToBytes(SecretKey key, String encryptedData) throws CryptoException {
         validateInput(key);
+        try (EpochKeyScope epochKeys = new EpochKeyScope(key)) {
+            return decryptToBytes(epochKeys, encryptedData);
+        }
+    }
+
+    /**
+     * Decrypts data with the epoch keys held by a scope, so values of one environment file share one derivation.
+     * Legacy values carry their own salt and are still derived one by one.
+     *
+     * @param epochKeys     the epoch keys of the calling batch
+     * @param encryptedData Base64 encoded ciphertext
+     * @return decrypted value
+     * @throws CryptoException if decryption fails
+     */
+    public static String decrypt(EpochKeyScope epochKeys, String encryptedData) throws CryptoException {
+        byte[] decryptedBytes = decryptToBytes(epochKeys, encryptedData);
+        try {
+            return new String(decryptedBytes, StandardCharsets.UTF_8);
+        } finally {
+            Arrays.fill(decryptedBytes, (byte) 0);
+        }
+    }
+
+    /**
+     * Decrypts data into a raw UTF-8 byte array with the epoch keys held by a scope.
+     *
+     * @param epochKeys     the epoch keys of the calling batch
+     * @param encryptedData Base64 encoded ciphertext
+     * @return decrypted bytes; the caller owns the array and should clear it after use
+     * @throws CryptoException if decryption fails
+     */
+    public static byte[] decryptToBytes(EpochKeyScope epochKeys, String encryptedData) throws CryptoException {
+        InputValidator.validateInput(epochKeys, "Epoch key scope");
         validateStringInput(encryptedData, "Encrypted Data");
 
-        SecretKeySpec derivedKey = null;
         try {
-            byte[] combined = Base64Utils.decodeToArray(encryptedData);
-            EncryptionComponents components = EncryptionComponents.extract(combined);
+            return decryptValue(epochKeys, encryptedData);
+        } catch (AEADBadTagException error) {
+            ErrorHandler.logError(error, "decrypt", "Tag mismatch: Incorrect key, IV, or ciphertext corruption.");
+            throw new CryptoException("Decryption failed: Tag mismatch. Ensure correct key and IV are used.", error);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "decrypt", "Failed to decrypt data");
+            throw new CryptoException("Decryption failed", error);
+        }
+    }
 
-            derivedKey = deriveKey(key, components.salt());
-            Cipher cipher = initializeCipher(components.iv(), derivedKey, Cipher.DECRYPT_MODE);
-            byte[] decryptedBytes = cipher.doFinal(components.cipherText());
+    /**
+     * Tries to decrypt data with the keys of a scope when the value may belong to another key, as during a resumed
+     * rotation. A tag mismatch is an expected outcome here and is not logged.
+     *
+     * @param epochKeys     the epoch keys to try
+     * @param encryptedData Base64 encoded ciphertext
+     * @return decrypted bytes owned by the caller, or empty when the value does not authenticate under these keys
+     * @throws CryptoException if the value cannot be parsed or decryption fails for another reason
+     */
+    static Optional<byte[]> tryDecryptToBytes(EpochKeyScope epochKeys, String encryptedData) throws CryptoException {
+        InputValidator.validateInput(epochKeys, "Epoch key scope");
+        validateStringInput(encryptedData, "Encrypted Data");
 
-            return new String(decryptedBytes, StandardCharsets.UTF_8);
+        try {
+            return Optional.of(decryptValue(epochKeys, encryptedData));
+        } catch (AEADBadTagException error) {
+            return Optional.empty();
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "decrypt", "Failed to decrypt data");
+            throw new CryptoException("Decryption failed", error);
+        }
+    }
+
+    private static byte[] decryptValue(EpochKeyScope epochKeys, String encryptedData) throws Exception {
+        long started = metrics.start();
+        ByteBuffer combined = ByteBuffer.wrap(Base64Utils.decodeToArray(encryptedData));
+        metrics.record(CryptoMetrics.Operation.BASE64_DECODE, started, encryptedData.length());
+        Optional<EpochEnvelope> versioned = EpochEnvelope.tryExtract(combined);
+        if (versioned.isPresent()) {
+            try {
+                byte[] plainBytes = new byte[plainTextSize(versioned.get().cipherText())];
+                decryptEpochEnvelope(epochKeys, versioned.get(), ByteBuffer.wrap(plainBytes));
+                metrics.record(CryptoMetrics.Operation.DECRYPT, started, plainBytes.length);
+                return plainBytes;
+            } catch (AEADBadTagException error) {
+                // A legacy random salt can start with the magic bytes by chance, so fall back before failing
+                logger.debug("Versioned envelope failed authentication, retrying as legacy layout");
+            }
+        }
+        EncryptionComponents components = EncryptionComponents.extract(combined);
+        byte[] plainBytes = new byte[plainTextSize(components.cipherText())];
+        decryptLegacy(epochKeys.getMasterKey(), components, ByteBuffer.wrap(plainBytes));
+        metrics.record(CryptoMetrics.Operation.DECRYPT, started, plainBytes.length);
+        return plainBytes;
+    }
+
+    /**
+     * Decrypts a binary envelope (versioned or legacy) held in a heap or direct buffer.
+     * The ciphertext is read in place; only the plain bytes are written to the output.
+     *
+     * @param key      the master secret key
+     * @param envelope the binary envelope, consumed from position to limit
+     * @param output   receives the plain bytes; needs {@link #decryptedSize(ByteBuffer)} bytes
+     * @return number of plain bytes written
+     * @throws CryptoException if decryption fails
+     */
+    public static int decrypt(SecretKey key, ByteBuffer envelope, ByteBuffer output) throws CryptoException {
+        validateInput(key);
+        InputValidator.validateInput(envelope, "Envelope");
+        InputValidator.validateInput(output, "Output buffer");
+
+        try (EpochKeyScope epochKeys = new EpochKeyScope(key)) {
+            long started = metrics.start();
+            int length = decryptEnvelope(epochKeys, envelope, output);
+            envelope.position(envelope.limit());
+            metrics.record(CryptoMetrics.Operation.DECRYPT, started, length);
+            return length;
         } catch (AEADBadTagException error) {
             ErrorHandler.logError(error, "decrypt", "Tag mismatch: Incorrect key, IV, or ciphertext corruption.");
             throw new CryptoException("Decryption failed: Tag mismatch. Ensure correct key and IV are used.", error);
         } catch (Exception error) {
             ErrorHandler.logError(error, "decrypt", "Failed to decrypt data");
             throw new CryptoException("Decryption failed", error);
+        }
+    }
+
+    /**
+     * Returns the output capacity needed to decrypt a binary envelope, without consuming the buffer.
+     * Sized for the legacy layout, which has the smallest overhead, so it also covers the legacy fallback.
+     *
+     * @param envelope the binary envelope from position to limit
+     * @return upper bound of the plain text size in bytes
+     */
+    public static int decryptedSize(ByteBuffer envelope) {
+        return Math.max(0, envelope.remaining() - SALT_SIZE - IV_SIZE - GCM_TAG_BYTES);
+    }
+
+    private static int plainTextSize(ByteBuffer cipherText) {
+        if (cipherText.remaining() < GCM_TAG_BYTES) {
+            throw new IllegalArgumentException("Ciphertext is shorter than the authentication tag.");
+        }
+        return cipherText.remaining() - GCM_TAG_BYTES;
+    }
+
+    /**
+     * Reads the key epoch salt from a versioned envelope without decrypting it.
+     *
+     * @param encryptedData Base64 encoded ciphertext
+     * @return the epoch salt, or empty when the value is not a versioned envelope
+     */
+    public static Optional<byte[]> readEpochSalt(String encryptedData) {
+        if (encryptedData == null || encryptedData.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            ByteBuffer combined = ByteBuffer.wrap(Base64.getDecoder().decode(encryptedData));
+            if (!EpochEnvelope.hasHeader(combined)) {
+                return Optional.empty();
+            }
+            return Optional.of(EpochEnvelope.extract(combined).epochSalt());
+        } catch (IllegalArgumentException | IllegalStateException error) {
+            return Optional.empty();
+        }
+    }
+
+    private static int decryptEnvelope(EpochKeyScope epochKeys, ByteBuffer envelope, ByteBuffer output) throws Exception {
+        Optional<EpochEnvelope> versioned = EpochEnvelope.tryExtract(envelope);
+        if (versioned.isPresent()) {
+            try {
+                return decryptEpochEnvelope(epochKeys, versioned.get(), output);
+            } catch (AEADBadTagException error) {
+                // A legacy random salt can start with the magic bytes by chance, so fall back before failing
+                logger.debug("Versioned envelope failed authentication, retrying as legacy layout");
+            }
+        }
+        return decryptLegacy(epochKeys.getMasterKey(), EncryptionComponents.extract(envelope), output);
+    }
+
+    private static int decryptEpochEnvelope(EpochKeyScope epochKeys, EpochEnvelope envelope, ByteBuffer output) throws Exception {
+        Cipher cipher = initializeCipher(gcmParameters(envelope.iv()),
+                epochKeys.getEpochKey(envelope.epochSalt(), envelope.profile()), Cipher.DECRYPT_MODE);
+        cipher.updateAAD(envelope.header().duplicate());
+        return doFinal(cipher, envelope.cipherText().duplicate(), output);
+    }
+
+    private static int decryptLegacy(SecretKey key, EncryptionComponents components, ByteBuffer output) throws Exception {
+        SecretKeySpec derivedKey = null;
+        try {
+            derivedKey = deriveKey(key, components.salt());
+            Cipher cipher = initializeCipher(gcmParameters(components.iv()), derivedKey, Cipher.DECRYPT_MODE);
+            return doFinal(cipher, components.cipherText().duplicate(), output);
         } finally {
             clearKeyIfNotNull(derivedKey);
         }
     }
 
+    /**
+     * Decrypts data asynchronously on the memory-bounded batch decryption executor.
+     *
+     * @param key           the master secret key
+     * @param encryptedData Base64 encoded ciphertext
+     * @return future completing with the decrypted value
+     */
     public static CompletableFuture<String> decryptAsync(SecretKey key, String encryptedData) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return decrypt(key, encryptedData);
-            } catch (CryptoException error) {
-                ErrorHandler.logError(error, "decryptAsync", "Failed to decrypt data");
-                throw new RuntimeException("Failed to decrypt data", error);
-            }
-        });
+        return BatchDecryptionEngine.getInstance().submit(key, encryptedData)
+                .exceptionally(error -> {
+                    ErrorHandler.logError(error, "decryptAsync", "Failed to decrypt data");
+                    throw new RuntimeException("Failed to decrypt data", error);
+                });
     }
 
     private static SecretKeySpec deriveKey(SecretKey key, byte[] salt) {
-        byte[] keyBytes = key.getEncoded();
-        try {
-            Argon2Parameters params = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
-                    .withSalt(salt)
-                    .withIterations(CryptoConfigConstants.CryptoArgon2Parameters.ITERATIONS.getParameterValue())
-                    .withMemoryAsKB(CryptoConfigConstants.CryptoArgon2Parameters.MEMORY.getParameterValue())
-                    .withParallelism(CryptoConfigConstants.CryptoArgon2Parameters.PARALLELISM.getParameterValue())
-                    .build();
+        long started = metrics.start();
+        SecretKeySpec derivedKey = DerivedKeyCache.getInstance().getOrDerive(key, salt,
+                () -> deriveStoredKeyBytes(key, salt, Argon2Profile.defaultProfile()));
+        metrics.record(CryptoMetrics.Operation.KEY_RESOLUTION, started);
+        return derivedKey;
+    }
 
-            Argon2BytesGenerator generator = new Argon2BytesGenerator();
-            generator.init(params);
+    static SecretKeySpec deriveEpochKey(SecretKey key, byte[] epochSalt, Argon2Profile profile) {
+        // Includes cache and key store hits; KEY_DERIVATION counts only the Argon2 runs behind them
+        long started = metrics.start();
+        SecretKeySpec derivedKey = KeyEpochRegistry.getInstance().getEpochKey(key, epochSalt, profile,
+                () -> deriveStoredKeyBytes(key, epochSalt, profile));
+        metrics.record(CryptoMetrics.Operation.KEY_RESOLUTION, started);
+        return derivedKey;
+    }
 
-            byte[] result = new byte[CryptoConfigConstants.CryptoKeyParameters.SECRET_KEY_SIZE.getKeySize()];
-            generator.generateBytes(keyBytes, result);
+    private static byte[] deriveStoredKeyBytes(SecretKey key, byte[] salt, Argon2Profile profile) {
+        return PersistentDerivedKeyStore.getInstance().getOrDerive(key, salt, profile, () -> deriveKeyBytes(key, salt, profile));
+    }
 
-            return new SecretKeySpec(result, CryptoConfigConstants.CryptoAlgorithmTypes.AES.getAlgorithmName());
+    static byte[] deriveKeyBytes(SecretKey key, byte[] salt, Argon2Profile profile) {
+        long started = metrics.start();
+        byte[] keyBytes = key.getEncoded();
+        try {
+            byte[] derived = Argon2DerivationPool.getInstance().derive(keyBytes, salt, profile,
+                    CryptoConfigConstants.CryptoKeyParameters.SECRET_KEY_SIZE.getKeySize());
+            metrics.record(CryptoMetrics.Operation.KEY_DERIVATION, started);
+            return derived;
         } catch (Exception error) {
             ErrorHandler.logError(error, "deriveKey", "Failed to derive key");
             throw new IllegalStateException("Failed to derive key", error);
@@ -117,10 +465,18 @@ public class CryptoOperations {
         }
     }
 
-    private static Cipher initializeCipher(byte[] iv, SecretKeySpec key, int mode) throws Exception {
+    static Cipher initializeCipher(GCMParameterSpec parameters, SecretKey key, int mode) throws Exception {
         try {
-            Cipher cipher = Cipher.getInstance(CryptoConfigConstants.CryptoAlgorithmTypes.AES_GCM_NO_PADDING.getAlgorithmName());
-            cipher.init(mode, key, new GCMParameterSpec(CryptoConfigConstants.CryptoKeyParameters.GCM_TAG_KEY_SIZE.getKeySize(), iv));
+            long started = metrics.start();
+            Provider provider = CipherProviderSelector.getInstance().getCipherProvider();
+            Cipher cipher = CIPHERS.get();
+            if (cipher == null || cipher.getProvider() != provider) {
+                // First use on this thread, or the provider was re-selected since
+                cipher = createCipher(provider);
+                CIPHERS.set(cipher);
+            }
+            cipher.init(mode, key, parameters);
+            metrics.record(CryptoMetrics.Operation.CIPHER_INIT, started);
             return cipher;
         } catch (Exception error) {
             ErrorHandler.logError(error, "initializeCipher", "Failed to initialize cipher");
@@ -128,13 +484,47 @@ public class CryptoOperations {
         }
     }
 
+    private static int doFinal(Cipher cipher, ByteBuffer input, ByteBuffer output) throws GeneralSecurityException {
+        long started = metrics.start();
+        int inputLength = input.remaining();
+        int written = cipher.doFinal(input, output);
+        metrics.record(CryptoMetrics.Operation.CIPHER_FINAL, started, inputLength);
+        return written;
+    }
+
+    private static Cipher createCipher(Provider provider) {
+        try {
+            return Cipher.getInstance(CryptoConfigConstants.CryptoAlgorithmTypes.AES_GCM_NO_PADDING.getAlgorithmName(), provider);
+        } catch (GeneralSecurityException error) {
+            ErrorHandler.logError(error, "createCipher", "Failed to create cipher");
+            throw new IllegalStateException("Failed to create cipher", error);
+        }
+    }
+
+    private static GCMParameterSpec gcmParameters(ByteBuffer iv) {
+        if (iv.hasArray()) {
+            return new GCMParameterSpec(GCM_TAG_BITS, iv.array(), iv.arrayOffset() + iv.position(), iv.remaining());
+        }
+        byte[] copy = new byte[iv.remaining()];
+        iv.duplicate().get(copy);
+        return new GCMParameterSpec(GCM_TAG_BITS, copy);
+    }
+
+    static void validateEpochSalt(byte[] epochSalt) {
+        InputValidator.validateInput(epochSalt, "Epoch salt");
+        // The envelope parser reads a fixed-size salt, so any other length would produce unreadable ciphertext
+        if (epochSalt.length != SALT_SIZE) {
+            throw new IllegalArgumentException("Epoch salt must be " + SALT_SIZE + " bytes but has " + epochSalt.length);
+        }
+    }
+
     private static void validateInput(Object input) {
         if (input == null) {
             throw new IllegalArgumentException("Secret Key" + " cannot be null");
         }
     }
 
-    private static void clearKeyIfNotNull(SecretKeySpec key) {
+    static void clearKeyIfNotNull(SecretKeySpec key) {
         if (key != null) {
             try {
                 byte[] encoded = key.getEncoded();
@@ -148,26 +538,27 @@ public class CryptoOperations {
         }
     }
 
-    private record EncryptionComponents(byte[] salt, byte[] iv, byte[] cipherText) {
+    /**
+     * Legacy layout: salt|iv|ciphertext, with a fresh Argon2 salt per value.
+     * The IV and ciphertext are views into the parsed buffer rather than copies.
+     */
+    record EncryptionComponents(byte[] salt, ByteBuffer iv, ByteBuffer cipherText) {
         public static EncryptionComponents extract(byte[] combined) {
-            try {
-                int saltSize = CryptoConfigConstants.CryptoKeyParameters.SALT_SIZE.getKeySize();
-                int ivSize = CryptoConfigConstants.CryptoKeyParameters.IV_SIZE.getKeySize();
-                int cipherTextSize = combined.length - saltSize - ivSize;
+            return extract(ByteBuffer.wrap(combined));
+        }
 
-                if (combined.length < saltSize + ivSize) {
+        public static EncryptionComponents extract(ByteBuffer combined) {
+            try {
+                if (combined.remaining() < SALT_SIZE + IV_SIZE) {
                     logger.error("Combined byte array is too short.");
                     throw new IllegalArgumentException("Combined byte array is too short.");
                 }
 
-                ByteBuffer buffer = ByteBuffer.wrap(combined);
-                byte[] salt = new byte[saltSize];
-                byte[] iv = new byte[ivSize];
-                byte[] cipherText = new byte[cipherTextSize];
-
-                buffer.get(salt);
-                buffer.get(iv);
-                buffer.get(cipherText);
+                int position = combined.position();
+                byte[] salt = new byte[SALT_SIZE];
+                combined.get(position, salt);
+                ByteBuffer iv = combined.slice(position + SALT_SIZE, IV_SIZE);
+                ByteBuffer cipherText = combined.slice(position + SALT_SIZE + IV_SIZE, combined.remaining() - SALT_SIZE - IV_SIZE);
 
                 return new EncryptionComponents(salt, iv, cipherText);
             } catch (Exception error) {
@@ -178,10 +569,10 @@ public class CryptoOperations {
 
         public byte[] combine() {
             try {
-                return ByteBuffer.allocate(salt.length + iv.length + cipherText.length)
+                return ByteBuffer.allocate(salt.length + iv.remaining() + cipherText.remaining())
                         .put(salt)
-                        .put(iv)
-                        .put(cipherText)
+                        .put(iv.duplicate())
+                        .put(cipherText.duplicate())
                         .array();
             } catch (Exception error) {
                 ErrorHandler.logError(error, "combine", "Failed to combine components");
@@ -189,4 +580,108 @@ public class CryptoOperations {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Versioned envelope: magic|version|profile|epochSalt|iv|ciphertext.
+     * Version 2 carries no profile and implies the default Argon2 parameters; version 3 records iterations, memory
+     * and parallelism. Everything before the IV is authenticated as additional data. When parsed, the header, IV and
+     * ciphertext are views into the source buffer; only the small epoch salt is copied because it keys the caches.
+     */
+    private record EpochEnvelope(Argon2Profile profile, byte[] epochSalt, ByteBuffer header, ByteBuffer iv,
+                                 ByteBuffer cipherText) {
+        private static final byte[] MAGIC = {'O', 'H', 'E'};
+        private static final byte DEFAULT_PROFILE_VERSION = 2;
+        private static final byte PROFILE_VERSION = 3;
+        private static final int PREFIX_SIZE = MAGIC.length + 1;
+        private static final int PROFILE_SIZE = Byte.BYTES + Integer.BYTES + Byte.BYTES;
+
+        public static boolean hasHeader(ByteBuffer combined) {
+            int position = combined.position();
+            if (combined.remaining() <= PREFIX_SIZE) {
+                return false;
+            }
+            byte version = combined.get(position + MAGIC.length);
+            if (combined.get(position) != MAGIC[0]
+                    || combined.get(position + 1) != MAGIC[1]
+                    || combined.get(position + 2) != MAGIC[2]) {
+                return false;
+            }
+            if (version == DEFAULT_PROFILE_VERSION) {
+                return true;
+            }
+            // A legacy salt may begin with the magic by chance; reject profile bytes that could never have been written
+            int profileOffset = position + PREFIX_SIZE;
+            return version == PROFILE_VERSION
+                    && combined.remaining() >= PREFIX_SIZE + PROFILE_SIZE
+                    && Argon2Profile.isValid(Byte.toUnsignedInt(combined.get(profileOffset)),
+                            combined.getInt(profileOffset + Byte.BYTES),
+                            Byte.toUnsignedInt(combined.get(profileOffset + Byte.BYTES + Integer.BYTES)));
+        }
+
+        /**
+         * Parses a versioned envelope, or returns empty when the bytes cannot be one: no magic, an impossible
+         * profile, or too short for the header, IV and tag. Such input is then tried as the legacy layout, whose
+         * random salt may begin with the magic by chance.
+         */
+        public static Optional<EpochEnvelope> tryExtract(ByteBuffer combined) {
+            if (!hasHeader(combined)) {
+                return Optional.empty();
+            }
+            byte version = combined.get(combined.position() + MAGIC.length);
+            int profileSize = version == PROFILE_VERSION ? PROFILE_SIZE : 0;
+            if (combined.remaining() < PREFIX_SIZE + profileSize + SALT_SIZE + IV_SIZE + GCM_TAG_BYTES) {
+                logger.debug("Magic bytes found but too short for a versioned envelope, trying legacy layout");
+                return Optional.empty();
+            }
+            return Optional.of(extract(combined));
+        }
+
+        public static int size(int epochSaltLength, int plainTextLength) {
+            return PREFIX_SIZE + PROFILE_SIZE + epochSaltLength + IV_SIZE + plainTextLength + GCM_TAG_BYTES;
+        }
+
+        public static byte[] header(byte version, Argon2Profile profile, byte[] epochSalt) {
+            int profileSize = version == PROFILE_VERSION ? PROFILE_SIZE : 0;
+            ByteBuffer buffer = ByteBuffer.allocate(PREFIX_SIZE + profileSize + epochSalt.length)
+                    .put(MAGIC)
+                    .put(version);
+            if (version == PROFILE_VERSION) {
+                buffer.put((byte) profile.iterations())
+                        .putInt(profile.memoryKB())
+                        .put((byte) profile.parallelism());
+            }
+            return buffer.put(epochSalt).array();
+        }
+
+        public static EpochEnvelope extract(ByteBuffer combined) {
+            try {
+                int position = combined.position();
+                byte version = combined.get(position + MAGIC.length);
+                int profileSize = version == PROFILE_VERSION ? PROFILE_SIZE : 0;
+                int headerSize = PREFIX_SIZE + profileSize + SALT_SIZE;
+
+                if (combined.remaining() < headerSize + IV_SIZE) {
+                    logger.error("Versioned envelope is too short.");
+                    throw new IllegalArgumentException("Versioned envelope is too short.");
+                }
+
+                int profileOffset = position + PREFIX_SIZE;
+                Argon2Profile profile = version == PROFILE_VERSION
+                        ? new Argon2Profile(Byte.toUnsignedInt(combined.get(profileOffset)),
+                                combined.getInt(profileOffset + Byte.BYTES),
+                                Byte.toUnsignedInt(combined.get(profileOffset + Byte.BYTES + Integer.BYTES)))
+                        : Argon2Profile.defaultProfile();
+                byte[] epochSalt = new byte[SALT_SIZE];
+                combined.get(profileOffset + profileSize, epochSalt);
+
+                return new EpochEnvelope(profile, epochSalt,
+                        combined.slice(position, headerSize),
+                        combined.slice(position + headerSize, IV_SIZE),
+                        combined.slice(position + headerSize + IV_SIZE, combined.remaining() - headerSize - IV_SIZE));
+            } catch (Exception error) {
+                ErrorHandler.logError(error, "extract", "Failed to extract envelope");
+                throw new IllegalStateException("Failed to extract envelope", error);
+            }
+        }
+    }
+}
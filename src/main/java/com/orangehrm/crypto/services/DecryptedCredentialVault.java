@@ -0,0 +1,224 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.environments.EnvironmentFileConfigManager;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.orangehrm.utils.ErrorHandler.validateParameters;
+
+/**
+ * Run-scoped store of decrypted credentials shared by all scenario threads in the JVM.
+ * Each (environment, file, secret key, variable) entry is decrypted once; concurrent first requests for the same
+ * entry wait for the single decryption in progress, which runs outside the map so other entries are not blocked.
+ * Entries are dropped when their environment file is reloaded or evicted from the configuration cache, and all of
+ * them when the base file holding the secret keys changes. Plaintext is held in char arrays that are zeroized when
+ * dropped and at JVM shutdown; callers only ever receive copies.
+ */
+public final class DecryptedCredentialVault {
+
+    private static final Logger logger = LoggerUtils.getLogger(DecryptedCredentialVault.class);
+    private static final String KEY_SEPARATOR = ":";
+    private static final DecryptedCredentialVault instance = new DecryptedCredentialVault();
+
+    private final Map<String, CompletableFuture<char[]>> entries = new ConcurrentHashMap<>();
+    private final LongAdder decryptions = new LongAdder();
+    private final LongAdder avoidedDecryptions = new LongAdder();
+
+    /**
+     * Supplies the decrypted bytes of a credential. The vault clears the returned array once it has been copied.
+     */
+    @FunctionalInterface
+    public interface CredentialDecryption {
+        byte[] decrypt() throws Exception;
+    }
+
+    private DecryptedCredentialVault() {
+        EnvironmentFileConfigManager.addInvalidationListener(this::invalidate);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::clear, "credential-vault-cleanup"));
+    }
+
+    public static DecryptedCredentialVault getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns a copy of the decrypted credential, decrypting it only the first time it is requested in this JVM.
+     *
+     * @param configurationDisplayName Display name of the configuration
+     * @param envName Environment file name
+     * @param secretKeyName Name of the secret key the value is encrypted with
+     * @param key Environment variable holding the encrypted value
+     * @param decryption Decryption to run when the credential is not yet in the vault
+     * @return a copy of the plaintext characters that the caller should clear after use
+     * @throws IllegalArgumentException If any parameter is invalid
+     * @throws IllegalStateException If the credential cannot be decrypted
+     */
+    public char[] getCharacters(
+            String configurationDisplayName,
+            String envName,
+            String secretKeyName,
+            String key,
+            CredentialDecryption decryption
+    ) {
+        validateParameters(configurationDisplayName, envName, secretKeyName, key);
+        if (decryption == null) {
+            throw new IllegalArgumentException("Credential decryption cannot be null");
+        }
+
+        String vaultKey = generateVaultKey(configurationDisplayName, envName, secretKeyName, key);
+        while (true) {
+            CompletableFuture<char[]> current = entries.get(vaultKey);
+            if (current == null) {
+                CompletableFuture<char[]> pending = new CompletableFuture<>();
+                if (entries.putIfAbsent(vaultKey, pending) == null) {
+                    return decryptInto(vaultKey, key, decryption, pending);
+                }
+                continue;
+            }
+
+            char[] cached = await(key, current);
+            synchronized (cached) {
+                // Only copy while the entry is still current; an invalidated one may already be zeroized
+                if (entries.get(vaultKey) == current) {
+                    avoidedDecryptions.increment();
+                    return Arrays.copyOf(cached, cached.length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the credentials decrypted from one configuration, or all of them when no configuration is given or the
+     * base environment file holding the secret keys changed.
+     *
+     * @param configurationDisplayName Display name of the invalidated configuration, or null for all
+     * @param envName Environment file of the invalidated configuration, or null for all
+     */
+    public void invalidate(String configurationDisplayName, String envName) {
+        if (configurationDisplayName == null || envName == null
+                || EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFilename().equals(envName)) {
+            clear();
+            return;
+        }
+
+        String prefix = configurationDisplayName + KEY_SEPARATOR + envName + KEY_SEPARATOR;
+        int[] removed = {0};
+        entries.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) {
+                return false;
+            }
+            destroy(entry.getValue());
+            removed[0]++;
+            return true;
+        });
+        if (removed[0] > 0) {
+            logger.info("Credential vault dropped {} entries for configuration '{}' ({})", removed[0],
+                    configurationDisplayName, envName);
+        }
+    }
+
+    /**
+     * Zeroizes and removes every credential held by the vault.
+     */
+    public void clear() {
+        int cleared = entries.size();
+        entries.values().removeIf(future -> {
+            destroy(future);
+            return true;
+        });
+        logger.info("Credential vault cleared {} entries after {} decryptions, {} decryptions avoided",
+                cleared, getDecryptionCount(), getAvoidedDecryptionCount());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getDecryptionCount() {
+        return decryptions.sum();
+    }
+
+    public long getAvoidedDecryptionCount() {
+        return avoidedDecryptions.sum();
+    }
+
+    private char[] decryptInto(String vaultKey, String key, CredentialDecryption decryption,
+                               CompletableFuture<char[]> pending) {
+        try {
+            char[] value = decryptToCharacters(key, decryption);
+            char[] copy = Arrays.copyOf(value, value.length);
+            // If the entry was invalidated while decrypting, completing runs the pending zeroization
+            pending.complete(value);
+            return copy;
+        } catch (Throwable error) {
+            // Fail the callers already waiting, even on an Error, but drop the future so the next request retries
+            entries.remove(vaultKey, pending);
+            pending.completeExceptionally(error);
+            throw error;
+        }
+    }
+
+    private static char[] await(String key, CompletableFuture<char[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException error) {
+            if (error.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (error.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to decrypt credential: " + key, error.getCause());
+        }
+    }
+
+    private static void destroy(CompletableFuture<char[]> future) {
+        // A decryption still in progress is zeroized as soon as it completes
+        future.thenAccept(value -> {
+            synchronized (value) {
+                Arrays.fill(value, '\0');
+            }
+        });
+    }
+
+    private char[] decryptToCharacters(String key, CredentialDecryption decryption) {
+        byte[] plainBytes = null;
+        CharBuffer charBuffer = null;
+        try {
+            plainBytes = decryption.decrypt();
+            decryptions.increment();
+
+            charBuffer = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(plainBytes));
+            return Arrays.copyOfRange(charBuffer.array(), charBuffer.position(), charBuffer.limit());
+        } catch (IllegalArgumentException error) {
+            // Missing or invalid variable, not a decryption failure
+            throw error;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "decryptToCharacters", "Failed to decrypt credential: " + key);
+            throw new IllegalStateException("Failed to decrypt credential: " + key, error);
+        } finally {
+            if (plainBytes != null) {
+                Arrays.fill(plainBytes, (byte) 0);
+            }
+            if (charBuffer != null && charBuffer.hasArray()) {
+                Arrays.fill(charBuffer.array(), '\0');
+            }
+        }
+    }
+
+    private static String generateVaultKey(String configurationDisplayName, String envName, String secretKeyName, String key) {
+        return configurationDisplayName + KEY_SEPARATOR + envName + KEY_SEPARATOR + secretKeyName + KEY_SEPARATOR + key;
+    }
+}
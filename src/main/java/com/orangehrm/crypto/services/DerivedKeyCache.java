@@ -0,0 +1,213 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.crypto.utils.CryptoConfigConstants;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of Argon2-derived AES keys.
+ * Entries are keyed by a SHA-256 fingerprint of the master key plus the salt and KDF parameters, so the master key
+ * itself is never retained. Derived key bytes are zeroized when they are evicted or when the cache is cleared.
+ * The shared instance is opt-in and controlled by DERIVED_KEY_CACHE_ENABLED and DERIVED_KEY_CACHE_MAX_ENTRIES.
+ */
+public final class DerivedKeyCache {
+
+    private static final Logger logger = LoggerUtils.getLogger(DerivedKeyCache.class);
+    private static final String CACHE_ENABLED_KEY = "DERIVED_KEY_CACHE_ENABLED";
+    private static final String CACHE_MAX_ENTRIES_KEY = "DERIVED_KEY_CACHE_MAX_ENTRIES";
+    private static final int DEFAULT_MAX_ENTRIES = 32;
+    private static final DerivedKeyCache instance = createFromConfiguration();
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Map<String, byte[]> entries;
+    private final Map<String, CompletableFuture<Void>> derivationsInFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache holding at most the given number of derived keys.
+     *
+     * @param enabled    whether lookups are served from the cache
+     * @param maxEntries maximum number of derived keys to retain
+     * @throws IllegalArgumentException if maxEntries is not positive
+     */
+    public DerivedKeyCache(boolean enabled, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Derived key cache size must be positive");
+        }
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public static DerivedKeyCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the derived key for the given master key and salt, running the derivation only on a cache miss.
+     *
+     * @param masterKey  the master key the derivation is based on
+     * @param salt       the salt used for the derivation
+     * @param derivation supplier producing the raw derived key bytes
+     * @return a fresh SecretKeySpec holding a copy of the derived key
+     */
+    public SecretKeySpec getOrDerive(SecretKey masterKey, byte[] salt, Supplier<byte[]> derivation) {
+        return getOrDerive(masterKey, salt, "", derivation);
+    }
+
+    /**
+     * Returns the derived key for the given master key, salt and derivation parameters.
+     *
+     * @param masterKey  the master key the derivation is based on
+     * @param salt       the salt used for the derivation
+     * @param parameters identifies the KDF cost parameters, so the same salt under another cost is a separate entry
+     * @param derivation supplier producing the raw derived key bytes
+     * @return a fresh SecretKeySpec holding a copy of the derived key
+     */
+    public SecretKeySpec getOrDerive(SecretKey masterKey, byte[] salt, String parameters, Supplier<byte[]> derivation) {
+        if (!enabled) {
+            return toKeySpec(derivation.get(), true);
+        }
+
+        String cacheKey = generateCacheKey(masterKey, salt, parameters);
+        synchronized (entries) {
+            byte[] cached = entries.get(cacheKey);
+            if (cached != null) {
+                hits.increment();
+                return toKeySpec(cached, false);
+            }
+        }
+
+        // Derive outside the lock so a slow KDF does not block lookups for other keys, but let concurrent
+        // misses on the same key wait for the derivation already in flight instead of running their own
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        CompletableFuture<Void> inFlight = derivationsInFlight.putIfAbsent(cacheKey, pending);
+        if (inFlight != null) {
+            inFlight.join();
+            return getOrDerive(masterKey, salt, parameters, derivation);
+        }
+
+        misses.increment();
+        try {
+            byte[] derived = derivation.get();
+            synchronized (entries) {
+                entries.put(cacheKey, derived);
+                evictEldestEntries();
+                return toKeySpec(derived, false);
+            }
+        } finally {
+            derivationsInFlight.remove(cacheKey);
+            pending.complete(null);
+        }
+    }
+
+    /**
+     * Removes all cached keys, zeroizing their key material.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.values().forEach(value -> Arrays.fill(value, (byte) 0));
+            entries.clear();
+        }
+        logger.info("Derived key cache cleared");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Computes a SHA-256 fingerprint of a key so it can be used as a lookup identity without retaining the key.
+     *
+     * @param key the key to fingerprint
+     * @return hex encoded fingerprint
+     */
+    public static String fingerprint(SecretKey key) {
+        byte[] keyBytes = key.getEncoded();
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(keyBytes));
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "fingerprint", "Failed to fingerprint key");
+            throw new IllegalStateException("Failed to fingerprint key", error);
+        } finally {
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
+    private void evictEldestEntries() {
+        Iterator<Map.Entry<String, byte[]>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            Arrays.fill(iterator.next().getValue(), (byte) 0);
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String generateCacheKey(SecretKey masterKey, byte[] salt, String parameters) {
+        return fingerprint(masterKey) + ":" + parameters + ":" + Base64.getEncoder().encodeToString(salt);
+    }
+
+    private static SecretKeySpec toKeySpec(byte[] keyBytes, boolean clearSource) {
+        try {
+            // SecretKeySpec copies the bytes, so the cached array stays private to the cache
+            return new SecretKeySpec(keyBytes, CryptoConfigConstants.CryptoAlgorithmTypes.AES.getAlgorithmName());
+        } finally {
+            if (clearSource) {
+                Arrays.fill(keyBytes, (byte) 0);
+            }
+        }
+    }
+
+    private static DerivedKeyCache createFromConfiguration() {
+        try {
+            PropertyFileConfigManager configuration = PropertyFileConfigManager.getConfiguration(
+                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+            boolean enabled = configuration.getProperty(CACHE_ENABLED_KEY, Boolean.class).orElse(false);
+            int maxEntries = configuration.getProperty(CACHE_MAX_ENTRIES_KEY, Integer.class).orElse(DEFAULT_MAX_ENTRIES);
+            logger.info("Derived key cache {} with capacity {}", enabled ? "enabled" : "disabled", maxEntries);
+            return new DerivedKeyCache(enabled, maxEntries);
+        } catch (Exception error) {
+            logger.error("Failed to read derived key cache settings, cache disabled", error);
+            return new DerivedKeyCache(false, DEFAULT_MAX_ENTRIES);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.orangehrm.crypto.services;
 
 import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.environments.EnvironmentFileDocument;
 import com.orangehrm.configuration.properties.PropertyConfigConstants;
 import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.crypto.utils.DestroyableSecretKey;
 import com.orangehrm.utils.ErrorHandler;
 import com.orangehrm.utils.FileDirectoryManager;
 import com.orangehrm.utils.LoggerUtils;
@@ -14,10 +17,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.orangehrm.configuration.environments.EnvironmentFileConfigManager.clearConfigCache;
@@ -31,7 +37,9 @@ public class EnvironmentCryptoManager {
     private static final int ENCRYPTION_LENGTH_THRESHOLD = getEncryptedLengthThreshold();
 
     /**
-     * Encrypt multiple environment variables at once
+     * Encrypt multiple environment variables at once.
+     * The environment file is parsed once, all plain-text values are encrypted in parallel under one key epoch, and
+     * the file is rewritten a single time through an atomic move. Comments and variable order are preserved.
      *
      * @param configurationDisplayName Display name of the configuration
      * @param envName Environment name
@@ -52,13 +60,51 @@ public class EnvironmentCryptoManager {
         }
 
         try {
-            for (String envVariable : envVariables) {
-                if (envVariable == null || envVariable.trim().isEmpty()) {
-                    logger.warn("Skipping null or empty environment variable name");
+            Path resolvedPath = resolveEnvironmentFilePath(envName);
+            EnvironmentFileDocument document = EnvironmentFileDocument.load(resolvedPath);
+
+            List<String> pendingVariables = new ArrayList<>();
+            List<String> pendingValues = new ArrayList<>();
+            for (String envVariable : uniqueVariableNames(envVariables)) {
+                String currentValue = document.getValue(envVariable)
+                        .filter(value -> !value.isEmpty())
+                        .orElseThrow(() -> new IllegalArgumentException("Environment variable '" + envVariable + "' has null value"));
+
+                if (isAlreadyEncrypted(currentValue)) {
+                    logger.info("Skipping encryption: Environment variable '{}' is already encrypted. Provide a plain-text value if re-encryption is required.", envVariable);
                     continue;
                 }
-                encryptEnvironmentVariables(configurationDisplayName, envName, environmentSecretKeyType, envVariable);
+                pendingVariables.add(envVariable);
+                pendingValues.add(currentValue);
             }
+
+            if (pendingVariables.isEmpty()) {
+                logger.info("No plain-text variables to encrypt in {}", resolvedPath);
+                return;
+            }
+
+            SecretKey secretKey = getSecretKey(
+                    EnvironmentConfigConstants.Environment.BASE.getDisplayName(),
+                    EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFilename(),
+                    environmentSecretKeyType);
+            List<String> encryptedValues;
+            try {
+                encryptedValues = BatchDecryptionEngine.getInstance().encryptAll(
+                        secretKey,
+                        pendingValues,
+                        resolveFileEpochSalt(document, secretKey),
+                        resolveArgon2Profile(environmentSecretKeyType));
+            } finally {
+                DestroyableSecretKey.destroyIfSupported(secretKey);
+            }
+
+            for (int index = 0; index < pendingVariables.size(); index++) {
+                document.setValue(pendingVariables.get(index), encryptedValues.get(index));
+            }
+            document.writeAtomically(resolvedPath);
+            // Only this file changed; a global clear would also drop every cached key and decrypted credential
+            clearConfigCache(envName);
+            logger.info("Encrypted {} variable(s) {} in a single write to {}", pendingVariables.size(), pendingVariables, resolvedPath);
         } catch (CryptoException error) {
             logger.error("Failed to encrypt multiple variables", error);
             throw error;
@@ -102,7 +148,7 @@ public class EnvironmentCryptoManager {
                 return;
             }
 
-            String encryptedValue = encryptValue(environmentSecretKeyType, currentValue);
+            String encryptedValue = encryptValue(envName, environmentSecretKeyType, currentValue);
             updateEnvironmentVariable(envName, envVariable, encryptedValue);
             logger.info("Variable '{}' encrypted successfully.", envVariable);
 
@@ -116,7 +162,25 @@ public class EnvironmentCryptoManager {
         }
     }
 
-    private static boolean isAlreadyEncrypted(String value) {
+    private static Set<String> uniqueVariableNames(String... envVariables) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String envVariable : envVariables) {
+            if (envVariable == null || envVariable.trim().isEmpty()) {
+                logger.warn("Skipping null or empty environment variable name");
+                continue;
+            }
+            names.add(envVariable);
+        }
+        return names;
+    }
+
+    /**
+     * Checks whether a value is long enough to be ciphertext rather than a plain-text secret.
+     *
+     * @param value Value read from an environment file
+     * @return true if the value is treated as already encrypted
+     */
+    public static boolean isAlreadyEncrypted(String value) {
         return value != null && value.length() > ENCRYPTION_LENGTH_THRESHOLD;
     }
 
@@ -135,7 +199,7 @@ public class EnvironmentCryptoManager {
         }
     }
 
-    private static String encryptValue(String environmentSecretKeyType, String envValue) throws CryptoException {
+    private static String encryptValue(String envName, String environmentSecretKeyType, String envValue) throws CryptoException {
         if (environmentSecretKeyType == null || environmentSecretKeyType.trim().isEmpty()) {
             throw new IllegalArgumentException("Environment secret key type cannot be null or empty");
         }
@@ -143,13 +207,18 @@ public class EnvironmentCryptoManager {
             throw new IllegalArgumentException("Value to encrypt cannot be null");
         }
 
+        SecretKey secretKey = null;
         try {
-            SecretKey secretKey = getSecretKey(
+            secretKey = getSecretKey(
                     EnvironmentConfigConstants.Environment.BASE.getDisplayName(),
                     EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFilename(),
                     environmentSecretKeyType);
 
-            String encryptedValue = CryptoOperations.encrypt(secretKey, envValue);
+            String encryptedValue = CryptoOperations.encrypt(
+                    secretKey,
+                    envValue,
+                    resolveFileEpochSalt(envName, secretKey),
+                    resolveArgon2Profile(environmentSecretKeyType));
             if (encryptedValue == null) {
                 throw new IllegalArgumentException("Failed to encrypt value");
             }
@@ -160,9 +229,60 @@ public class EnvironmentCryptoManager {
         } catch (Exception error) {
             logger.error("Failed to encrypt value", error);
             throw new CryptoException("Encryption failed due to unexpected error", error);
+        } finally {
+            DestroyableSecretKey.destroyIfSupported(secretKey);
+        }
+    }
+
+    /**
+     * Resolves the Argon2 cost profile configured for the environment owning the secret key.
+     * Falls back to the default profile when none has been calibrated.
+     */
+    static Argon2Profile resolveArgon2Profile(String environmentSecretKeyType) {
+        Optional<EnvironmentConfigConstants.EnvironmentArgon2Profile> profileKey =
+                EnvironmentConfigConstants.EnvironmentArgon2Profile.forSecretKey(environmentSecretKeyType);
+        if (profileKey.isEmpty()) {
+            return Argon2Profile.defaultProfile();
+        }
+
+        try {
+            return getConfiguration(
+                    EnvironmentConfigConstants.Environment.BASE.getDisplayName(),
+                    EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFilename())
+                    .getProperty(profileKey.get().getKeyName(), String.class)
+                    .map(Argon2Profile::parse)
+                    .orElseGet(Argon2Profile::defaultProfile);
+        } catch (Exception error) {
+            logger.warn("Failed to resolve Argon2 profile '{}', using default", profileKey.get().getKeyName(), error);
+            return Argon2Profile.defaultProfile();
         }
     }
 
+    /**
+     * Resolves the key epoch for an environment file so that every value in the file shares one key derivation.
+     * Reuses the epoch of the first versioned value already in the file, otherwise starts from the current epoch.
+     */
+    private static byte[] resolveFileEpochSalt(String envName, SecretKey secretKey) {
+        try {
+            return resolveFileEpochSalt(EnvironmentFileDocument.load(resolveEnvironmentFilePath(envName)), secretKey);
+        } catch (IOException error) {
+            logger.warn("Failed to read key epoch from '{}', starting a new epoch", envName, error);
+            return KeyEpochRegistry.getInstance().getCurrentEpochSalt(secretKey);
+        }
+    }
+
+    private static byte[] resolveFileEpochSalt(EnvironmentFileDocument document, SecretKey secretKey) {
+        for (String variableName : document.getVariableNames()) {
+            Optional<byte[]> epochSalt = document.getValue(variableName)
+                    .filter(EnvironmentCryptoManager::isAlreadyEncrypted)
+                    .flatMap(CryptoOperations::readEpochSalt);
+            if (epochSalt.isPresent()) {
+                return epochSalt.get();
+            }
+        }
+        return KeyEpochRegistry.getInstance().getCurrentEpochSalt(secretKey);
+    }
+
     /**
      * Save secret key in base environment file
      *
@@ -209,6 +329,34 @@ public class EnvironmentCryptoManager {
         }
     }
 
+    /**
+     * Save a calibrated Argon2 profile in the base environment file, replacing any previous profile.
+     * Existing secrets keep decrypting because each ciphertext records the profile it was encrypted with.
+     *
+     * @param profileVariable Variable name to store the profile
+     * @param profile Profile to store
+     * @throws IOException If file operations fail
+     * @throws IllegalArgumentException If any parameter is null or empty
+     */
+    public static void saveArgon2ProfileInBaseEnvironment(String profileVariable, Argon2Profile profile) throws IOException {
+        if (profileVariable == null || profileVariable.trim().isEmpty()) {
+            throw new IllegalArgumentException("Profile variable name cannot be null or empty");
+        }
+        if (profile == null) {
+            throw new IllegalArgumentException("Argon2 profile cannot be null");
+        }
+
+        try {
+            ensureBaseEnvironmentFileExists();
+            updateEnvironmentVariable(
+                    EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFullPath(), profileVariable, profile.format());
+            logger.info("Argon2 profile '{}' saved for variable '{}'", profile.format(), profileVariable);
+        } catch (IOException error) {
+            logger.error("Failed to save Argon2 profile in base environment", error);
+            throw error;
+        }
+    }
+
     private static void ensureBaseEnvironmentFileExists() throws IOException {
         try {
             FileDirectoryManager.createDirIfNotExists(EnvironmentConfigConstants.getEnvironmentDirectoryPath());
@@ -262,11 +410,12 @@ public class EnvironmentCryptoManager {
         try {
             Path resolvedPath = resolveEnvironmentFilePath(filePath);
 
-            List<String> updatedLines = updateEnvironmentLines(Files.readAllLines(resolvedPath), envVariable, value);
-            Files.write(resolvedPath, updatedLines);
+            EnvironmentFileDocument document = EnvironmentFileDocument.load(resolvedPath);
+            document.setValue(envVariable, value);
+            document.writeAtomically(resolvedPath);
 
-            // Invalidate cache if this path could affect configurations
-            clearConfigCache();
+            // Only configurations loaded from this file are stale
+            clearConfigCache(resolvedPath.getFileName().toString());
 
             logger.info("Environment variable '{}' updated in {}", envVariable, resolvedPath);
         } catch (IOException error) {
@@ -278,7 +427,7 @@ public class EnvironmentCryptoManager {
     /**
      * Resolves an environment file path, handling relative paths appropriately
      */
-    private static Path resolveEnvironmentFilePath(String filePath) {
+    static Path resolveEnvironmentFilePath(String filePath) {
         Path path = Paths.get(filePath);
 
         // Resolve against environment directory only if the path is relative and has no parent
@@ -290,35 +439,6 @@ public class EnvironmentCryptoManager {
         return path;
     }
 
-    private static List<String> updateEnvironmentLines(
-            List<String> existingLines,
-            String envVariable,
-            String value
-    ) {
-        try {
-            boolean[] isUpdated = {false};
-
-            List<String> updatedLines = existingLines.stream()
-                    .map(line -> {
-                        if (line.startsWith(envVariable + "=")) {
-                            isUpdated[0] = true;
-                            return envVariable + "=" + value;
-                        }
-                        return line;
-                    })
-                    .collect(Collectors.toList());
-
-            if (!isUpdated[0]) {
-                updatedLines.add(envVariable + "=" + value);
-            }
-
-            return updatedLines;
-        } catch (Exception error) {
-            logger.error("Failed to update environment lines", error);
-            throw new RuntimeException("Failed to update environment lines", error);
-        }
-    }
-
     /**
      * Decrypt multiple environment variables
      *
@@ -341,19 +461,24 @@ public class EnvironmentCryptoManager {
             return Collections.emptyList();
         }
 
+        SecretKey secretKey = null;
         try {
-            SecretKey secretKey = getSecretKey(
+            secretKey = getSecretKey(
                     EnvironmentConfigConstants.Environment.BASE.getDisplayName(),
                     EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFilename(),
                     environmentSecretKeyType);
 
-            return Arrays.stream(requiredKeys)
+            List<String> encryptedValues = Arrays.stream(requiredKeys)
                     .filter(key -> key != null && !key.trim().isEmpty())
-                    .map(key -> decryptSingleKey(configurationDisplayName, envName, secretKey, key))
+                    .map(key -> getEncryptedValue(configurationDisplayName, envName, key))
                     .collect(Collectors.toList());
+
+            return BatchDecryptionEngine.getInstance().decryptAll(secretKey, encryptedValues);
         } catch (Exception error) {
             ErrorHandler.logError(error, "decryptEnvironmentVariables", "Failed to decrypt environment variables");
             throw new RuntimeException("Failed to decrypt environment variables", error);
+        } finally {
+            DestroyableSecretKey.destroyIfSupported(secretKey);
         }
     }
 
@@ -378,8 +503,9 @@ public class EnvironmentCryptoManager {
             throw new IllegalArgumentException("Required key cannot be null or empty");
         }
 
+        SecretKey secretKey = null;
         try {
-            SecretKey secretKey = getSecretKey(
+            secretKey = getSecretKey(
                     EnvironmentConfigConstants.Environment.BASE.getDisplayName(),
                     EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFilename(),
                     environmentSecretKeyType);
@@ -387,15 +513,112 @@ public class EnvironmentCryptoManager {
         } catch (Exception error) {
             logger.error("Failed to decrypt key: {}", requiredKey, error);
             throw new RuntimeException("Failed to decrypt key: " + requiredKey, error);
+        } finally {
+            DestroyableSecretKey.destroyIfSupported(secretKey);
+        }
+    }
+
+    /**
+     * Decrypt multiple environment variables through the run-scoped credential vault.
+     * Each variable is decrypted at most once per JVM until its environment file changes; later calls, from any
+     * thread, are served from the vault. Variables decrypted by this call share one key derivation per epoch.
+     *
+     * @param configurationDisplayName Display name of the configuration
+     * @param envName Environment name
+     * @param environmentSecretKeyType Type of secret key to use
+     * @param requiredKeys Keys to decrypt
+     * @return Copies of the decrypted values, in the order requested, that the caller should clear after use
+     * @throws IllegalArgumentException If any parameter is invalid
+     */
+    public static List<char[]> getVaultedEnvironmentVariables(
+            String configurationDisplayName,
+            String envName,
+            String environmentSecretKeyType,
+            String... requiredKeys
+    ) {
+        validateParameters(configurationDisplayName, envName, environmentSecretKeyType);
+
+        if (requiredKeys == null || requiredKeys.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<char[]> values = new ArrayList<>(requiredKeys.length);
+        SecretKey secretKey = getSecretKey(
+                EnvironmentConfigConstants.Environment.BASE.getDisplayName(),
+                EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFilename(),
+                environmentSecretKeyType);
+        try (EpochKeyScope epochKeys = new EpochKeyScope(secretKey)) {
+            for (String key : requiredKeys) {
+                if (key != null && !key.trim().isEmpty()) {
+                    values.add(DecryptedCredentialVault.getInstance().getCharacters(configurationDisplayName, envName,
+                            environmentSecretKeyType, key,
+                            () -> CryptoOperations.decryptToBytes(epochKeys, getEncryptedValue(configurationDisplayName, envName, key))));
+                }
+            }
+            return values;
+        } catch (Exception error) {
+            values.forEach(value -> Arrays.fill(value, '\0'));
+            ErrorHandler.logError(error, "getVaultedEnvironmentVariables", "Failed to resolve vaulted environment variables");
+            throw error;
+        } finally {
+            DestroyableSecretKey.destroyIfSupported(secretKey);
         }
     }
 
+    /**
+     * Decrypt a single environment variable through the run-scoped credential vault.
+     *
+     * @param configurationDisplayName Display name of the configuration
+     * @param envName Environment name
+     * @param environmentSecretKeyType Type of secret key to use
+     * @param requiredKey Key to decrypt
+     * @return A copy of the decrypted value that the caller should clear after use
+     * @throws IllegalArgumentException If any parameter is invalid or the variable does not exist
+     * @throws IllegalStateException If the value cannot be decrypted
+     */
+    public static char[] getVaultedEnvironmentVariable(
+            String configurationDisplayName,
+            String envName,
+            String environmentSecretKeyType,
+            String requiredKey
+    ) {
+        validateParameters(configurationDisplayName, envName, environmentSecretKeyType);
+        if (requiredKey == null || requiredKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("Required key cannot be null or empty");
+        }
+        return DecryptedCredentialVault.getInstance().getCharacters(configurationDisplayName, envName,
+                environmentSecretKeyType, requiredKey,
+                () -> decryptSingleKeyToBytes(configurationDisplayName, envName, environmentSecretKeyType, requiredKey));
+    }
+
+    private static byte[] decryptSingleKeyToBytes(
+            String configurationDisplayName,
+            String envName,
+            String environmentSecretKeyType,
+            String key
+    ) throws CryptoException {
+        SecretKey secretKey = getSecretKey(
+                EnvironmentConfigConstants.Environment.BASE.getDisplayName(),
+                EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFilename(),
+                environmentSecretKeyType);
+        try {
+            return CryptoOperations.decryptToBytes(secretKey, getEncryptedValue(configurationDisplayName, envName, key));
+        } finally {
+            DestroyableSecretKey.destroyIfSupported(secretKey);
+        }
+    }
+
+    private static String getEncryptedValue(String configurationDisplayName, String envName, String key) {
+        String encryptedValue = getConfiguration(configurationDisplayName, envName).getProperty(key);
+        if (encryptedValue == null) {
+            throw new IllegalArgumentException("Environment variable '" + key + "' has null value");
+        }
+        return encryptedValue;
+    }
+
     private static String decryptSingleKey(String configurationDisplayName, String envName, SecretKey secretKey, String key) {
         try {
-            String encryptedValue = getConfiguration(configurationDisplayName, envName).getProperty(key);
-            if (encryptedValue == null) {
-                throw new IllegalArgumentException("Environment variable '" + key + "' has null value");
-            }
+            String encryptedValue = getEncryptedValue(configurationDisplayName, envName, key);
             return CryptoOperations.decrypt(secretKey, encryptedValue);
         } catch (CryptoException error) {
             logger.error("Failed to decrypt key: {}", key, error);
@@ -404,19 +627,26 @@ public class EnvironmentCryptoManager {
     }
 
     /**
-     * Get a secret key from the environment configuration
+     * Get a secret key from the environment configuration.
+     * Keys are resolved once through the {@link SecretKeyRegistry} and invalidated when the configuration is
+     * reloaded or the configuration cache is cleared. Each call returns a copy that the caller should destroy with
+     * {@link DestroyableSecretKey#destroyIfSupported(SecretKey)} once it is no longer needed.
      *
      * @param configurationDisplayName Display name of the configuration
      * @param envName Environment name
      * @param environmentSecretKey Key identifying the secret key
-     * @return The secret key
+     * @return A copy of the secret key owned by the caller
      * @throws IllegalArgumentException If any parameter is invalid
      */
     public static SecretKey getSecretKey(String configurationDisplayName, String envName, String environmentSecretKey) {
         validateParameters(configurationDisplayName, envName, environmentSecretKey);
 
         try {
-            return getConfiguration(configurationDisplayName, envName).getSecretKey(environmentSecretKey);
+            long started = CryptoMetrics.getInstance().start();
+            SecretKey secretKey = SecretKeyRegistry.getInstance().getSecretKey(configurationDisplayName, envName, environmentSecretKey,
+                    () -> getConfiguration(configurationDisplayName, envName).getSecretKey(environmentSecretKey));
+            CryptoMetrics.getInstance().record(CryptoMetrics.Operation.KEY_LOOKUP, started);
+            return secretKey;
         } catch (Exception error) {
             logger.error("Failed to retrieve secret key", error);
             throw new RuntimeException("Failed to retrieve secret key", error);
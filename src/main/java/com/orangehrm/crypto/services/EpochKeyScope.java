@@ -0,0 +1,93 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.crypto.utils.DestroyableSecretKey;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Epoch keys resolved for a single call that encrypts or decrypts many values, such as a whole environment file.
+ * Each epoch is resolved once per scope, however many values and workers share it, so a file costs one Argon2
+ * derivation even with DERIVED_KEY_CACHE_ENABLED off. The keys are zeroized when the scope is closed. The derived
+ * key cache and the derived key store stay behind the resolution as opt-in layers that span calls.
+ * Open a scope with try-with-resources around the batch and pass it to the {@link CryptoOperations} overloads.
+ */
+public final class EpochKeyScope implements AutoCloseable {
+
+    private final SecretKey masterKey;
+    private final Map<String, DestroyableSecretKey> epochKeys = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Creates an empty scope. The master key stays owned by the caller and is not destroyed on close.
+     *
+     * @param masterKey the master key the epoch keys are derived from
+     */
+    public EpochKeyScope(SecretKey masterKey) {
+        if (masterKey == null) {
+            throw new IllegalArgumentException("Secret Key cannot be null");
+        }
+        this.masterKey = masterKey;
+    }
+
+    SecretKey getMasterKey() {
+        return masterKey;
+    }
+
+    /**
+     * Returns the key for an epoch, resolving it on first use in this scope.
+     * Concurrent callers asking for the same epoch wait for a single resolution.
+     *
+     * @param epochSalt the epoch salt read from, or written to, the envelope header
+     * @param profile   the Argon2 cost recorded in the envelope header
+     * @return the epoch key, valid until the scope is closed
+     * @throws IllegalStateException if the scope has been closed
+     */
+    SecretKey getEpochKey(byte[] epochSalt, Argon2Profile profile) {
+        ensureOpen();
+        DestroyableSecretKey epochKey = epochKeys.computeIfAbsent(
+                Base64.getEncoder().encodeToString(epochSalt) + ":" + profile.format(),
+                ignored -> resolve(epochSalt, profile));
+        if (closed) {
+            // Resolved while the scope was closing, after close already destroyed the other keys
+            epochKey.destroy();
+            ensureOpen();
+        }
+        return epochKey;
+    }
+
+    public int size() {
+        return epochKeys.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        epochKeys.values().removeIf(epochKey -> {
+            epochKey.destroy();
+            return true;
+        });
+    }
+
+    private DestroyableSecretKey resolve(byte[] epochSalt, Argon2Profile profile) {
+        SecretKeySpec derivedKey = CryptoOperations.deriveEpochKey(masterKey, epochSalt, profile);
+        byte[] keyBytes = derivedKey.getEncoded();
+        try {
+            return new DestroyableSecretKey(keyBytes, derivedKey.getAlgorithm());
+        } finally {
+            Arrays.fill(keyBytes, (byte) 0);
+            CryptoOperations.clearKeyIfNotNull(derivedKey);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Epoch key scope has been closed");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Tracks key epochs for the versioned ciphertext envelope.
+ * A key epoch is a single Argon2 salt shared by every value encrypted under the same master key, so a whole
+ * environment file needs one key derivation rather than one per value. Epoch keys are cached only when
+ * DERIVED_KEY_CACHE_ENABLED is set, like every other derived key; they are then derived at most once per JVM even
+ * under concurrent access and zeroized at JVM shutdown. Otherwise every lookup runs the derivation, and callers
+ * working through a whole file share one lookup per epoch through an {@link EpochKeyScope}.
+ */
+public final class KeyEpochRegistry {
+
+    private static final Logger logger = LoggerUtils.getLogger(KeyEpochRegistry.class);
+    private static final int MAX_EPOCH_KEYS = 16;
+    private static final KeyEpochRegistry instance = new KeyEpochRegistry();
+
+    private final Map<String, byte[]> currentEpochSalts = new ConcurrentHashMap<>();
+    private final DerivedKeyCache epochKeys = new DerivedKeyCache(DerivedKeyCache.getInstance().isEnabled(), MAX_EPOCH_KEYS);
+
+    private KeyEpochRegistry() {
+        Runtime.getRuntime().addShutdownHook(new Thread(epochKeys::clear, "key-epoch-cleanup"));
+    }
+
+    public static KeyEpochRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the epoch salt used for new encryptions under the given master key in this JVM.
+     *
+     * @param masterKey the master key
+     * @return a copy of the current epoch salt
+     */
+    public byte[] getCurrentEpochSalt(SecretKey masterKey) {
+        byte[] salt = currentEpochSalts.computeIfAbsent(DerivedKeyCache.fingerprint(masterKey), fingerprint -> {
+            logger.info("Starting new key epoch for master key fingerprint {}", fingerprint.substring(0, 8));
+            return SecureKeyGenerator.generateSalt();
+        });
+        return salt.clone();
+    }
+
+    /**
+     * Returns the key for an epoch. With the derived key cache enabled, the derivation runs only the first time the
+     * epoch and profile are seen.
+     *
+     * @param masterKey  the master key
+     * @param epochSalt  the epoch salt read from, or written to, the envelope header
+     * @param profile    the Argon2 cost recorded in the envelope header
+     * @param derivation supplier producing the raw derived key bytes
+     * @return a fresh SecretKeySpec holding a copy of the epoch key
+     */
+    public SecretKeySpec getEpochKey(SecretKey masterKey, byte[] epochSalt, Argon2Profile profile, Supplier<byte[]> derivation) {
+        return epochKeys.getOrDerive(masterKey, epochSalt, profile.format(), derivation);
+    }
+
+    public long getDerivationCount() {
+        return epochKeys.getMissCount();
+    }
+
+    public long getReuseCount() {
+        return epochKeys.getHitCount();
+    }
+}
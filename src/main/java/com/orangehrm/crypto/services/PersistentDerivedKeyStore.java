@@ -0,0 +1,331 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.properties.PropertyConfigConstants;
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.crypto.utils.CryptoConfigConstants;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.FileDirectoryManager;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in on-disk store of Argon2-derived keys, so repeated local runs skip key derivation entirely.
+ * Each entry lives in its own file under {@code target/derived-key-cache}, named by a hash of the master key
+ * fingerprint, salt and Argon2 profile. The derived key is wrapped with AES-GCM under a random machine-local key
+ * kept outside the project in the user's home directory, and the entry's identity and creation time are bound into
+ * the GCM associated data, so a copied, edited, expired or foreign entry is discarded and derived again.
+ * The store is controlled by DERIVED_KEY_STORE_ENABLED and DERIVED_KEY_STORE_TTL_MINUTES. It is bypassed for every
+ * derivation from the PROD secret key, or its staged successor during a rotation, whichever environment is active,
+ * so encrypting .env.prod or rotating PROD_SECRET_KEY from a UAT run keeps those keys off disk. It is also bypassed
+ * whenever the active environment is PROD, which is resolved on every use with the same precedence as the
+ * configuration resolver, so PROD selected by the OS environment or by a reload of the global properties counts.
+ */
+public final class PersistentDerivedKeyStore {
+
+    private static final Logger logger = LoggerUtils.getLogger(PersistentDerivedKeyStore.class);
+    private static final String STORE_ENABLED_KEY = "DERIVED_KEY_STORE_ENABLED";
+    private static final String STORE_TTL_KEY = "DERIVED_KEY_STORE_TTL_MINUTES";
+    private static final int DEFAULT_TTL_MINUTES = 12 * 60;
+    private static final Path DEFAULT_STORE_DIRECTORY = Paths.get("target", "derived-key-cache");
+    private static final Path DEFAULT_WRAPPING_KEY_FILE = Paths.get(System.getProperty("user.home"),
+            ".orangehrm-automation", "derived-key-store.key");
+    private static final String ENTRY_EXTENSION = ".key";
+    private static final byte FORMAT_VERSION = 1;
+    private static final int WRAPPING_KEY_SIZE = 32;
+    private static final int IV_SIZE = CryptoConfigConstants.CryptoKeyParameters.IV_SIZE.getKeySize();
+    private static final int GCM_TAG_BITS = CryptoConfigConstants.CryptoKeyParameters.GCM_TAG_KEY_SIZE.getKeySize();
+    private static final int HEADER_SIZE = 1 + Long.BYTES + IV_SIZE;
+    private static final PersistentDerivedKeyStore instance = createFromConfiguration();
+
+    private final boolean enabled;
+    private final Duration timeToLive;
+    private final Path storeDirectory;
+    private final Path wrappingKeyFile;
+    private volatile SecretKeySpec wrappingKey;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    /**
+     * Creates a store.
+     *
+     * @param enabled         whether derived keys are read from and written to disk
+     * @param timeToLive      how long an entry stays valid after it was written
+     * @param storeDirectory  directory holding the wrapped entries
+     * @param wrappingKeyFile file holding the machine-local wrapping key, created on first use
+     * @throws IllegalArgumentException if the time to live is not positive
+     */
+    public PersistentDerivedKeyStore(boolean enabled, Duration timeToLive, Path storeDirectory, Path wrappingKeyFile) {
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Derived key store time to live must be positive");
+        }
+        if (storeDirectory == null || wrappingKeyFile == null) {
+            throw new IllegalArgumentException("Store directory and wrapping key file cannot be null");
+        }
+        this.enabled = enabled;
+        this.timeToLive = timeToLive;
+        this.storeDirectory = storeDirectory;
+        this.wrappingKeyFile = wrappingKeyFile;
+    }
+
+    public static PersistentDerivedKeyStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the stored derived key, or runs the derivation and stores its result.
+     * Any problem reading or writing the store falls back to the derivation; the store never fails an operation.
+     * Derivations from a PROD secret key always run and are never written.
+     *
+     * @param masterKey  the master key the derivation is based on
+     * @param salt       the salt used for the derivation
+     * @param profile    the Argon2 cost of the derivation
+     * @param derivation supplier producing the raw derived key bytes
+     * @return derived key bytes owned by the caller
+     */
+    public byte[] getOrDerive(SecretKey masterKey, byte[] salt, Argon2Profile profile, Supplier<byte[]> derivation) {
+        if (!isEnabled() || SecretKeyRegistry.getInstance().isProductionKey(masterKey)) {
+            return derivation.get();
+        }
+
+        String identity = DerivedKeyCache.fingerprint(masterKey) + ":" + profile.format() + ":"
+                + Base64.getEncoder().encodeToString(salt);
+        Path entryFile = storeDirectory.resolve(entryName(identity));
+        byte[] stored = readEntry(entryFile, identity);
+        if (stored != null) {
+            hits.increment();
+            return stored;
+        }
+
+        misses.increment();
+        byte[] derived = derivation.get();
+        writeEntry(entryFile, identity, derived);
+        return derived;
+    }
+
+    /**
+     * Deletes every stored entry. The wrapping key is kept.
+     *
+     * @throws IOException if an entry cannot be deleted
+     */
+    public void clear() throws IOException {
+        if (!Files.isDirectory(storeDirectory)) {
+            return;
+        }
+        try (var entries = Files.list(storeDirectory)) {
+            for (Path entry : entries.filter(path -> path.getFileName().toString().endsWith(ENTRY_EXTENSION)).toList()) {
+                Files.deleteIfExists(entry);
+            }
+        }
+        logger.info("Derived key store cleared: {}", storeDirectory);
+    }
+
+    /**
+     * Returns whether the store is in use: enabled by configuration and the active environment is not PROD.
+     *
+     * @return true if derived keys are read from and written to disk
+     */
+    public boolean isEnabled() {
+        return enabled && !isProductionActive();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    private byte[] readEntry(Path entryFile, String identity) {
+        if (!Files.exists(entryFile)) {
+            return null;
+        }
+        byte[] content = null;
+        try {
+            content = Files.readAllBytes(entryFile);
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            if (content.length <= HEADER_SIZE || buffer.get() != FORMAT_VERSION) {
+                return discard(entryFile, "unknown format");
+            }
+            long createdAtMillis = buffer.getLong();
+            if (System.currentTimeMillis() - createdAtMillis > timeToLive.toMillis()) {
+                return discard(entryFile, "expired");
+            }
+
+            Cipher cipher = createCipher(Cipher.DECRYPT_MODE, new GCMParameterSpec(GCM_TAG_BITS, content, 1 + Long.BYTES, IV_SIZE));
+            cipher.updateAAD(associatedData(identity, createdAtMillis));
+            return cipher.doFinal(content, HEADER_SIZE, content.length - HEADER_SIZE);
+        } catch (Exception error) {
+            // Wrapped under another machine's key, tampered with, or unreadable: derive again
+            return discard(entryFile, error.getClass().getSimpleName());
+        } finally {
+            if (content != null) {
+                Arrays.fill(content, (byte) 0);
+            }
+        }
+    }
+
+    private void writeEntry(Path entryFile, String identity, byte[] derived) {
+        try {
+            long createdAtMillis = System.currentTimeMillis();
+            byte[] iv = SecureKeyGenerator.generateIv();
+            Cipher cipher = createCipher(Cipher.ENCRYPT_MODE, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            cipher.updateAAD(associatedData(identity, createdAtMillis));
+
+            ByteBuffer content = ByteBuffer.allocate(HEADER_SIZE + cipher.getOutputSize(derived.length));
+            content.put(FORMAT_VERSION).putLong(createdAtMillis).put(iv);
+            cipher.doFinal(ByteBuffer.wrap(derived), content);
+            FileDirectoryManager.writeBytesAtomically(entryFile, content.array());
+        } catch (Exception error) {
+            logger.warn("Could not store derived key in {}: {}", storeDirectory, error.getMessage());
+        }
+    }
+
+    private Cipher createCipher(int mode, GCMParameterSpec parameters) throws Exception {
+        // A dedicated instance: derivations run while the caller may hold this thread's shared cipher
+        Cipher cipher = Cipher.getInstance(CryptoConfigConstants.CryptoAlgorithmTypes.AES_GCM_NO_PADDING.getAlgorithmName(),
+                CipherProviderSelector.getInstance().getCipherProvider());
+        cipher.init(mode, getWrappingKey(), parameters);
+        return cipher;
+    }
+
+    private byte[] discard(Path entryFile, String reason) {
+        discarded.increment();
+        logger.info("Discarding stored derived key {} ({})", entryFile.getFileName(), reason);
+        try {
+            Files.deleteIfExists(entryFile);
+        } catch (IOException error) {
+            logger.warn("Could not delete stored derived key {}: {}", entryFile, error.getMessage());
+        }
+        return null;
+    }
+
+    private SecretKeySpec getWrappingKey() throws IOException {
+        SecretKeySpec key = wrappingKey;
+        if (key == null) {
+            synchronized (this) {
+                if (wrappingKey == null) {
+                    wrappingKey = loadOrCreateWrappingKey();
+                }
+                key = wrappingKey;
+            }
+        }
+        return key;
+    }
+
+    private SecretKeySpec loadOrCreateWrappingKey() throws IOException {
+        try {
+            if (!Files.exists(wrappingKeyFile)) {
+                Files.createDirectories(wrappingKeyFile.toAbsolutePath().getParent());
+                if (Files.getFileAttributeView(wrappingKeyFile.getParent(), PosixFileAttributeView.class) != null) {
+                    Files.setPosixFilePermissions(wrappingKeyFile.getParent(), PosixFilePermissions.fromString("rwx------"));
+                }
+                createWrappingKeyFile();
+            }
+
+            byte[] keyBytes = Files.readAllBytes(wrappingKeyFile);
+            try {
+                if (keyBytes.length != WRAPPING_KEY_SIZE) {
+                    throw new IOException("Wrapping key file has an unexpected length: " + wrappingKeyFile);
+                }
+                return new SecretKeySpec(keyBytes, CryptoConfigConstants.CryptoAlgorithmTypes.AES.getAlgorithmName());
+            } finally {
+                Arrays.fill(keyBytes, (byte) 0);
+            }
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "loadOrCreateWrappingKey", "Failed to load the derived key store wrapping key");
+            throw error;
+        }
+    }
+
+    private void createWrappingKeyFile() throws IOException {
+        byte[] generated = SecureKeyGenerator.generateSalt(WRAPPING_KEY_SIZE);
+        Path temporaryFile = Files.createTempFile(wrappingKeyFile.toAbsolutePath().getParent(), "derived-key-store", ".tmp");
+        try {
+            Files.write(temporaryFile, generated);
+            // Linking fails if another JVM created the key first, in which case its key is used
+            Files.createLink(wrappingKeyFile, temporaryFile);
+            logger.info("Created machine-local wrapping key for the derived key store: {}", wrappingKeyFile);
+        } catch (FileAlreadyExistsException error) {
+            logger.info("Using wrapping key created concurrently by another process: {}", wrappingKeyFile);
+        } finally {
+            Arrays.fill(generated, (byte) 0);
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static byte[] associatedData(String identity, long createdAtMillis) {
+        byte[] identityBytes = identity.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(1 + Long.BYTES + identityBytes.length)
+                .put(FORMAT_VERSION).putLong(createdAtMillis).put(identityBytes).array();
+    }
+
+    private static String entryName(String identity) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(identity.getBytes(StandardCharsets.UTF_8))) + ENTRY_EXTENSION;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "entryName", "Failed to hash derived key store entry name");
+            throw new IllegalStateException("Failed to hash derived key store entry name", error);
+        }
+    }
+
+    private static boolean isProductionActive() {
+        try {
+            PropertyFileConfigManager configuration = PropertyFileConfigManager.getConfiguration(
+                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+            return EnvironmentConfigConstants.resolveActiveEnvironment(configuration.getProperty(
+                    EnvironmentConfigConstants.ACTIVE_ENVIRONMENT_KEY, String.class).orElse(null))
+                    == EnvironmentConfigConstants.Environment.PROD;
+        } catch (Exception error) {
+            // When the environment cannot be determined, treat it as PROD and leave keys off disk
+            logger.error("Failed to resolve the active environment, bypassing the derived key store", error);
+            return true;
+        }
+    }
+
+    private static PersistentDerivedKeyStore createFromConfiguration() {
+        try {
+            PropertyFileConfigManager configuration = PropertyFileConfigManager.getConfiguration(
+                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath());
+            boolean enabled = configuration.getProperty(STORE_ENABLED_KEY, Boolean.class).orElse(false);
+            int ttlMinutes = configuration.getProperty(STORE_TTL_KEY, Integer.class).orElse(DEFAULT_TTL_MINUTES);
+            logger.info("Derived key store {} (time to live {} min){}", enabled ? "enabled" : "disabled", ttlMinutes,
+                    enabled ? ", bypassed for PROD keys and while the active environment is PROD" : "");
+            return new PersistentDerivedKeyStore(enabled, Duration.ofMinutes(ttlMinutes), DEFAULT_STORE_DIRECTORY, DEFAULT_WRAPPING_KEY_FILE);
+        } catch (Exception error) {
+            logger.error("Failed to read derived key store settings, store disabled", error);
+            return new PersistentDerivedKeyStore(false, Duration.ofMinutes(DEFAULT_TTL_MINUTES), DEFAULT_STORE_DIRECTORY, DEFAULT_WRAPPING_KEY_FILE);
+        }
+    }
+}
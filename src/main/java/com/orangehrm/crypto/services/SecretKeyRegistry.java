@@ -0,0 +1,168 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.environments.EnvironmentFileConfigManager;
+import com.orangehrm.crypto.utils.DestroyableSecretKey;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+
+import javax.crypto.SecretKey;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static com.orangehrm.utils.ErrorHandler.validateParameters;
+
+/**
+ * Resolves each (configuration, environment file, key name) secret key once and caches it.
+ * Entries are dropped whenever the owning environment configuration is reloaded or the configuration cache is
+ * cleared, so rotated keys are picked up on the next lookup. Callers receive their own copy of the cached key and
+ * destroy it when done, so a replaced or evicted key is zeroized as soon as it is dropped.
+ */
+public final class SecretKeyRegistry {
+
+    private static final Logger logger = LoggerUtils.getLogger(SecretKeyRegistry.class);
+    private static final String KEY_SEPARATOR = ":";
+    private static final SecretKeyRegistry instance = new SecretKeyRegistry();
+
+    private final Map<String, DestroyableSecretKey> secretKeys = new ConcurrentHashMap<>();
+    // Kept across invalidation so a PROD key is still recognised while callers hold it
+    private final Set<String> productionKeyFingerprints = ConcurrentHashMap.newKeySet();
+    private final LongAdder resolutions = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    private SecretKeyRegistry() {
+        EnvironmentFileConfigManager.addInvalidationListener(this::invalidate);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::clear, "secret-key-cleanup"));
+    }
+
+    public static SecretKeyRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns a copy of the cached key, resolving it on first use.
+     *
+     * @param configurationDisplayName Display name of the configuration holding the key
+     * @param envName Environment file holding the key
+     * @param keyName Name of the key variable
+     * @param resolver Supplier decoding the key from configuration
+     * @return a copy of the key owned by the caller, who should destroy it after use
+     */
+    public SecretKey getSecretKey(String configurationDisplayName, String envName, String keyName, Supplier<SecretKey> resolver) {
+        validateParameters(configurationDisplayName, envName, keyName);
+
+        while (true) {
+            boolean[] resolvedByThisCall = {false};
+            DestroyableSecretKey secretKey = secretKeys.computeIfAbsent(
+                    cacheKey(configurationDisplayName, envName, keyName),
+                    ignored -> {
+                        resolvedByThisCall[0] = true;
+                        resolutions.increment();
+                        DestroyableSecretKey resolved = toDestroyable(resolver.get());
+                        if (isProductionKeyName(keyName)) {
+                            productionKeyFingerprints.add(DerivedKeyCache.fingerprint(resolved));
+                        }
+                        return resolved;
+                    });
+            try {
+                DestroyableSecretKey copy = secretKey.copy();
+                if (!resolvedByThisCall[0]) {
+                    hits.increment();
+                }
+                return copy;
+            } catch (IllegalStateException destroyed) {
+                // Invalidated and zeroized between the lookup and the copy; resolve the replacement
+                logger.debug("Secret key '{}' was invalidated during lookup, resolving again", keyName);
+            }
+        }
+    }
+
+    /**
+     * Drops and zeroizes the keys resolved from one configuration, or all keys when no configuration is given.
+     * Copies already handed to callers stay intact.
+     *
+     * @param configurationDisplayName Display name of the invalidated configuration, or null for all
+     * @param envName Environment file of the invalidated configuration, or null for all
+     */
+    public void invalidate(String configurationDisplayName, String envName) {
+        if (configurationDisplayName == null || envName == null) {
+            clear();
+            return;
+        }
+
+        String prefix = configurationDisplayName + KEY_SEPARATOR + envName + KEY_SEPARATOR;
+        int[] removed = {0};
+        secretKeys.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) {
+                return false;
+            }
+            entry.getValue().destroy();
+            removed[0]++;
+            return true;
+        });
+        if (removed[0] > 0) {
+            logger.info("Invalidated {} secret key(s) for configuration '{}' ({})", removed[0], configurationDisplayName, envName);
+        }
+    }
+
+    public void clear() {
+        int[] removed = {0};
+        secretKeys.values().removeIf(secretKey -> {
+            secretKey.destroy();
+            removed[0]++;
+            return true;
+        });
+        if (removed[0] > 0) {
+            logger.info("Secret key registry cleared ({} key(s) zeroized)", removed[0]);
+        }
+    }
+
+    /**
+     * Checks whether a key was resolved from the PROD secret key variable, or from its staged successor during a
+     * rotation, in this JVM. Derived material of such keys must never leave memory.
+     *
+     * @param secretKey Key to check
+     * @return true if the key is a PROD secret key
+     */
+    public boolean isProductionKey(SecretKey secretKey) {
+        return !productionKeyFingerprints.isEmpty() && productionKeyFingerprints.contains(DerivedKeyCache.fingerprint(secretKey));
+    }
+
+    public int size() {
+        return secretKeys.size();
+    }
+
+    public long getResolutionCount() {
+        return resolutions.sum();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    private static DestroyableSecretKey toDestroyable(SecretKey secretKey) {
+        if (secretKey == null) {
+            throw new IllegalStateException("Secret key resolver returned null");
+        }
+        byte[] encoded = secretKey.getEncoded();
+        try {
+            return new DestroyableSecretKey(encoded, secretKey.getAlgorithm());
+        } finally {
+            Arrays.fill(encoded, (byte) 0);
+        }
+    }
+
+    private static boolean isProductionKeyName(String keyName) {
+        return EnvironmentConfigConstants.EnvironmentSecretKey.forVariableName(keyName)
+                .filter(EnvironmentConfigConstants.EnvironmentSecretKey.PROD::equals)
+                .isPresent();
+    }
+
+    private static String cacheKey(String configurationDisplayName, String envName, String keyName) {
+        return configurationDisplayName + KEY_SEPARATOR + envName + KEY_SEPARATOR + keyName;
+    }
+}
@@ -0,0 +1,273 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.configuration.environments.EnvironmentFileDocument;
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.crypto.utils.DestroyableSecretKey;
+import com.orangehrm.utils.Base64Utils;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.FileDirectoryManager;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.crypto.CryptoException;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static com.orangehrm.configuration.environments.EnvironmentFileConfigManager.clearConfigCache;
+
+/**
+ * Rotates an environment secret key across whole environment files.
+ * The next key is staged in the base environment file as {@code <KEY>_NEXT}. Every encrypted entry of each target
+ * file is decrypted with the current key and re-encrypted with the staged key on the memory-bounded batch executor,
+ * and each file is committed with a single atomic write. Completed files are recorded in a checkpoint under
+ * {@code target/key-rotation}, so an interrupted rotation resumes where it stopped; entries already re-encrypted by
+ * an interrupted run are recognised and kept. Once every file is done the staged key replaces the current key.
+ */
+public final class SecretKeyRotator {
+
+    private static final Logger logger = LoggerUtils.getLogger(SecretKeyRotator.class);
+    private static final Path CHECKPOINT_DIRECTORY = Paths.get("target", "key-rotation");
+    private static final String CHECKPOINT_EXTENSION = ".checkpoint";
+    private static final String ROTATION_ENTRY = "rotation=";
+    private static final String COMPLETED_ENTRY = "completed=";
+
+    /**
+     * Outcome of a rotation run.
+     */
+    public record RotationReport(
+            String secretKeyName,
+            int filesRotated,
+            int filesResumed,
+            long entriesRotated,
+            long entriesAlreadyRotated,
+            Duration elapsed
+    ) {
+        public double entriesPerSecond() {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return seconds > 0 ? (entriesRotated + entriesAlreadyRotated) / seconds : 0.0;
+        }
+    }
+
+    private SecretKeyRotator() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Rotates a secret key across the given environment files and promotes the staged key.
+     *
+     * @param secretKey Environment secret key to rotate
+     * @param envFiles Environment files encrypted with the key, e.g. .env.uat
+     * @return the rotation report
+     * @throws CryptoException If any entry cannot be decrypted with either key
+     * @throws IOException If a file or the checkpoint cannot be written
+     */
+    public static RotationReport rotate(EnvironmentConfigConstants.EnvironmentSecretKey secretKey, List<String> envFiles)
+            throws CryptoException, IOException {
+        if (secretKey == null) {
+            throw new IllegalArgumentException("Environment secret key cannot be null");
+        }
+        if (envFiles == null || envFiles.isEmpty()) {
+            throw new IllegalArgumentException("Environment files cannot be null or empty");
+        }
+
+        long startNanos = System.nanoTime();
+        stageNextKey(secretKey);
+
+        SecretKey currentKey = lookupKey(secretKey.getKeyName());
+        SecretKey nextKey = null;
+        try {
+            nextKey = lookupKey(secretKey.getStagedKeyName());
+            String rotationId = DerivedKeyCache.fingerprint(nextKey).substring(0, 16);
+            Path checkpointPath = CHECKPOINT_DIRECTORY.resolve(secretKey.getKeyName() + CHECKPOINT_EXTENSION);
+            Set<String> completedFiles = readCheckpoint(checkpointPath, rotationId);
+
+            Argon2Profile profile = EnvironmentCryptoManager.resolveArgon2Profile(secretKey.getKeyName());
+            byte[] epochSalt = KeyEpochRegistry.getInstance().getCurrentEpochSalt(nextKey);
+
+            int filesRotated = 0;
+            int filesResumed = 0;
+            long entriesRotated = 0;
+            long entriesAlreadyRotated = 0;
+            // Each epoch of either key is derived once for the whole rotation, not once per entry
+            try (EpochKeyScope currentKeys = new EpochKeyScope(currentKey);
+                 EpochKeyScope nextKeys = new EpochKeyScope(nextKey)) {
+                for (String envFile : new LinkedHashSet<>(envFiles)) {
+                    if (completedFiles.contains(envFile)) {
+                        logger.info("Skipping {}: already rotated in rotation {}", envFile, rotationId);
+                        filesResumed++;
+                        continue;
+                    }
+
+                    long[] counts = rotateFile(envFile, currentKeys, nextKeys, epochSalt, profile);
+                    entriesRotated += counts[0];
+                    entriesAlreadyRotated += counts[1];
+                    filesRotated++;
+
+                    completedFiles.add(envFile);
+                    writeCheckpoint(checkpointPath, rotationId, completedFiles);
+                }
+            }
+
+            promoteNextKey(secretKey, nextKey);
+            Files.deleteIfExists(checkpointPath);
+            clearConfigCache();
+
+            RotationReport report = new RotationReport(secretKey.getKeyName(), filesRotated, filesResumed,
+                    entriesRotated, entriesAlreadyRotated, Duration.ofNanos(System.nanoTime() - startNanos));
+            logger.info("Rotated {}: {} file(s) rewritten, {} resumed, {} entries re-encrypted, {} already rotated, {} ms ({} entries/s)",
+                    report.secretKeyName(), report.filesRotated(), report.filesResumed(), report.entriesRotated(),
+                    report.entriesAlreadyRotated(), report.elapsed().toMillis(), String.format("%.1f", report.entriesPerSecond()));
+            return report;
+        } finally {
+            DestroyableSecretKey.destroyIfSupported(currentKey);
+            DestroyableSecretKey.destroyIfSupported(nextKey);
+        }
+    }
+
+    private static long[] rotateFile(String envFile, EpochKeyScope currentKeys, EpochKeyScope nextKeys, byte[] epochSalt,
+                                     Argon2Profile profile) throws CryptoException, IOException {
+        long fileStartNanos = System.nanoTime();
+        Path filePath = EnvironmentCryptoManager.resolveEnvironmentFilePath(envFile);
+        if (!Files.exists(filePath)) {
+            throw new IOException("Environment file does not exist: " + filePath);
+        }
+        EnvironmentFileDocument document = EnvironmentFileDocument.load(filePath);
+
+        List<String> variableNames = new ArrayList<>();
+        List<String> originalValues = new ArrayList<>();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        BatchDecryptionEngine engine = BatchDecryptionEngine.getInstance();
+        for (String variableName : document.getVariableNames()) {
+            String value = document.getValue(variableName).orElse("");
+            if (!isCiphertext(value)) {
+                continue;
+            }
+            variableNames.add(variableName);
+            originalValues.add(value);
+            futures.add(engine.submitTask("rotateFile",
+                    () -> reencrypt(currentKeys, nextKeys, value, epochSalt, profile)));
+        }
+
+        List<String> rotatedValues = BatchDecryptionEngine.joinAll(futures, "rotateFile", "re-encryption");
+        long alreadyRotated = 0;
+        for (int index = 0; index < variableNames.size(); index++) {
+            if (rotatedValues.get(index).equals(originalValues.get(index))) {
+                alreadyRotated++;
+            } else {
+                document.setValue(variableNames.get(index), rotatedValues.get(index));
+            }
+        }
+
+        if (document.isModified()) {
+            document.writeAtomically(filePath);
+        }
+        long rotated = variableNames.size() - alreadyRotated;
+        logger.info("Rotated {} entries in {} ({} already rotated) in {} ms",
+                rotated, filePath, alreadyRotated, Duration.ofNanos(System.nanoTime() - fileStartNanos).toMillis());
+        return new long[]{rotated, alreadyRotated};
+    }
+
+    private static String reencrypt(EpochKeyScope currentKeys, EpochKeyScope nextKeys, String encryptedValue,
+                                    byte[] epochSalt, Argon2Profile profile) throws CryptoException {
+        Optional<byte[]> plainBytes = CryptoOperations.tryDecryptToBytes(currentKeys, encryptedValue);
+        if (plainBytes.isEmpty()) {
+            // An interrupted run may have committed this file without recording it in the checkpoint; a value that
+            // fits neither key fails here and is logged
+            Arrays.fill(CryptoOperations.decryptToBytes(nextKeys, encryptedValue), (byte) 0);
+            return encryptedValue;
+        }
+        String plainText;
+        try {
+            plainText = new String(plainBytes.get(), StandardCharsets.UTF_8);
+        } finally {
+            Arrays.fill(plainBytes.get(), (byte) 0);
+        }
+        return CryptoOperations.encrypt(nextKeys, plainText, epochSalt, profile);
+    }
+
+    private static boolean isCiphertext(String value) {
+        if (!EnvironmentCryptoManager.isAlreadyEncrypted(value)) {
+            return false;
+        }
+        try {
+            Base64.getDecoder().decode(value);
+            return true;
+        } catch (IllegalArgumentException error) {
+            return false;
+        }
+    }
+
+    private static void stageNextKey(EnvironmentConfigConstants.EnvironmentSecretKey secretKey) throws IOException {
+        Path baseFilePath = Paths.get(EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFullPath());
+        if (EnvironmentFileDocument.load(baseFilePath).getValue(secretKey.getStagedKeyName()).filter(value -> !value.isEmpty()).isPresent()) {
+            logger.info("Resuming rotation with staged key '{}'", secretKey.getStagedKeyName());
+            return;
+        }
+        EnvironmentCryptoManager.saveSecretKeyInBaseEnvironment(
+                EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFullPath(),
+                secretKey.getStagedKeyName(),
+                Base64Utils.encodeSecretKey(SecureKeyGenerator.generateSecretKey()));
+    }
+
+    private static void promoteNextKey(EnvironmentConfigConstants.EnvironmentSecretKey secretKey, SecretKey nextKey) throws IOException {
+        Path baseFilePath = Paths.get(EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFullPath());
+        EnvironmentFileDocument document = EnvironmentFileDocument.load(baseFilePath);
+        document.setValue(secretKey.getKeyName(), Base64Utils.encodeSecretKey(nextKey));
+        document.removeVariable(secretKey.getStagedKeyName());
+        document.writeAtomically(baseFilePath);
+        logger.info("Promoted '{}' to '{}'", secretKey.getStagedKeyName(), secretKey.getKeyName());
+    }
+
+    private static SecretKey lookupKey(String keyName) {
+        return EnvironmentCryptoManager.getSecretKey(
+                EnvironmentConfigConstants.Environment.BASE.getDisplayName(),
+                EnvironmentConfigConstants.EnvironmentFilePath.BASE.getFilename(),
+                keyName);
+    }
+
+    private static Set<String> readCheckpoint(Path checkpointPath, String rotationId) throws IOException {
+        Set<String> completedFiles = new LinkedHashSet<>();
+        if (!Files.exists(checkpointPath)) {
+            return completedFiles;
+        }
+
+        List<String> lines = Files.readAllLines(checkpointPath);
+        if (lines.isEmpty() || !lines.get(0).equals(ROTATION_ENTRY + rotationId)) {
+            logger.warn("Ignoring checkpoint {} from a different rotation", checkpointPath);
+            return completedFiles;
+        }
+        for (String line : lines) {
+            if (line.startsWith(COMPLETED_ENTRY)) {
+                completedFiles.add(line.substring(COMPLETED_ENTRY.length()));
+            }
+        }
+        logger.info("Resuming rotation {} with {} completed file(s)", rotationId, completedFiles.size());
+        return completedFiles;
+    }
+
+    private static void writeCheckpoint(Path checkpointPath, String rotationId, Set<String> completedFiles) throws IOException {
+        try {
+            List<String> lines = new ArrayList<>();
+            lines.add(ROTATION_ENTRY + rotationId);
+            completedFiles.forEach(file -> lines.add(COMPLETED_ENTRY + file));
+            FileDirectoryManager.writeLinesAtomically(checkpointPath, lines);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "writeCheckpoint", "Failed to write rotation checkpoint");
+            throw error;
+        }
+    }
+}
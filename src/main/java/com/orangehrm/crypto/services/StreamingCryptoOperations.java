@@ -0,0 +1,450 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.crypto.utils.CryptoConfigConstants;
+import com.orangehrm.crypto.utils.InputValidator;
+import com.orangehrm.utils.ErrorHandler;
+import com.orangehrm.utils.LoggerUtils;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.crypto.CryptoException;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Chunked AES-GCM encryption for files and streams too large to hold in memory, such as encrypted upload fixtures.
+ * <p>
+ * Layout: magic|version|chunkSize|profile|epochSalt|fileNonce, followed by fixed-size sealed chunks. Every chunk
+ * is authenticated on its own with IV fileNonce|chunkIndex and additional data header|chunkIndex|finalFlag, so
+ * chunks cannot be reordered, dropped or truncated without detection. Memory use is one chunk per worker
+ * regardless of file size, and because chunk offsets are fixed, file variants process chunks in parallel on the
+ * batch executor. The chunk key is the master key's epoch key, derived once per stream.
+ */
+public final class StreamingCryptoOperations {
+
+    private static final Logger logger = LoggerUtils.getLogger(StreamingCryptoOperations.class);
+    private static final CryptoMetrics metrics = CryptoMetrics.getInstance();
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    public static final int MIN_CHUNK_SIZE = 1024;
+    public static final int MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private static final byte[] MAGIC = {'O', 'H', 'S'};
+    private static final byte VERSION = 1;
+    private static final int FILE_NONCE_SIZE = 12;
+    private static final int SALT_SIZE = CryptoConfigConstants.CryptoKeyParameters.SALT_SIZE.getKeySize();
+    private static final int GCM_TAG_BITS = CryptoConfigConstants.CryptoKeyParameters.GCM_TAG_KEY_SIZE.getKeySize();
+    private static final int GCM_TAG_BYTES = GCM_TAG_BITS / Byte.SIZE;
+    private static final int HEADER_SIZE = MAGIC.length + Byte.BYTES + Integer.BYTES
+            + Byte.BYTES + Integer.BYTES + Byte.BYTES + SALT_SIZE + FILE_NONCE_SIZE;
+    private static final byte FINAL_CHUNK = 1;
+    private static final byte INTERMEDIATE_CHUNK = 0;
+
+    private StreamingCryptoOperations() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Encrypts a stream with the default chunk size under the master key's current epoch.
+     *
+     * @param key    the master secret key
+     * @param input  plain bytes, read to the end but not closed
+     * @param output receives the encrypted stream; not closed
+     * @return number of plain bytes encrypted
+     * @throws CryptoException if encryption or I/O fails
+     */
+    public static long encrypt(SecretKey key, InputStream input, OutputStream output) throws CryptoException {
+        return encrypt(key, input, output, DEFAULT_CHUNK_SIZE, Argon2Profile.defaultProfile());
+    }
+
+    /**
+     * Encrypts a stream with an explicit chunk size and Argon2 profile.
+     *
+     * @param key       the master secret key
+     * @param input     plain bytes, read to the end but not closed
+     * @param output    receives the encrypted stream; not closed
+     * @param chunkSize plain bytes per chunk
+     * @param profile   the Argon2 cost parameters for the epoch key
+     * @return number of plain bytes encrypted
+     * @throws CryptoException if encryption or I/O fails
+     */
+    public static long encrypt(SecretKey key, InputStream input, OutputStream output, int chunkSize, Argon2Profile profile)
+            throws CryptoException {
+        InputValidator.validateInput(input, "Input stream");
+        InputValidator.validateInput(output, "Output stream");
+        StreamHeader header = StreamHeader.create(key, chunkSize, profile);
+
+        SecretKeySpec chunkKey = null;
+        byte[] plainChunk = new byte[chunkSize];
+        byte[] sealedChunk = new byte[chunkSize + GCM_TAG_BYTES];
+        try {
+            chunkKey = CryptoOperations.deriveEpochKey(key, header.epochSalt(), header.profile());
+            output.write(header.bytes());
+
+            PushbackInputStream source = new PushbackInputStream(input, 1);
+            long total = 0;
+            for (int index = 0; ; index++) {
+                int read = source.readNBytes(plainChunk, 0, chunkSize);
+                boolean finalChunk = read < chunkSize || isExhausted(source);
+                int sealed = sealChunk(chunkKey, header, index, finalChunk, plainChunk, read, sealedChunk);
+                output.write(sealedChunk, 0, sealed);
+                total += read;
+                if (finalChunk) {
+                    return total;
+                }
+            }
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "encrypt", "Failed to encrypt stream");
+            throw new CryptoException("Stream encryption failed", error);
+        } finally {
+            Arrays.fill(plainChunk, (byte) 0);
+            CryptoOperations.clearKeyIfNotNull(chunkKey);
+        }
+    }
+
+    /**
+     * Decrypts a stream produced by {@link #encrypt(SecretKey, InputStream, OutputStream)}.
+     * Plain bytes are written as each chunk is authenticated; if a later chunk fails, the output must be discarded.
+     *
+     * @param key    the master secret key
+     * @param input  encrypted bytes, read to the end but not closed
+     * @param output receives the plain bytes; not closed
+     * @return number of plain bytes written
+     * @throws CryptoException if a chunk fails authentication, the stream is truncated, or I/O fails
+     */
+    public static long decrypt(SecretKey key, InputStream input, OutputStream output) throws CryptoException {
+        InputValidator.validateInput(key, "Secret Key");
+        InputValidator.validateInput(input, "Input stream");
+        InputValidator.validateInput(output, "Output stream");
+
+        SecretKeySpec chunkKey = null;
+        byte[] plainChunk = null;
+        try {
+            byte[] headerBytes = input.readNBytes(HEADER_SIZE);
+            StreamHeader header = StreamHeader.parse(headerBytes);
+            chunkKey = CryptoOperations.deriveEpochKey(key, header.epochSalt(), header.profile());
+
+            int sealedSize = header.chunkSize() + GCM_TAG_BYTES;
+            byte[] sealedChunk = new byte[sealedSize];
+            plainChunk = new byte[header.chunkSize()];
+            PushbackInputStream source = new PushbackInputStream(input, 1);
+            long total = 0;
+            for (int index = 0; ; index++) {
+                int read = source.readNBytes(sealedChunk, 0, sealedSize);
+                if (read < GCM_TAG_BYTES) {
+                    throw new EOFException("Encrypted stream is truncated before its final chunk");
+                }
+                boolean finalChunk = read < sealedSize || isExhausted(source);
+                int opened = openChunk(chunkKey, header, index, finalChunk, sealedChunk, read, plainChunk);
+                output.write(plainChunk, 0, opened);
+                total += opened;
+                if (finalChunk) {
+                    return total;
+                }
+            }
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "decrypt", "Failed to decrypt stream");
+            throw new CryptoException("Stream decryption failed", error);
+        } finally {
+            if (plainChunk != null) {
+                Arrays.fill(plainChunk, (byte) 0);
+            }
+            CryptoOperations.clearKeyIfNotNull(chunkKey);
+        }
+    }
+
+    /**
+     * Encrypts a file with the default chunk size, sealing chunks in parallel.
+     *
+     * @param key    the master secret key
+     * @param source plain file
+     * @param target encrypted file, created or replaced
+     * @return number of plain bytes encrypted
+     * @throws CryptoException if encryption or I/O fails
+     */
+    public static long encryptFile(SecretKey key, Path source, Path target) throws CryptoException {
+        return encryptFile(key, source, target, DEFAULT_CHUNK_SIZE, Argon2Profile.defaultProfile());
+    }
+
+    /**
+     * Encrypts a file with an explicit chunk size and Argon2 profile, sealing chunks in parallel.
+     *
+     * @param key       the master secret key
+     * @param source    plain file
+     * @param target    encrypted file, created or replaced
+     * @param chunkSize plain bytes per chunk
+     * @param profile   the Argon2 cost parameters for the epoch key
+     * @return number of plain bytes encrypted
+     * @throws CryptoException if encryption or I/O fails
+     */
+    public static long encryptFile(SecretKey key, Path source, Path target, int chunkSize, Argon2Profile profile)
+            throws CryptoException {
+        InputValidator.validateInput(source, "Source file");
+        InputValidator.validateInput(target, "Target file");
+        StreamHeader header = StreamHeader.create(key, chunkSize, profile);
+
+        SecretKeySpec chunkKey = null;
+        long startNanos = System.nanoTime();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            chunkKey = CryptoOperations.deriveEpochKey(key, header.epochSalt(), header.profile());
+            writeFully(out, ByteBuffer.wrap(header.bytes()), 0);
+
+            long plainSize = in.size();
+            long chunkCount = Math.max(1, (plainSize + chunkSize - 1) / chunkSize);
+            SecretKeySpec sealingKey = chunkKey;
+            processChunks(chunkCount, "encryptFile", index -> () -> {
+                long plainOffset = index * (long) chunkSize;
+                int plainLength = (int) Math.min(chunkSize, plainSize - plainOffset);
+                byte[] plainChunk = new byte[plainLength];
+                byte[] sealedChunk = new byte[plainLength + GCM_TAG_BYTES];
+                try {
+                    readFully(in, ByteBuffer.wrap(plainChunk), plainOffset);
+                    int sealed = sealChunk(sealingKey, header, (int) index, index == chunkCount - 1,
+                            plainChunk, plainLength, sealedChunk);
+                    writeFully(out, ByteBuffer.wrap(sealedChunk, 0, sealed),
+                            HEADER_SIZE + index * (long) (chunkSize + GCM_TAG_BYTES));
+                    return null;
+                } finally {
+                    Arrays.fill(plainChunk, (byte) 0);
+                }
+            });
+            logger.info("Encrypted {} bytes in {} chunk(s) to {} in {} ms",
+                    plainSize, chunkCount, target, (System.nanoTime() - startNanos) / 1_000_000);
+            return plainSize;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "encryptFile", "Failed to encrypt file: " + source);
+            throw new CryptoException("File encryption failed", error);
+        } finally {
+            CryptoOperations.clearKeyIfNotNull(chunkKey);
+        }
+    }
+
+    /**
+     * Decrypts a file, opening chunks in parallel. The target is deleted if any chunk fails authentication.
+     *
+     * @param key    the master secret key
+     * @param source encrypted file
+     * @param target plain file, created or replaced
+     * @return number of plain bytes written
+     * @throws CryptoException if a chunk fails authentication, the file is truncated, or I/O fails
+     */
+    public static long decryptFile(SecretKey key, Path source, Path target) throws CryptoException {
+        InputValidator.validateInput(key, "Secret Key");
+        InputValidator.validateInput(source, "Source file");
+        InputValidator.validateInput(target, "Target file");
+
+        SecretKeySpec chunkKey = null;
+        long startNanos = System.nanoTime();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[] headerBytes = new byte[HEADER_SIZE];
+            readFully(in, ByteBuffer.wrap(headerBytes), 0);
+            StreamHeader header = StreamHeader.parse(headerBytes);
+            chunkKey = CryptoOperations.deriveEpochKey(key, header.epochSalt(), header.profile());
+
+            int chunkSize = header.chunkSize();
+            long sealedChunkSize = chunkSize + (long) GCM_TAG_BYTES;
+            long sealedSize = in.size() - HEADER_SIZE;
+            long chunkCount = (sealedSize + sealedChunkSize - 1) / sealedChunkSize;
+            long lastSealedLength = sealedSize - (chunkCount - 1) * sealedChunkSize;
+            if (chunkCount == 0 || lastSealedLength < GCM_TAG_BYTES) {
+                throw new EOFException("Encrypted file is truncated before its final chunk");
+            }
+
+            SecretKeySpec openingKey = chunkKey;
+            processChunks(chunkCount, "decryptFile", index -> () -> {
+                int sealedLength = (int) (index == chunkCount - 1 ? lastSealedLength : sealedChunkSize);
+                byte[] sealedChunk = new byte[sealedLength];
+                byte[] plainChunk = new byte[Math.max(0, sealedLength - GCM_TAG_BYTES)];
+                try {
+                    readFully(in, ByteBuffer.wrap(sealedChunk), HEADER_SIZE + index * sealedChunkSize);
+                    int opened = openChunk(openingKey, header, (int) index, index == chunkCount - 1,
+                            sealedChunk, sealedLength, plainChunk);
+                    writeFully(out, ByteBuffer.wrap(plainChunk, 0, opened), index * (long) chunkSize);
+                    return null;
+                } finally {
+                    Arrays.fill(plainChunk, (byte) 0);
+                }
+            });
+            long plainSize = sealedSize - chunkCount * GCM_TAG_BYTES;
+            logger.info("Decrypted {} bytes in {} chunk(s) to {} in {} ms",
+                    plainSize, chunkCount, target, (System.nanoTime() - startNanos) / 1_000_000);
+            return plainSize;
+        } catch (Exception error) {
+            deleteQuietly(target);
+            ErrorHandler.logError(error, "decryptFile", "Failed to decrypt file: " + source);
+            throw new CryptoException("File decryption failed", error);
+        } finally {
+            CryptoOperations.clearKeyIfNotNull(chunkKey);
+        }
+    }
+
+    /**
+     * Runs one task per chunk on the batch executor, keeping a bounded window in flight so buffered chunks stay
+     * proportional to the worker count rather than the file size.
+     */
+    private static void processChunks(long chunkCount, String operation, ChunkTaskFactory taskFactory) throws Exception {
+        if (chunkCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("File has too many chunks for the chunk index; use a larger chunk size");
+        }
+        BatchDecryptionEngine engine = BatchDecryptionEngine.getInstance();
+        int window = engine.getConcurrencyLimit() * 2;
+        for (long start = 0; start < chunkCount; start += window) {
+            long end = Math.min(chunkCount, start + window);
+            List<CompletableFuture<Void>> futures = new ArrayList<>((int) (end - start));
+            for (long index = start; index < end; index++) {
+                futures.add(engine.submitTask(operation, taskFactory.create(index)));
+            }
+            BatchDecryptionEngine.joinAll(futures, operation, "chunk processing");
+        }
+    }
+
+    private static int sealChunk(SecretKeySpec chunkKey, StreamHeader header, int index, boolean finalChunk,
+                                 byte[] plainChunk, int plainLength, byte[] sealedChunk) throws Exception {
+        Cipher cipher = CryptoOperations.initializeCipher(header.chunkParameters(index), chunkKey, Cipher.ENCRYPT_MODE);
+        cipher.updateAAD(header.chunkAad(index, finalChunk));
+        long started = metrics.start();
+        int sealedLength = cipher.doFinal(plainChunk, 0, plainLength, sealedChunk, 0);
+        metrics.record(CryptoMetrics.Operation.CIPHER_FINAL, started, plainLength);
+        return sealedLength;
+    }
+
+    private static int openChunk(SecretKeySpec chunkKey, StreamHeader header, int index, boolean finalChunk,
+                                 byte[] sealedChunk, int sealedLength, byte[] plainChunk) throws Exception {
+        Cipher cipher = CryptoOperations.initializeCipher(header.chunkParameters(index), chunkKey, Cipher.DECRYPT_MODE);
+        cipher.updateAAD(header.chunkAad(index, finalChunk));
+        long started = metrics.start();
+        int plainLength = cipher.doFinal(sealedChunk, 0, sealedLength, plainChunk, 0);
+        metrics.record(CryptoMetrics.Operation.CIPHER_FINAL, started, sealedLength);
+        return plainLength;
+    }
+
+    private static boolean isExhausted(PushbackInputStream source) throws IOException {
+        int next = source.read();
+        if (next == -1) {
+            return true;
+        }
+        source.unread(next);
+        return false;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file at position " + (position + buffer.position()));
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "deleteQuietly", "Failed to delete partial output: " + path);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTaskFactory {
+        BatchDecryptionEngine.CryptoTask<Void> create(long index);
+    }
+
+    /**
+     * Stream header; the serialized form is the prefix of every chunk's additional data.
+     */
+    private record StreamHeader(int chunkSize, Argon2Profile profile, byte[] epochSalt, byte[] fileNonce, byte[] bytes) {
+
+        static StreamHeader create(SecretKey key, int chunkSize, Argon2Profile profile) {
+            InputValidator.validateInput(key, "Secret Key");
+            InputValidator.validateInput(profile, "Argon2 profile");
+            validateChunkSize(chunkSize);
+
+            byte[] epochSalt = KeyEpochRegistry.getInstance().getCurrentEpochSalt(key);
+            byte[] fileNonce = SecureKeyGenerator.generateIv(FILE_NONCE_SIZE);
+            byte[] bytes = ByteBuffer.allocate(HEADER_SIZE)
+                    .put(MAGIC)
+                    .put(VERSION)
+                    .putInt(chunkSize)
+                    .put((byte) profile.iterations())
+                    .putInt(profile.memoryKB())
+                    .put((byte) profile.parallelism())
+                    .put(epochSalt)
+                    .put(fileNonce)
+                    .array();
+            return new StreamHeader(chunkSize, profile, epochSalt, fileNonce, bytes);
+        }
+
+        static StreamHeader parse(byte[] bytes) throws IOException {
+            if (bytes.length < HEADER_SIZE) {
+                throw new EOFException("Encrypted stream is shorter than its header");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || buffer.get() != VERSION) {
+                throw new IllegalArgumentException("Not a chunked encrypted stream");
+            }
+
+            int chunkSize = buffer.getInt();
+            validateChunkSize(chunkSize);
+            int iterations = Byte.toUnsignedInt(buffer.get());
+            int memoryKB = buffer.getInt();
+            int parallelism = Byte.toUnsignedInt(buffer.get());
+            if (!Argon2Profile.isValid(iterations, memoryKB, parallelism)) {
+                throw new IllegalArgumentException("Encrypted stream header has an invalid Argon2 profile");
+            }
+
+            byte[] epochSalt = new byte[SALT_SIZE];
+            byte[] fileNonce = new byte[FILE_NONCE_SIZE];
+            buffer.get(epochSalt).get(fileNonce);
+            return new StreamHeader(chunkSize, new Argon2Profile(iterations, memoryKB, parallelism),
+                    epochSalt, fileNonce, bytes.clone());
+        }
+
+        GCMParameterSpec chunkParameters(int index) {
+            byte[] iv = ByteBuffer.allocate(FILE_NONCE_SIZE + Integer.BYTES).put(fileNonce).putInt(index).array();
+            return new GCMParameterSpec(GCM_TAG_BITS, iv);
+        }
+
+        byte[] chunkAad(long index, boolean finalChunk) {
+            return ByteBuffer.allocate(HEADER_SIZE + Long.BYTES + Byte.BYTES)
+                    .put(bytes)
+                    .putLong(index)
+                    .put(finalChunk ? FINAL_CHUNK : INTERMEDIATE_CHUNK)
+                    .array();
+        }
+
+        private static void validateChunkSize(int chunkSize) {
+            if (chunkSize < MIN_CHUNK_SIZE || chunkSize > MAX_CHUNK_SIZE) {
+                throw new IllegalArgumentException("Chunk size must be between " + MIN_CHUNK_SIZE + " and " + MAX_CHUNK_SIZE);
+            }
+        }
+    }
+}
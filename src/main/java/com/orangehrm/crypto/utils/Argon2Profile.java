@@ -0,0 +1,87 @@
+package com.orangehrm.crypto.utils;
+
+import com.orangehrm.utils.ErrorHandler;
+
+/**
+ * Argon2 cost parameters used for a key derivation.
+ * Profiles are written into versioned ciphertext headers so decryption always uses the cost chosen at encryption
+ * time, and are stored in configuration in the compact form {@code iterations:memoryKB:parallelism}.
+ *
+ * @param iterations  number of passes over memory
+ * @param memoryKB    working memory in kilobytes
+ * @param parallelism number of lanes
+ */
+public record Argon2Profile(int iterations, int memoryKB, int parallelism) {
+
+    public static final int MIN_ITERATIONS = 1;
+    public static final int MIN_MEMORY_KB = 8;
+    public static final int MAX_MEMORY_KB = 1_048_576;  // 1 GB, guards against hostile headers
+    public static final int MAX_PARALLELISM = 255;
+    private static final String SEPARATOR = ":";
+
+    public Argon2Profile {
+        if (iterations < MIN_ITERATIONS || iterations > 255) {
+            throw new IllegalArgumentException("Argon2 iterations must be between 1 and 255");
+        }
+        if (parallelism < 1 || parallelism > MAX_PARALLELISM) {
+            throw new IllegalArgumentException("Argon2 parallelism must be between 1 and " + MAX_PARALLELISM);
+        }
+        if (memoryKB < Math.max(MIN_MEMORY_KB, 8 * parallelism) || memoryKB > MAX_MEMORY_KB) {
+            throw new IllegalArgumentException("Argon2 memory must be at least 8 KB per lane and at most "
+                    + MAX_MEMORY_KB + " KB");
+        }
+    }
+
+    /**
+     * Checks parameters against the same bounds as the constructor without throwing, for probing untrusted headers.
+     *
+     * @param iterations  number of passes over memory
+     * @param memoryKB    working memory in kilobytes
+     * @param parallelism number of lanes
+     * @return true if a profile with these parameters can be constructed
+     */
+    public static boolean isValid(int iterations, int memoryKB, int parallelism) {
+        return iterations >= MIN_ITERATIONS && iterations <= 255
+                && parallelism >= 1 && parallelism <= MAX_PARALLELISM
+                && memoryKB >= Math.max(MIN_MEMORY_KB, 8 * parallelism) && memoryKB <= MAX_MEMORY_KB;
+    }
+
+    /**
+     * Returns the profile defined by {@link CryptoConfigConstants.CryptoArgon2Parameters}.
+     *
+     * @return the default profile
+     */
+    public static Argon2Profile defaultProfile() {
+        return new Argon2Profile(
+                CryptoConfigConstants.CryptoArgon2Parameters.ITERATIONS.getParameterValue(),
+                CryptoConfigConstants.CryptoArgon2Parameters.MEMORY.getParameterValue(),
+                CryptoConfigConstants.CryptoArgon2Parameters.PARALLELISM.getParameterValue());
+    }
+
+    /**
+     * Parses a profile in the form {@code iterations:memoryKB:parallelism}.
+     *
+     * @param value the formatted profile
+     * @return the parsed profile
+     * @throws IllegalArgumentException if the value is malformed or out of range
+     */
+    public static Argon2Profile parse(String value) {
+        try {
+            String[] parts = value.trim().split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Argon2 profile must have the form iterations:memoryKB:parallelism");
+            }
+            return new Argon2Profile(
+                    Integer.parseInt(parts[0].trim()),
+                    Integer.parseInt(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()));
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "parse", "Failed to parse Argon2 profile: " + value);
+            throw new IllegalArgumentException("Invalid Argon2 profile: " + value, error);
+        }
+    }
+
+    public String format() {
+        return iterations + SEPARATOR + memoryKB + SEPARATOR + parallelism;
+    }
+}
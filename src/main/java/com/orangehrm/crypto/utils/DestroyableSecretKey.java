@@ -0,0 +1,118 @@
+package com.orangehrm.crypto.utils;
+
+import javax.crypto.SecretKey;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Raw secret key whose material can be wiped.
+ * {@link javax.crypto.spec.SecretKeySpec} does not support {@link #destroy()}, so cached keys use this class instead.
+ * A cache keeps one instance to itself and hands callers short-lived {@link #copy() copies}, so it can destroy its
+ * instance as soon as the key is replaced or evicted without pulling the material from under a caller.
+ */
+public final class DestroyableSecretKey implements SecretKey {
+
+    private static final String RAW_FORMAT = "RAW";
+
+    private final byte[] keyBytes;
+    private final String algorithm;
+    private volatile boolean destroyed;
+
+    /**
+     * Creates a key from a copy of the given material.
+     *
+     * @param keyBytes  the key material; the caller keeps ownership of the array
+     * @param algorithm the key algorithm
+     */
+    public DestroyableSecretKey(byte[] keyBytes, String algorithm) {
+        InputValidator.validateInput(keyBytes, "Key bytes");
+        InputValidator.validateInput(algorithm, "Algorithm");
+        this.keyBytes = keyBytes.clone();
+        this.algorithm = algorithm;
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public String getFormat() {
+        return RAW_FORMAT;
+    }
+
+    /**
+     * Returns a copy of the key material.
+     *
+     * @return key bytes owned by the caller
+     * @throws IllegalStateException if the key has been destroyed
+     */
+    @Override
+    public synchronized byte[] getEncoded() {
+        if (destroyed) {
+            throw new IllegalStateException("Secret key has been destroyed");
+        }
+        return keyBytes.clone();
+    }
+
+    /**
+     * Returns an independent key holding a copy of the material, to be destroyed by its owner.
+     *
+     * @return the copy
+     * @throws IllegalStateException if the key has been destroyed
+     */
+    public DestroyableSecretKey copy() {
+        byte[] encoded = getEncoded();
+        try {
+            return new DestroyableSecretKey(encoded, algorithm);
+        } finally {
+            Arrays.fill(encoded, (byte) 0);
+        }
+    }
+
+    /**
+     * Destroys a key handed out as a copy. Keys of other types cannot be wiped and are left as they are.
+     *
+     * @param key the key to destroy, may be null
+     */
+    public static void destroyIfSupported(SecretKey key) {
+        if (key instanceof DestroyableSecretKey destroyable) {
+            destroyable.destroy();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        destroyed = true;
+        Arrays.fill(keyBytes, (byte) 0);
+    }
+
+    @Override
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SecretKey key) || !algorithm.equalsIgnoreCase(key.getAlgorithm()) || destroyed) {
+            return false;
+        }
+        byte[] otherBytes = key.getEncoded();
+        try {
+            return MessageDigest.isEqual(keyBytes, otherBytes);
+        } finally {
+            if (otherBytes != null) {
+                Arrays.fill(otherBytes, (byte) 0);
+            }
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return algorithm.toUpperCase(Locale.ROOT).hashCode();
+    }
+}
@@ -1,7 +1,6 @@
 package com.orangehrm.drivers.browser;
 
-import com.orangehrm.configuration.properties.PropertyConfigConstants;
-import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.configuration.properties.GlobalConfig;
 import com.orangehrm.drivers.driver.DriverFactory;
 import com.orangehrm.utils.ErrorHandler;
 import com.orangehrm.utils.LoggerUtils;
@@ -23,7 +22,6 @@ import static com.orangehrm.drivers.browser.BrowserOptionsUtils.*;
 public class SeleniumGridFactory {
 
     private static final Logger logger = LoggerUtils.getLogger(SeleniumGridFactory.class);
-    private static final String SELENIUM_GRID_URL = "SELENIUM_GRID_URL";
 
     public void initializeRemoteBrowser(String browserName, String... arguments) {
         try {
@@ -79,10 +77,11 @@ public class SeleniumGridFactory {
 
     private static String getSeleniumGridUrl() {
         try {
-            return PropertyFileConfigManager.getConfiguration(
-                            PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
-                            PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath())
-                    .getProperty(SELENIUM_GRID_URL);
+            String gridUrl = GlobalConfig.seleniumGridUrl();
+            if (gridUrl == null || gridUrl.isBlank()) {
+                throw new IllegalArgumentException(GlobalConfig.Keys.SELENIUM_GRID_URL + " is not configured");
+            }
+            return gridUrl;
         } catch (Exception error) {
             ErrorHandler.logError(error, "getSeleniumGridUrl", "Failed to retrieve Selenium Grid URL");
             throw error;
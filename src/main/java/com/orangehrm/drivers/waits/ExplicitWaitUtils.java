@@ -1,7 +1,6 @@
 package com.orangehrm.drivers.waits;
 
-import com.orangehrm.configuration.properties.PropertyConfigConstants;
-import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.configuration.properties.GlobalConfigSnapshot;
 import com.orangehrm.drivers.driver.DriverFactory;
 import com.orangehrm.utils.ErrorHandler;
 import com.orangehrm.utils.LoggerUtils;
@@ -13,14 +12,12 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
 import java.util.Objects;
 
 public class ExplicitWaitUtils {
 
     private static final Logger logger = LoggerUtils.getLogger(ExplicitWaitUtils.class);
     private static final DriverFactory driverFactory = DriverFactory.getInstance();
-    private static final String TIMEOUT_KEY = "DEFAULT_GLOBAL_TIMEOUT";
 
     private ExplicitWaitUtils() {
         throw new AssertionError("Utility class - do not instantiate");
@@ -28,7 +25,7 @@ public class ExplicitWaitUtils {
 
     public static WebDriverWait getWebDriverWait() {
         try {
-            return new WebDriverWait(driverFactory.getDriver(), Duration.ofSeconds(getDefaultTimeout()));
+            return new WebDriverWait(driverFactory.getDriver(), GlobalConfigSnapshot.getInstance().getDefaultWaitTimeout());
         } catch (Exception error) {
             ErrorHandler.logError(error, "getWebDriverWait", "Failed to get WebDriverWait");
             throw error;
@@ -129,17 +126,4 @@ public class ExplicitWaitUtils {
             throw new RuntimeException("Page load wait operation failed", error);
         }
     }
-
-    private static int getDefaultTimeout() {
-        try {
-            return PropertyFileConfigManager.getConfiguration(
-                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
-                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath())
-                    .getProperty(TIMEOUT_KEY, Integer.class)
-                    .orElse(60);
-        } catch (Exception error) {
-            ErrorHandler.logError(error, "getTimeout", "Failed to retrieve timeout value");
-            throw error;
-        }
-    }
 }
\ No newline at end of file
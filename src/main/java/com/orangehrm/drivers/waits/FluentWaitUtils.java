@@ -1,8 +1,7 @@
 package com.orangehrm.drivers.waits;
 
 
-import com.orangehrm.configuration.properties.PropertyConfigConstants;
-import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.configuration.properties.GlobalConfigSnapshot;
 import com.orangehrm.drivers.driver.DriverFactory;
 import com.orangehrm.utils.ErrorHandler;
 import com.orangehrm.utils.LoggerUtils;
@@ -15,15 +14,12 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Wait;
 
-import java.time.Duration;
 import java.util.NoSuchElementException;
 
 public class FluentWaitUtils {
 
     private static final Logger logger = LoggerUtils.getLogger(FluentWaitUtils.class);
     private static final DriverFactory driverFactory = DriverFactory.getInstance();
-    private static final String TIMEOUT_KEY = "DEFAULT_GLOBAL_TIMEOUT";
-    private static final String POLLING_KEY = "POLLING_TIMEOUT";
 
     private FluentWaitUtils() {
         throw new AssertionError("Utility class - do not instantiate");
@@ -35,8 +31,8 @@ public class FluentWaitUtils {
         if (fluentWaitInstance == null) {
 
             fluentWaitInstance = new FluentWait<>(driverFactory.getDriver())
-                    .withTimeout(Duration.ofSeconds(getDefaultTimeout()))
-                    .pollingEvery(Duration.ofMillis(getPollingTimeout()))
+                    .withTimeout(GlobalConfigSnapshot.getInstance().getDefaultWaitTimeout())
+                    .pollingEvery(GlobalConfigSnapshot.getInstance().getPollingInterval())
                     .ignoring(WebDriverException.class);
         }
         return fluentWaitInstance;
@@ -124,31 +120,4 @@ public class FluentWaitUtils {
             throw error;
         }
     }
-
-    private static int getDefaultTimeout() {
-        try {
-            return PropertyFileConfigManager.getConfiguration(
-                            PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
-                            PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath())
-                    .getProperty(TIMEOUT_KEY, Integer.class)
-                    .orElse(60);
-
-        } catch (Exception error) {
-            ErrorHandler.logError(error, "getTimeout", "Failed to retrieve timeout value");
-            throw error;
-        }
-    }
-
-    private static int getPollingTimeout() {
-        try {
-            return PropertyFileConfigManager.getConfiguration(
-                            PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
-                            PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath())
-                    .getProperty(POLLING_KEY, Integer.class)
-                    .orElse(1000);
-        } catch (Exception error) {
-            ErrorHandler.logError(error, "getPollingTimeout", "Failed to retrieve polling timeout value");
-            throw error;
-        }
-    }
 }
\ No newline at end of file
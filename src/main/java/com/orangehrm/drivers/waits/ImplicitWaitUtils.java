@@ -1,8 +1,7 @@
 package com.orangehrm.drivers.waits;
 
 
-import com.orangehrm.configuration.properties.PropertyConfigConstants;
-import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.configuration.properties.GlobalConfigSnapshot;
 import com.orangehrm.drivers.driver.DriverFactory;
 import com.orangehrm.utils.ErrorHandler;
 import org.openqa.selenium.WebDriver;
@@ -11,18 +10,16 @@ import java.time.Duration;
 
 public class ImplicitWaitUtils {
 
-    private static final String TIMEOUT_KEY = "IMPLICIT_TIMEOUT";
-
     private ImplicitWaitUtils() {
         throw new AssertionError("Utility class - do not instantiate");
     }
 
     /**
-     * Retrieves implicit wait timeout from properties and applies it to WebDriver
+     * Applies the configured implicit wait timeout to the WebDriver
      */
     public static void applyImplicitWait(WebDriver driver) {
         try {
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(getTimeout()));
+            driver.manage().timeouts().implicitlyWait(GlobalConfigSnapshot.getInstance().getImplicitWaitTimeout());
         } catch (Exception error) {
             ErrorHandler.logError(error, "applyImplicitWait", "Failed to apply implicit wait time");
             throw error;
@@ -41,22 +38,4 @@ public class ImplicitWaitUtils {
     public static void applyImplicitWait() {
         applyImplicitWait(DriverFactory.getInstance().getDriver());
     }
-
-    /**
-     * Fetch timeout value from properties file
-     *
-     * @return Optional containing the timeout value if found
-     */
-    private static int getTimeout() {
-        try {
-            return PropertyFileConfigManager.getConfiguration(
-                            PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
-                            PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath())
-                    .getProperty(TIMEOUT_KEY, Integer.class)
-                    .orElse(10);
-        } catch (Exception error) {
-            ErrorHandler.logError(error, "getTimeout", "Failed to retrieve timeout value");
-            throw error;
-        }
-    }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.orangehrm.pages.base;
 
-import com.orangehrm.configuration.properties.PropertyConfigConstants;
-import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.configuration.properties.GlobalConfigSnapshot;
 import com.orangehrm.drivers.driver.DriverFactory;
 import com.orangehrm.drivers.waits.FluentWaitUtils;
 import com.orangehrm.utils.Base64Utils;
@@ -33,7 +32,6 @@ import static com.orangehrm.pages.base.DropdownHandler.*;
 public class BasePage {
 
     private static final Logger logger = LoggerUtils.getLogger(BasePage.class);
-    private static final String SCREENSHOT_DIRECTORY = "SCREENSHOT_DIR";
     private final DriverFactory driverFactory = DriverFactory.getInstance();
 
 
@@ -440,13 +438,7 @@ public class BasePage {
             String fileName = String.format("%s_%s.png", screenshotName, timestamp);
 
             // Define structured screenshot directory
-            String screenshotDir = PropertyFileConfigManager.getConfiguration(
-                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
-                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath())
-                    .getProperty(SCREENSHOT_DIRECTORY);
-
-
-            Path destinationPath = Path.of(screenshotDir, fileName);
+            Path destinationPath = GlobalConfigSnapshot.getInstance().getScreenshotDirectory().resolve(fileName);
 
             // Take the screenshot
             File screenshot = ((TakesScreenshot) driverFactory.getDriver()).getScreenshotAs(OutputType.FILE);
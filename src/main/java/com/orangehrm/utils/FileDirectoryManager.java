@@ -1,9 +1,13 @@
 package com.orangehrm.utils;
 
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.List;
 
 public class FileDirectoryManager {
     /**
@@ -196,4 +200,69 @@ public class FileDirectoryManager {
             throw error;
         }
     }
+
+    /**
+     * Replaces a file's content in one step by writing a temporary sibling file and moving it over the target.
+     * Readers see either the old or the new content, never a partially written file. Falls back to a plain replace
+     * on file systems without atomic moves.
+     *
+     * @param filePath The path of the file to replace.
+     * @param lines The lines to write.
+     * @throws IOException If the file cannot be written or moved into place.
+     */
+    public static void writeLinesAtomically(Path filePath, List<String> lines) throws IOException {
+        if (filePath == null || lines == null) {
+            throw new IllegalArgumentException("File path and lines cannot be null.");
+        }
+        writeAtomically(filePath, temporaryFile -> Files.write(temporaryFile, lines), "writeLinesAtomically");
+    }
+
+    /**
+     * Replaces a file's content in one step, like {@link #writeLinesAtomically(Path, List)}.
+     * A new file keeps the owner-only permissions of the temporary file it was written to.
+     *
+     * @param filePath The path of the file to replace.
+     * @param content The bytes to write.
+     * @throws IOException If the file cannot be written or moved into place.
+     */
+    public static void writeBytesAtomically(Path filePath, byte[] content) throws IOException {
+        if (filePath == null || content == null) {
+            throw new IllegalArgumentException("File path and content cannot be null.");
+        }
+        writeAtomically(filePath, temporaryFile -> Files.write(temporaryFile, content), "writeBytesAtomically");
+    }
+
+    private static void writeAtomically(Path filePath, TemporaryFileWriter writer, String methodName) throws IOException {
+        Path target = filePath.toAbsolutePath();
+        Path temporaryFile = null;
+        try {
+            createDirIfNotExists(target.getParent().toString());
+            temporaryFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            writer.write(temporaryFile);
+            if (Files.exists(target) && Files.getFileAttributeView(target, PosixFileAttributeView.class) != null) {
+                Files.setPosixFilePermissions(temporaryFile, Files.getPosixFilePermissions(target));
+            }
+
+            try {
+                Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException error) {
+                Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception error) {
+            if (temporaryFile != null) {
+                Files.deleteIfExists(temporaryFile);
+            }
+            ErrorHandler.logError(
+                    error,
+                    methodName,
+                    "Failed to write file atomically: " + filePath
+            );
+            throw error;
+        }
+    }
+
+    @FunctionalInterface
+    private interface TemporaryFileWriter {
+        void write(Path temporaryFile) throws IOException;
+    }
 }
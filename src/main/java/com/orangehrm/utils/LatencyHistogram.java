@@ -0,0 +1,117 @@
+package com.orangehrm.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size log-linear latency histogram: 16 sub-buckets per power of two, about 6% resolution.
+ * Recording is lock-free and allocation-free, so it can sit on hot paths. Percentiles report the midpoint of the
+ * bucket holding the requested rank, capped at the largest value actually recorded.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Records one measurement. Negative values are recorded as zero.
+     *
+     * @param elapsedNanos measured latency in nanoseconds
+     */
+    public void record(long elapsedNanos) {
+        long nanos = Math.max(0L, elapsedNanos);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        buckets.incrementAndGet(bucketIndex(nanos));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Computes several percentiles from one consistent copy of the buckets.
+     *
+     * @param quantiles quantiles between 0 and 1, e.g. 0.5 and 0.99
+     * @return the percentiles in nanoseconds, in the order requested; 0 when nothing was recorded
+     */
+    public double[] percentiles(double... quantiles) {
+        long[] counts = new long[BUCKET_COUNT];
+        long recorded = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            counts[index] = buckets.get(index);
+            recorded += counts[index];
+        }
+        long max = maxNanos.get();
+        double[] values = new double[quantiles.length];
+        for (int quantile = 0; quantile < quantiles.length; quantile++) {
+            values[quantile] = percentile(counts, recorded, quantiles[quantile], max);
+        }
+        return values;
+    }
+
+    /**
+     * Clears every measurement, e.g. to exclude warm-up.
+     */
+    public void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            buckets.set(index, 0L);
+        }
+    }
+
+    private static double percentile(long[] counts, long recorded, double quantile, long max) {
+        if (recorded == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(quantile * recorded);
+        long seen = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                // Report the bucket midpoint, capped at the largest value actually seen
+                long lower = bucketLowerBound(index);
+                long upper = index + 1 < BUCKET_COUNT ? bucketLowerBound(index + 1) - 1 : Long.MAX_VALUE;
+                double midpoint = lower + (upper - lower) / 2.0;
+                return Math.min(midpoint, max);
+            }
+        }
+        return max;
+    }
+
+    private static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
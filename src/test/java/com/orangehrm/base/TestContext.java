@@ -1,9 +1,8 @@
 package com.orangehrm.base;
 
-import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
-import com.orangehrm.configuration.properties.PropertyConfigConstants;
-import com.orangehrm.configuration.properties.PropertyFileConfigManager;
-import com.orangehrm.crypto.services.EnvironmentCryptoManager;
+import com.orangehrm.configuration.properties.EnvironmentConfig;
+import com.orangehrm.configuration.properties.GlobalConfig;
+import com.orangehrm.crypto.credentials.CredentialProviders;
 import com.orangehrm.drivers.browser.BrowserFactory;
 import com.orangehrm.drivers.driver.DriverFactory;
 import com.orangehrm.pages.base.BasePage;
@@ -57,13 +56,7 @@ public class TestContext {
         try {
             browserFactory = new BrowserFactory();
 
-            String CHROME = "CHROME_BROWSER";
-            String FIREFOX = "FIREFOX_BROWSER";
-            String EDGE = "EDGE_BROWSER";
-            String browser = PropertyFileConfigManager.getConfiguration(
-                    PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
-                    PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath()
-            ).getProperty(CHROME);
+            String browser = GlobalConfig.chromeBrowser();
 
             browserFactory.initializeBrowser(browser);
 
@@ -73,11 +66,13 @@ public class TestContext {
                 throw new IllegalStateException(errorMessage);
             }
 
-            String PORTAL_BASE_URL = "PORTAL_BASE_URL";
-            String url = PropertyFileConfigManager.getConfiguration(
-                    PropertyConfigConstants.Environment.UAT.getDisplayName(),
-                    PropertyConfigConstants.PropertiesFilePath.UAT.getFullPath()
-            ).getProperty(PORTAL_BASE_URL);
+            // Resolved from config-<ACTIVE_ENVIRONMENT>.properties, unless overridden
+            String url = EnvironmentConfig.portalBaseUrl();
+            if (url == null) {
+                String errorMessage = EnvironmentConfig.Keys.PORTAL_BASE_URL + " is not configured for the active environment";
+                logger.error(errorMessage);
+                throw new IllegalStateException(errorMessage);
+            }
 
             driverFactory.navigateToUrl(url);
         } catch (Exception error) {
@@ -88,15 +83,10 @@ public class TestContext {
 
     public List<String> decryptCredentials() {
         try {
-            // Run Decryption
+            // Resolve through the configured, cached credential provider
             String PASSWORD = "PORTAL_PASSWORD";
             String USERNAME = "PORTAL_USERNAME";
-            return EnvironmentCryptoManager.decryptEnvironmentVariables(
-                    EnvironmentConfigConstants.Environment.UAT.getDisplayName(),
-                    EnvironmentConfigConstants.EnvironmentFilePath.UAT.getFilename(),
-                    EnvironmentConfigConstants.EnvironmentSecretKey.UAT.getKeyName(),
-                    USERNAME, PASSWORD
-            );
+            return CredentialProviders.getInstance().getCredentials(USERNAME, PASSWORD);
         } catch (Exception error) {
             ErrorHandler.logError(error, "decryptionCredentials", "Failed to decrypt credentials");
             throw error;
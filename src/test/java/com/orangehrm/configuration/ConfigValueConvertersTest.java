@@ -0,0 +1,62 @@
+package com.orangehrm.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the duration formats, enum, list, URI and URL conversion, and that converters are cached per type.
+ */
+class ConfigValueConvertersTest {
+
+    private enum Browser {
+        CHROME, FIREFOX
+    }
+
+    @Test
+    void parsesDurationUnitsAndIsoForm() {
+        assertEquals(Duration.ofMillis(250), ConfigValueConverters.parseDuration("250ms"));
+        assertEquals(Duration.ofSeconds(30), ConfigValueConverters.parseDuration("30s"));
+        assertEquals(Duration.ofMinutes(5), ConfigValueConverters.parseDuration("5 m"));
+        assertEquals(Duration.ofHours(2), ConfigValueConverters.parseDuration("2H"));
+        assertEquals(Duration.ofSeconds(45), ConfigValueConverters.parseDuration(" 45 "));
+        assertEquals(Duration.ofSeconds(90), ConfigValueConverters.parseDuration("PT1M30S"));
+        assertEquals(Duration.ofSeconds(10), ConfigValueConverters.parseDuration("pt10s"));
+
+        assertThrows(IllegalArgumentException.class, () -> ConfigValueConverters.parseDuration("soon"));
+        assertThrows(IllegalArgumentException.class, () -> ConfigValueConverters.parseDuration("PT"));
+        assertThrows(IllegalArgumentException.class, () -> ConfigValueConverters.parseDuration("ms"));
+    }
+
+    @Test
+    void convertsEnumsListsAndUrls() throws Exception {
+        assertEquals(Browser.FIREFOX, ConfigValueConverters.convert(Browser.class, " firefox "));
+        assertThrows(IllegalArgumentException.class, () -> ConfigValueConverters.convert(Browser.class, "safari"));
+
+        List<?> browsers = ConfigValueConverters.convert(List.class, " chrome, firefox,, edge ,");
+        assertEquals(List.of("chrome", "firefox", "edge"), browsers);
+        assertThrows(UnsupportedOperationException.class, () -> browsers.remove(0));
+
+        assertEquals(new URI("http://grid.local:4444/wd/hub"),
+                ConfigValueConverters.convert(URI.class, " http://grid.local:4444/wd/hub "));
+        URL url = ConfigValueConverters.convert(URL.class, "https://opensource-demo.orangehrmlive.com/web/index.php");
+        assertEquals("opensource-demo.orangehrmlive.com", url.getHost());
+        assertThrows(IllegalArgumentException.class, () -> ConfigValueConverters.convert(URL.class, "not a url"));
+        assertThrows(IllegalArgumentException.class, () -> ConfigValueConverters.convert(URL.class, "relative/path"));
+    }
+
+    @Test
+    void cachesConvertersPerType() {
+        assertSame(ConfigValueConverters.forType(Duration.class), ConfigValueConverters.forType(Duration.class));
+        assertSame(ConfigValueConverters.forType(Browser.class), ConfigValueConverters.forType(Browser.class));
+        assertEquals(42L, ConfigValueConverters.convert(Long.class, " 42 "));
+        assertThrows(UnsupportedOperationException.class, () -> ConfigValueConverters.forType(StringBuilder.class));
+    }
+}
@@ -0,0 +1,128 @@
+package com.orangehrm.configuration;
+
+import com.orangehrm.configuration.properties.PropertyFileConfigManager;
+import com.orangehrm.utils.FileDirectoryManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a burst of writes to a watched file is reloaded once, and that readers never see an empty or partial
+ * properties map while reloads replace it.
+ */
+class ConfigurationFileWatcherTest {
+
+    private static final long DEBOUNCE_MILLIS = 300;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void debounceCollapsesBurstIntoOneReload() throws Exception {
+        Path file = directory.resolve("burst.properties");
+        Files.writeString(file, "BROWSER=chrome\n");
+        AtomicInteger reloads = new AtomicInteger();
+        ConfigurationFileWatcher watcher = new ConfigurationFileWatcher(true, DEBOUNCE_MILLIS);
+        watcher.watch(file, "burst", reloads::incrementAndGet);
+
+        // Truncate-and-rewrite steps, as an editor saves, all within one debounce window
+        for (int index = 0; index < 5; index++) {
+            Files.writeString(file, "");
+            Files.writeString(file, "BROWSER=firefox-" + index + "\n");
+            Thread.sleep(20);
+        }
+
+        awaitCondition(() -> reloads.get() == 1);
+        Thread.sleep(DEBOUNCE_MILLIS * 3);
+        assertEquals(1, reloads.get());
+    }
+
+    @Test
+    void disabledWatcherIgnoresChanges() throws Exception {
+        Path file = directory.resolve("disabled.properties");
+        Files.writeString(file, "BROWSER=chrome\n");
+        AtomicInteger reloads = new AtomicInteger();
+        new ConfigurationFileWatcher(false, DEBOUNCE_MILLIS).watch(file, "disabled", reloads::incrementAndGet);
+
+        Files.writeString(file, "BROWSER=firefox\n");
+
+        Thread.sleep(DEBOUNCE_MILLIS * 3);
+        assertEquals(0, reloads.get());
+    }
+
+    @Test
+    void reloadSwapNeverExposesEmptyMap() throws Exception {
+        Path file = directory.resolve("swap.properties");
+        write(file, 0);
+        PropertyFileConfigManager configuration = new PropertyFileConfigManager("ConfigurationFileWatcherTest",
+                file.toString());
+        ConfigurationFileWatcher watcher = new ConfigurationFileWatcher(true, DEBOUNCE_MILLIS);
+        watcher.watch(file, "swap", configuration::reload);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int reader = 0; reader < 4; reader++) {
+                results.add(readers.submit(() -> {
+                    int reads = 0;
+                    while (running.get()) {
+                        Map<String, String> properties = configuration.getProperties();
+                        assertEquals(3, properties.size(), "readers must only see complete documents");
+                        assertEquals(properties.get("VERSION"), properties.get("CHECK"));
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+
+            for (int version = 1; version <= 3; version++) {
+                String expected = String.valueOf(version);
+                write(file, version);
+                awaitCondition(() -> expected.equals(configuration.getProperties().get("VERSION")));
+            }
+            // Direct reloads race the readers far more often than file events do
+            for (int reload = 0; reload < 200; reload++) {
+                configuration.reload();
+            }
+
+            running.set(false);
+            for (Future<Integer> result : results) {
+                assertTrue(result.get(5, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            running.set(false);
+            readers.shutdownNow();
+        }
+    }
+
+    private static void write(Path file, int version) throws IOException {
+        String content = "VERSION=" + version + "\nCHECK=" + version + "\nBROWSER=chrome\n";
+        FileDirectoryManager.writeBytesAtomically(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 seconds");
+            Thread.sleep(10);
+        }
+    }
+}
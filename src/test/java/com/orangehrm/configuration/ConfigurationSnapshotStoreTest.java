@@ -0,0 +1,98 @@
+package com.orangehrm.configuration;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a snapshot round-trips, and that it is rejected after corruption, a change to a source file's
+ * modification time or size, or a change to the overrides of its keys.
+ */
+class ConfigurationSnapshotStoreTest {
+
+    private static final String BROWSER_KEY = "SNAPSHOT_TEST_BROWSER";
+    private static final String PASSWORD_KEY = "SNAPSHOT_TEST_PASSWORD";
+
+    @TempDir
+    Path directory;
+
+    private Path propertiesFile;
+    private Path environmentFile;
+    private ConfigurationSnapshotStore store;
+    private LayeredConfigResolver.FileLayers fileLayers;
+
+    @BeforeEach
+    void storeSnapshot() throws IOException {
+        propertiesFile = Files.writeString(directory.resolve("global-config.properties"), BROWSER_KEY + "=chrome\n");
+        environmentFile = Files.writeString(directory.resolve(".env.uat"), PASSWORD_KEY + "=ENC(secret)\n");
+        fileLayers = new LayeredConfigResolver.FileLayers(
+                Map.of(BROWSER_KEY, new LayeredConfigResolver.ResolvedValue("chrome",
+                                LayeredConfigResolver.Layer.GLOBAL_PROPERTIES, propertiesFile.toString(), List.of()),
+                        PASSWORD_KEY, new LayeredConfigResolver.ResolvedValue("ENC(secret)",
+                                LayeredConfigResolver.Layer.ENVIRONMENT_ENV_FILE, environmentFile.toString(),
+                                List.of(LayeredConfigResolver.Layer.GLOBAL_PROPERTIES,
+                                        LayeredConfigResolver.Layer.BASE_ENV_FILE))),
+                EnvironmentConfigConstants.Environment.UAT,
+                List.of(LayeredConfigResolver.SourceFile.capture(propertiesFile),
+                        LayeredConfigResolver.SourceFile.capture(environmentFile)));
+        store = new ConfigurationSnapshotStore(true, directory.resolve("config-snapshot.bin"));
+        store.store(fileLayers);
+    }
+
+    @AfterEach
+    void clearOverride() {
+        System.clearProperty(BROWSER_KEY);
+    }
+
+    @Test
+    void roundTrips() {
+        assertEquals(fileLayers, store.load().orElseThrow());
+        assertTrue(new ConfigurationSnapshotStore(false, store.getSnapshotPath()).load().isEmpty());
+    }
+
+    @Test
+    void rejectsBadChecksum() throws IOException {
+        byte[] snapshot = Files.readAllBytes(store.getSnapshotPath());
+        snapshot[snapshot.length / 2] ^= 1;
+        Files.write(store.getSnapshotPath(), snapshot);
+
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    void rejectsChangedSourceModificationTime() throws IOException {
+        FileTime modified = Files.getLastModifiedTime(propertiesFile);
+        Files.setLastModifiedTime(propertiesFile, FileTime.fromMillis(modified.toMillis() + 10_000));
+
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    void rejectsChangedSourceSize() throws IOException {
+        FileTime modified = Files.getLastModifiedTime(environmentFile);
+        Files.writeString(environmentFile, "EXTRA=1\n", StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(environmentFile, modified);
+
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    void rejectsChangedOverrides() {
+        System.setProperty(BROWSER_KEY, "firefox");
+
+        assertTrue(store.load().isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package com.orangehrm.configuration.properties;
+
+import com.orangehrm.configuration.LayeredConfigResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the wait timeout through the cached configuration manager, as the wait utilities did on every call
+ * (cache key, INFO log line, system property probe and integer parse), versus a field of the resolved snapshot,
+ * a lookup in the layered resolver (hash probe and memoized, boxed conversion) and the generated typed accessor.
+ * Run with the gc profiler to compare allocation per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalConfigSnapshotBenchmark {
+
+    private static final String TIMEOUT_KEY = GlobalConfig.Keys.DEFAULT_GLOBAL_TIMEOUT;
+
+    private GlobalConfigSnapshot snapshot;
+    private LayeredConfigResolver resolver;
+
+    @Setup
+    public void setUp() {
+        snapshot = GlobalConfigSnapshot.getInstance();
+        resolver = LayeredConfigResolver.getInstance();
+        GlobalConfig.defaultGlobalTimeout();
+    }
+
+    @Benchmark
+    public Duration configurationManagerLookup() {
+        return Duration.ofSeconds(PropertyFileConfigManager.getConfiguration(
+                        PropertyConfigConstants.Environment.GLOBAL.getDisplayName(),
+                        PropertyConfigConstants.PropertiesFilePath.GLOBAL.getFullPath())
+                .getProperty(TIMEOUT_KEY, Integer.class)
+                .orElse(60));
+    }
+
+    @Benchmark
+    public Duration snapshotField() {
+        return snapshot.getDefaultWaitTimeout();
+    }
+
+    @Benchmark
+    public int resolverLookup() {
+        return resolver.getProperty(TIMEOUT_KEY, Integer.class).orElse(60);
+    }
+
+    @Benchmark
+    public int generatedAccessor() {
+        return GlobalConfig.defaultGlobalTimeout();
+    }
+}
@@ -0,0 +1,139 @@
+package com.orangehrm.configuration.remote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exercises the remote configuration against the local configuration server: conditional revalidation, startup
+ * from a fresh or stale cache, and a start with neither a cache nor a service.
+ */
+class HttpConfigManagerTest {
+
+    private static final String TOKEN = "test-token";
+    private static final String KEY = "REMOTE_TEST_BROWSER";
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration MAX_CACHE_AGE = Duration.ofHours(1);
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<HttpConfigManager> managers = new ArrayList<>();
+    private Path source;
+    private Path cachePath;
+    private LocalConfigServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        source = directory.resolve("remote.properties");
+        cachePath = directory.resolve("config-http-cache.json");
+        Files.writeString(source, KEY + "=chrome\n");
+        server = new LocalConfigServer(0, source, TOKEN);
+    }
+
+    @AfterEach
+    void stopServer() {
+        managers.forEach(HttpConfigManager::close);
+        server.close();
+    }
+
+    @Test
+    void notModifiedKeepsDocument() throws IOException {
+        HttpConfigManager manager = manager();
+        assertEquals("chrome", manager.getProperty(KEY));
+
+        // If-None-Match matches the unchanged document
+        manager.reload();
+        assertEquals("chrome", manager.getProperty(KEY));
+        assertEquals(1, server.getNotModifiedCount());
+
+        // If-Modified-Since alone is enough when the service sent no ETag
+        rewriteCache(cached -> new HttpConfigManager.Document(cached.uri(), null, cached.lastModified(),
+                cached.fetchedAtMillis() - MAX_CACHE_AGE.multipliedBy(2).toMillis(), cached.properties()));
+        HttpConfigManager revalidated = manager();
+        assertEquals("chrome", revalidated.getProperty(KEY));
+        assertEquals(2, server.getNotModifiedCount());
+        assertEquals(3, server.getRequestCount());
+
+        Files.writeString(source, KEY + "=firefox\n");
+        manager.reload();
+        assertEquals("firefox", manager.getProperty(KEY));
+        assertEquals(2, server.getNotModifiedCount());
+    }
+
+    @Test
+    void freshCacheStartsWithoutRequest() throws Exception {
+        Instant fetchedAt = manager().getFetchedAt();
+        server.close();
+
+        HttpConfigManager manager = manager();
+
+        assertEquals("chrome", manager.getProperty(KEY));
+        assertEquals(fetchedAt, manager.getFetchedAt());
+        // The only request is the background revalidation, which fails and keeps the cached document
+        awaitCondition(() -> manager.getFailedRefreshCount() == 1);
+        assertEquals(1, manager.getRequestCount());
+        assertEquals("chrome", manager.getProperty(KEY));
+    }
+
+    @Test
+    void staleCacheIsServedWhenServerIsDown() throws IOException {
+        manager();
+        long staleMillis = System.currentTimeMillis() - MAX_CACHE_AGE.multipliedBy(2).toMillis();
+        rewriteCache(cached -> new HttpConfigManager.Document(cached.uri(), cached.etag(), cached.lastModified(),
+                staleMillis, cached.properties()));
+        server.close();
+
+        HttpConfigManager manager = manager();
+
+        assertEquals("chrome", manager.getProperty(KEY));
+        assertEquals(Instant.ofEpochMilli(staleMillis), manager.getFetchedAt());
+        assertEquals(1, manager.getRequestCount());
+    }
+
+    @Test
+    void startWithoutCacheOrServerFails() {
+        server.close();
+
+        assertThrows(HttpConfigManager.ConfigurationException.class, this::manager);
+        assertTrue(Files.notExists(cachePath));
+    }
+
+    private HttpConfigManager manager() {
+        HttpConfigManager manager = new HttpConfigManager("HttpConfigManagerTest", server.getUri(), TOKEN, TIMEOUT,
+                Duration.ZERO, cachePath, MAX_CACHE_AGE);
+        managers.add(manager);
+        return manager;
+    }
+
+    private void rewriteCache(UnaryOperator<HttpConfigManager.Document> change) throws IOException {
+        HttpConfigManager.Document cached = objectMapper.readValue(cachePath.toFile(), HttpConfigManager.Document.class);
+        objectMapper.writeValue(cachePath.toFile(), change.apply(cached));
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 seconds");
+            Thread.sleep(10);
+        }
+    }
+}
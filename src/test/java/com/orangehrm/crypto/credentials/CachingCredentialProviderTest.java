@@ -0,0 +1,147 @@
+package com.orangehrm.crypto.credentials;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exercises the credential cache against the local secrets server over HTTP, with a manual clock so expiry and
+ * refresh points are reached without waiting.
+ */
+class CachingCredentialProviderTest {
+
+    private static final String TOKEN = "test-token";
+    private static final String NAME = "PORTAL_PASSWORD";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private LocalSecretsServer server;
+    private CachingCredentialProvider cache;
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        if (cache != null) {
+            cache.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void refetchesAfterTimeToLive() throws Exception {
+        CachingCredentialProvider cache = cacheOverServer(Duration.ofSeconds(60), Duration.ZERO);
+
+        assertEquals("secret-1", get(cache));
+        advance(Duration.ofSeconds(59));
+        assertEquals("secret-1", get(cache));
+        assertEquals(1, server.getRequestCount());
+
+        advance(Duration.ofSeconds(1));
+        assertEquals("secret-2", get(cache));
+        assertEquals(2, server.getRequestCount());
+        assertEquals(2, cache.getFetchCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void concurrentCallersShareOneFetch() throws Exception {
+        CachingCredentialProvider cache = cacheOverServer(Duration.ofSeconds(60), Duration.ZERO);
+        release = new CountDownLatch(1);
+
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int index = 0; index < callers; index++) {
+                results.add(executor.submit(() -> get(cache)));
+            }
+            awaitCondition(() -> server.getRequestCount() == 1);
+            // Let the other callers reach the pending fetch before the server answers
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("secret-1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, cache.getFetchCount());
+    }
+
+    @Test
+    void refreshesInBackgroundBeforeExpiry() throws Exception {
+        CachingCredentialProvider cache = cacheOverServer(Duration.ofSeconds(60), Duration.ofSeconds(10));
+
+        assertEquals("secret-1", get(cache));
+        advance(Duration.ofSeconds(45));
+        assertEquals("secret-1", get(cache));
+        assertEquals(0, cache.getRefreshCount());
+
+        // Past the refresh point the cached value is still served while the refresh runs
+        advance(Duration.ofSeconds(10));
+        assertEquals("secret-1", get(cache));
+        awaitCondition(() -> cache.getRefreshCount() == 1);
+
+        assertEquals("secret-2", get(cache));
+        assertEquals(1, cache.getFetchCount());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private CachingCredentialProvider cacheOverServer(Duration timeToLive, Duration refreshAhead) throws Exception {
+        CredentialProvider source = new CredentialProvider() {
+            @Override
+            public char[] getCredential(String name) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                }
+                return ("secret-" + version.incrementAndGet()).toCharArray();
+            }
+
+            @Override
+            public String getDescription() {
+                return "versioned test source";
+            }
+        };
+        server = new LocalSecretsServer(0, source, TOKEN);
+        HttpCredentialProvider http = new HttpCredentialProvider(server.getBaseUri(), TOKEN, Duration.ofSeconds(5));
+        cache = new CachingCredentialProvider(http, timeToLive, refreshAhead, clock::get);
+        return cache;
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static String get(CredentialProvider provider) {
+        return new String(provider.getCredential(NAME));
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 seconds");
+            Thread.sleep(10);
+        }
+    }
+}
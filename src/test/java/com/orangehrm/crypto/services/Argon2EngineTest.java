@@ -0,0 +1,103 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the Argon2id engine against the RFC 9106 test vector and against BouncyCastle's generator, including
+ * engines reused across profiles of different sizes.
+ */
+class Argon2EngineTest {
+
+    private static final SecureRandom random = new SecureRandom();
+
+    @Test
+    void matchesRfc9106TestVector() {
+        byte[] password = filled(32, 0x01);
+        byte[] salt = filled(16, 0x02);
+        byte[] secret = filled(8, 0x03);
+        byte[] associatedData = filled(12, 0x04);
+        byte[] output = new byte[32];
+
+        new Argon2Engine().derive(password, salt, secret, associatedData, new Argon2Profile(3, 32, 4), output);
+
+        assertArrayEquals(HexFormat.of().parseHex("0d640df58d78766c08c037a34a8b53c9d01ef0452d75b65eb52520e96b01e659"),
+                output);
+    }
+
+    @Test
+    void matchesBouncyCastleAcrossProfiles() {
+        Argon2Engine engine = new Argon2Engine();
+        Argon2Profile[] profiles = {
+                new Argon2Profile(1, 8, 1),
+                new Argon2Profile(3, 32, 4),
+                new Argon2Profile(2, 100, 3),  // not a multiple of the segment count
+                new Argon2Profile(1, 1024, 1),
+                new Argon2Profile(4, 256, 2),
+                new Argon2Profile(3, 4096, 4),
+        };
+        for (Argon2Profile profile : profiles) {
+            for (int outputLength : new int[]{4, 32, 64, 65, 100}) {
+                byte[] password = randomBytes(1 + random.nextInt(40));
+                byte[] salt = randomBytes(16);
+                byte[] output = new byte[outputLength];
+
+                engine.derive(password, salt, profile, output);
+
+                assertArrayEquals(bouncyCastle(password, salt, profile, outputLength), output,
+                        profile + " with " + outputLength + " output bytes");
+            }
+        }
+    }
+
+    @Test
+    void releasesMemoryAboveRetainedSize() {
+        Argon2Engine engine = new Argon2Engine(64);
+        byte[] password = randomBytes(16);
+        byte[] salt = randomBytes(16);
+
+        engine.derive(password, salt, new Argon2Profile(1, 64, 1), new byte[32]);
+        assertEquals(64 * 1024, engine.getRetainedBytes());
+
+        Argon2Profile larger = new Argon2Profile(1, 512, 2);
+        byte[] output = new byte[32];
+        engine.derive(password, salt, larger, output);
+        assertEquals(0, engine.getRetainedBytes());
+        assertArrayEquals(bouncyCastle(password, salt, larger, 32), output);
+    }
+
+    private static byte[] bouncyCastle(byte[] password, byte[] salt, Argon2Profile profile, int outputLength) {
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                .withVersion(Argon2Parameters.ARGON2_VERSION_13)
+                .withSalt(salt)
+                .withIterations(profile.iterations())
+                .withMemoryAsKB(profile.memoryKB())
+                .withParallelism(profile.parallelism())
+                .build());
+        byte[] output = new byte[outputLength];
+        generator.generateBytes(password, output);
+        return output;
+    }
+
+    private static byte[] filled(int length, int value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
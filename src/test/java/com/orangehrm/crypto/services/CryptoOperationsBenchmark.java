@@ -0,0 +1,76 @@
+package com.orangehrm.crypto.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encrypt and decrypt throughput across payload sizes, for the Base64 string API and the direct ByteBuffer API.
+ * The epoch key is derived during setup, so these numbers cover the cipher and encoding path, not Argon2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptoOperationsBenchmark {
+
+    @Param({"16", "256", "4096"})
+    public int payloadSize;
+
+    private SecretKey secretKey;
+    private String plainText;
+    private String encryptedText;
+    private ByteBuffer directPlainText;
+    private ByteBuffer directEnvelope;
+    private ByteBuffer directOutput;
+
+    @Setup
+    public void setUp() throws Exception {
+        secretKey = SecureKeyGenerator.generateSecretKey();
+        plainText = "x".repeat(payloadSize);
+        encryptedText = CryptoOperations.encrypt(secretKey, plainText);
+
+        byte[] envelope = Base64.getDecoder().decode(encryptedText);
+        directPlainText = ByteBuffer.allocateDirect(payloadSize).put(plainText.getBytes(StandardCharsets.UTF_8)).flip();
+        directEnvelope = ByteBuffer.allocateDirect(envelope.length).put(envelope).flip();
+        directOutput = ByteBuffer.allocateDirect(CryptoOperations.encryptedSize(payloadSize));
+    }
+
+    @Benchmark
+    public String encrypt() throws Exception {
+        return CryptoOperations.encrypt(secretKey, plainText);
+    }
+
+    @Benchmark
+    public String decrypt() throws Exception {
+        return CryptoOperations.decrypt(secretKey, encryptedText);
+    }
+
+    @Benchmark
+    public int encryptDirect() throws Exception {
+        directOutput.clear();
+        return CryptoOperations.encrypt(secretKey, directPlainText.duplicate(), directOutput);
+    }
+
+    @Benchmark
+    public int decryptDirect() throws Exception {
+        directOutput.clear();
+        return CryptoOperations.decrypt(secretKey, directEnvelope.duplicate(), directOutput);
+    }
+}
@@ -0,0 +1,202 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import com.orangehrm.crypto.utils.CryptoConfigConstants;
+import org.bouncycastle.crypto.CryptoException;
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips through the versioned envelope, and compatibility with ciphertext written by earlier releases:
+ * the legacy salt|iv|ciphertext layout and the version 2 envelope without a recorded profile.
+ */
+class CryptoOperationsTest {
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final int SALT_SIZE = CryptoConfigConstants.CryptoKeyParameters.SALT_SIZE.getKeySize();
+    private static final int IV_SIZE = CryptoConfigConstants.CryptoKeyParameters.IV_SIZE.getKeySize();
+    private static final int TAG_BITS = CryptoConfigConstants.CryptoKeyParameters.GCM_TAG_KEY_SIZE.getKeySize();
+    private static final Argon2Profile SMALL_PROFILE = new Argon2Profile(1, 64, 1);
+
+    private final SecretKey key = SecureKeyGenerator.generateSecretKey();
+
+    @Test
+    void roundTripsStringUnderCurrentEpoch() throws CryptoException {
+        String encrypted = CryptoOperations.encrypt(key, "p@ssw0rd – ünïcödé");
+
+        assertEquals("p@ssw0rd – ünïcödé", CryptoOperations.decrypt(key, encrypted));
+        assertTrue(CryptoOperations.readEpochSalt(encrypted).isPresent());
+    }
+
+    @Test
+    void roundTripsUnderRecordedProfile() throws CryptoException {
+        byte[] epochSalt = SecureKeyGenerator.generateSalt();
+        String encrypted = CryptoOperations.encrypt(key, "value", epochSalt, SMALL_PROFILE);
+
+        assertEquals("value", CryptoOperations.decrypt(key, encrypted));
+        assertArrayEquals(epochSalt, CryptoOperations.readEpochSalt(encrypted).orElseThrow());
+    }
+
+    @Test
+    void roundTripsDirectBuffers() throws CryptoException {
+        byte[] plain = "direct buffer payload".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer envelope = ByteBuffer.allocateDirect(CryptoOperations.encryptedSize(plain.length));
+        CryptoOperations.encrypt(key, ByteBuffer.wrap(plain), envelope, SecureKeyGenerator.generateSalt(), SMALL_PROFILE);
+        envelope.flip();
+
+        ByteBuffer output = ByteBuffer.allocateDirect(CryptoOperations.decryptedSize(envelope));
+        int length = CryptoOperations.decrypt(key, envelope, output);
+
+        byte[] decrypted = new byte[length];
+        output.flip().get(decrypted);
+        assertArrayEquals(plain, decrypted);
+    }
+
+    @Test
+    void roundTripsBatchUnderOneEpoch() throws CryptoException {
+        byte[] epochSalt = SecureKeyGenerator.generateSalt();
+        List<String> plainValues = List.of("first", "second", "third");
+        List<String> encrypted = BatchDecryptionEngine.getInstance().encryptAll(key, plainValues, epochSalt, SMALL_PROFILE);
+
+        assertEquals(plainValues, BatchDecryptionEngine.getInstance().decryptAll(key, encrypted));
+        encrypted.forEach(value -> assertArrayEquals(epochSalt, CryptoOperations.readEpochSalt(value).orElseThrow()));
+    }
+
+    @Test
+    void rejectsTamperedEnvelope() throws CryptoException {
+        byte[] envelope = Base64.getDecoder().decode(
+                CryptoOperations.encrypt(key, "value", SecureKeyGenerator.generateSalt(), SMALL_PROFILE));
+        envelope[envelope.length - 1] ^= 1;
+
+        assertThrows(CryptoException.class,
+                () -> CryptoOperations.decrypt(key, Base64.getEncoder().encodeToString(envelope)));
+    }
+
+    @Test
+    void rejectsWrongKey() throws CryptoException {
+        String encrypted = CryptoOperations.encrypt(key, "value", SecureKeyGenerator.generateSalt(), SMALL_PROFILE);
+
+        assertThrows(CryptoException.class,
+                () -> CryptoOperations.decrypt(SecureKeyGenerator.generateSecretKey(), encrypted));
+    }
+
+    @Test
+    void rejectsEpochSaltOfWrongLength() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CryptoOperations.encrypt(key, "value", new byte[SALT_SIZE - 1], SMALL_PROFILE));
+        assertThrows(IllegalArgumentException.class,
+                () -> CryptoOperations.encrypt(key, ByteBuffer.wrap(new byte[4]),
+                        ByteBuffer.allocate(CryptoOperations.encryptedSize(4) + 1), new byte[SALT_SIZE + 1], SMALL_PROFILE));
+    }
+
+    @Test
+    void probesWithoutFailingOnWrongKey() throws CryptoException {
+        String encrypted = CryptoOperations.encrypt(key, "value", SecureKeyGenerator.generateSalt(), SMALL_PROFILE);
+
+        try (EpochKeyScope otherKeys = new EpochKeyScope(SecureKeyGenerator.generateSecretKey());
+             EpochKeyScope epochKeys = new EpochKeyScope(key)) {
+            assertTrue(CryptoOperations.tryDecryptToBytes(otherKeys, encrypted).isEmpty());
+            assertArrayEquals("value".getBytes(StandardCharsets.UTF_8),
+                    CryptoOperations.tryDecryptToBytes(epochKeys, encrypted).orElseThrow());
+        }
+    }
+
+    @Test
+    void decryptsLegacyLayout() throws Exception {
+        String legacy = legacyCiphertext(randomSalt(), "legacy value");
+
+        assertEquals("legacy value", CryptoOperations.decrypt(key, legacy));
+    }
+
+    @Test
+    void decryptsLegacyLayoutWhoseSaltLooksLikeVersion2Header() throws Exception {
+        byte[] salt = randomSalt();
+        salt[0] = 'O';
+        salt[1] = 'H';
+        salt[2] = 'E';
+        salt[3] = 2;
+
+        // Long enough to parse as an envelope, so it fails authentication and falls back
+        assertEquals("a value long enough to parse", CryptoOperations.decrypt(key, legacyCiphertext(salt, "a value long enough to parse")));
+        // Too short to parse as an envelope, so header parsing must fall back too
+        assertEquals("ab", CryptoOperations.decrypt(key, legacyCiphertext(salt, "ab")));
+    }
+
+    @Test
+    void decryptsLegacyLayoutWhoseSaltLooksLikeVersion3Header() throws Exception {
+        byte[] salt = randomSalt();
+        ByteBuffer.wrap(salt)
+                .put(new byte[]{'O', 'H', 'E', 3})
+                .put((byte) SMALL_PROFILE.iterations())
+                .putInt(SMALL_PROFILE.memoryKB())
+                .put((byte) SMALL_PROFILE.parallelism());
+
+        assertEquals("short", CryptoOperations.decrypt(key, legacyCiphertext(salt, "short")));
+        assertEquals("a value long enough to parse", CryptoOperations.decrypt(key, legacyCiphertext(salt, "a value long enough to parse")));
+    }
+
+    @Test
+    void decryptsVersion2Envelope() throws Exception {
+        byte[] epochSalt = randomSalt();
+        byte[] header = ByteBuffer.allocate(4 + SALT_SIZE).put(new byte[]{'O', 'H', 'E', 2}).put(epochSalt).array();
+        byte[] iv = new byte[IV_SIZE];
+        random.nextBytes(iv);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, referenceKey(epochSalt, Argon2Profile.defaultProfile()), new GCMParameterSpec(TAG_BITS, iv));
+        cipher.updateAAD(header);
+        byte[] cipherText = cipher.doFinal("version 2".getBytes(StandardCharsets.UTF_8));
+        byte[] envelope = ByteBuffer.allocate(header.length + iv.length + cipherText.length)
+                .put(header).put(iv).put(cipherText).array();
+
+        assertEquals("version 2", CryptoOperations.decrypt(key, Base64.getEncoder().encodeToString(envelope)));
+    }
+
+    /**
+     * Encrypts the way releases before the versioned envelope did, with BouncyCastle deriving a key per value.
+     */
+    private String legacyCiphertext(byte[] salt, String plainText) throws Exception {
+        byte[] iv = new byte[IV_SIZE];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, referenceKey(salt, Argon2Profile.defaultProfile()), new GCMParameterSpec(TAG_BITS, iv));
+        byte[] cipherText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(salt.length + iv.length + cipherText.length)
+                .put(salt).put(iv).put(cipherText).array());
+    }
+
+    private SecretKeySpec referenceKey(byte[] salt, Argon2Profile profile) {
+        Argon2BytesGenerator generator = new Argon2BytesGenerator();
+        generator.init(new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                .withSalt(salt)
+                .withIterations(profile.iterations())
+                .withMemoryAsKB(profile.memoryKB())
+                .withParallelism(profile.parallelism())
+                .build());
+        byte[] derived = new byte[CryptoConfigConstants.CryptoKeyParameters.SECRET_KEY_SIZE.getKeySize()];
+        generator.generateBytes(key.getEncoded(), derived);
+        return new SecretKeySpec(derived, "AES");
+    }
+
+    private static byte[] randomSalt() {
+        byte[] salt = new byte[SALT_SIZE];
+        random.nextBytes(salt);
+        return salt;
+    }
+}
@@ -0,0 +1,139 @@
+package com.orangehrm.crypto.services;
+
+import org.bouncycastle.crypto.CryptoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks single-flight decryption, zeroization of invalidated entries, and that failed decryptions, including
+ * errors, release waiting callers and are retried rather than cached.
+ */
+class DecryptedCredentialVaultTest {
+
+    private static final String CONFIGURATION = "DecryptedCredentialVaultTest";
+    private static final String ENV_FILE = ".env.vault-test";
+    private static final String SECRET_KEY = "UAT_SECRET_KEY";
+
+    private final DecryptedCredentialVault vault = DecryptedCredentialVault.getInstance();
+    private final AtomicInteger decryptions = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void cleanUp() {
+        executor.shutdownNow();
+        vault.invalidate(CONFIGURATION, ENV_FILE);
+    }
+
+    @Test
+    void concurrentRequestsShareOneDecryption() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<char[]>> results = new ArrayList<>();
+        for (int index = 0; index < 8; index++) {
+            results.add(executor.submit(() -> get("PORTAL_PASSWORD", () -> {
+                release.await(5, TimeUnit.SECONDS);
+                return plain("secret");
+            })));
+        }
+        awaitCondition(() -> decryptions.get() == 1);
+        // Let the other callers reach the pending decryption before it completes
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<char[]> result : results) {
+            assertArrayEquals("secret".toCharArray(), result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, decryptions.get());
+    }
+
+    @Test
+    void invalidationZeroizesEntries() throws Exception {
+        char[] copy = get("PORTAL_PASSWORD", () -> plain("secret"));
+        char[] held = vaultedValue("PORTAL_PASSWORD");
+
+        vault.invalidate(CONFIGURATION, ENV_FILE);
+
+        assertArrayEquals(new char[held.length], held);
+        assertArrayEquals("secret".toCharArray(), copy);
+        assertArrayEquals("rotated".toCharArray(), get("PORTAL_PASSWORD", () -> plain("rotated")));
+        assertEquals(2, decryptions.get());
+    }
+
+    @Test
+    void failuresAreRetriedNotCached() {
+        assertThrows(IllegalStateException.class,
+                () -> get("PORTAL_PASSWORD", () -> {
+                    throw new CryptoException("Tag mismatch");
+                }));
+
+        assertArrayEquals("secret".toCharArray(), get("PORTAL_PASSWORD", () -> plain("secret")));
+        assertEquals(2, decryptions.get());
+    }
+
+    @Test
+    void errorsReleaseWaitingCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<char[]> failing = executor.submit(() -> get("PORTAL_PASSWORD", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new AssertionError("decryption crashed");
+        }));
+        awaitCondition(() -> decryptions.get() == 1);
+        CompletableFuture<char[]> waiting = CompletableFuture.supplyAsync(
+                () -> get("PORTAL_PASSWORD", () -> plain("unused")), executor);
+        Thread.sleep(200);
+        release.countDown();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, failure.getCause());
+        ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, waiterFailure.getCause());
+        assertArrayEquals("secret".toCharArray(), get("PORTAL_PASSWORD", () -> plain("secret")));
+    }
+
+    private char[] get(String variable, DecryptedCredentialVault.CredentialDecryption decryption) {
+        return vault.getCharacters(CONFIGURATION, ENV_FILE, SECRET_KEY, variable, () -> {
+            decryptions.incrementAndGet();
+            return decryption.decrypt();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private char[] vaultedValue(String variable) throws Exception {
+        Field entries = DecryptedCredentialVault.class.getDeclaredField("entries");
+        entries.setAccessible(true);
+        String vaultKey = String.join(":", CONFIGURATION, ENV_FILE, SECRET_KEY, variable);
+        return ((Map<String, CompletableFuture<char[]>>) entries.get(vault)).get(vaultKey).join();
+    }
+
+    private static byte[] plain(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 seconds");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.orangehrm.crypto.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and assembling of the legacy salt|iv|ciphertext layout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptionComponentsBenchmark {
+
+    @Param({"32", "4096"})
+    public int cipherTextSize;
+
+    private CryptoOperations.EncryptionComponents components;
+    private byte[] combined;
+
+    @Setup
+    public void setUp() {
+        components = new CryptoOperations.EncryptionComponents(
+                SecureKeyGenerator.generateSalt(),
+                ByteBuffer.wrap(SecureKeyGenerator.generateIv()),
+                ByteBuffer.allocate(cipherTextSize));
+        combined = components.combine();
+    }
+
+    @Benchmark
+    public CryptoOperations.EncryptionComponents extract() {
+        return CryptoOperations.EncryptionComponents.extract(combined);
+    }
+
+    @Benchmark
+    public byte[] combine() {
+        return components.combine();
+    }
+}
@@ -0,0 +1,60 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import org.bouncycastle.crypto.CryptoException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that values sharing an epoch share one key within a scope, and that closing the scope zeroizes its keys.
+ */
+class EpochKeyScopeTest {
+
+    private static final Argon2Profile SMALL_PROFILE = new Argon2Profile(1, 64, 1);
+
+    private final SecretKey key = SecureKeyGenerator.generateSecretKey();
+
+    @Test
+    void resolvesEachEpochOnce() throws CryptoException {
+        byte[] epochSalt = SecureKeyGenerator.generateSalt();
+        List<String> encrypted = new ArrayList<>();
+        try (EpochKeyScope epochKeys = new EpochKeyScope(key)) {
+            for (int index = 0; index < 5; index++) {
+                encrypted.add(CryptoOperations.encrypt(epochKeys, "value-" + index, epochSalt, SMALL_PROFILE));
+            }
+            assertEquals(1, epochKeys.size());
+            assertSame(epochKeys.getEpochKey(epochSalt, SMALL_PROFILE), epochKeys.getEpochKey(epochSalt, SMALL_PROFILE));
+        }
+
+        try (EpochKeyScope epochKeys = new EpochKeyScope(key)) {
+            for (int index = 0; index < encrypted.size(); index++) {
+                assertEquals("value-" + index, CryptoOperations.decrypt(epochKeys, encrypted.get(index)));
+            }
+            CryptoOperations.encrypt(epochKeys, "other epoch", SecureKeyGenerator.generateSalt(), SMALL_PROFILE);
+            assertEquals(2, epochKeys.size());
+        }
+    }
+
+    @Test
+    void zeroizesKeysOnClose() {
+        byte[] epochSalt = SecureKeyGenerator.generateSalt();
+        EpochKeyScope epochKeys = new EpochKeyScope(key);
+        SecretKey epochKey = epochKeys.getEpochKey(epochSalt, SMALL_PROFILE);
+
+        epochKeys.close();
+
+        assertTrue(epochKey.isDestroyed());
+        assertEquals(0, epochKeys.size());
+        assertThrows(IllegalStateException.class, () -> epochKeys.getEpochKey(epochSalt, SMALL_PROFILE));
+        assertFalse(key.isDestroyed(), "the master key stays with the caller");
+    }
+}
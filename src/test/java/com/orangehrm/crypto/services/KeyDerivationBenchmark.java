@@ -0,0 +1,48 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single uncached Argon2id derivation under different profiles (iterations:memoryKB:parallelism).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class KeyDerivationBenchmark {
+
+    @Param({"2:19456:1", "2:32768:4", "3:65536:4"})
+    public String profile;
+
+    private SecretKey secretKey;
+    private byte[] salt;
+    private Argon2Profile argon2Profile;
+
+    @Setup
+    public void setUp() {
+        secretKey = SecureKeyGenerator.generateSecretKey();
+        salt = SecureKeyGenerator.generateSalt();
+        argon2Profile = Argon2Profile.parse(profile);
+    }
+
+    @Benchmark
+    public byte[] deriveKey() {
+        return CryptoOperations.deriveKeyBytes(secretKey, salt, argon2Profile);
+    }
+}
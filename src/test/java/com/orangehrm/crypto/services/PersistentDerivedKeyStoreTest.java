@@ -0,0 +1,91 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.configuration.environments.EnvironmentConfigConstants;
+import com.orangehrm.crypto.utils.Argon2Profile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that the on-disk store serves keys of non-production environments and never writes a key derived from
+ * the PROD secret key, even when another environment is active.
+ */
+class PersistentDerivedKeyStoreTest {
+
+    private static final Argon2Profile SMALL_PROFILE = new Argon2Profile(1, 64, 1);
+    private static final String CONFIGURATION = "PersistentDerivedKeyStoreTest";
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger derivations = new AtomicInteger();
+
+    @Test
+    void storesKeysDerivedFromOtherEnvironments() throws IOException {
+        PersistentDerivedKeyStore store = newStore();
+        SecretKey key = registeredKey(EnvironmentConfigConstants.EnvironmentSecretKey.UAT.getKeyName());
+        byte[] salt = SecureKeyGenerator.generateSalt();
+
+        byte[] derived = getOrDerive(store, key, salt);
+        byte[] stored = getOrDerive(store, key, salt);
+
+        assertArrayEquals(derived, stored);
+        assertEquals(1, derivations.get());
+        assertEquals(1, store.getHitCount());
+        assertEquals(1, storedEntries());
+    }
+
+    @Test
+    void neverStoresKeysDerivedFromProductionKeys() throws IOException {
+        PersistentDerivedKeyStore store = newStore();
+        EnvironmentConfigConstants.EnvironmentSecretKey production = EnvironmentConfigConstants.EnvironmentSecretKey.PROD;
+        byte[] salt = SecureKeyGenerator.generateSalt();
+
+        for (String keyName : new String[]{production.getKeyName(), production.getStagedKeyName()}) {
+            SecretKey key = registeredKey(keyName);
+            getOrDerive(store, key, salt);
+            getOrDerive(store, key, salt);
+        }
+
+        assertEquals(4, derivations.get());
+        assertEquals(0, store.getMissCount());
+        assertEquals(0, storedEntries());
+        assertFalse(Files.exists(directory.resolve("wrapping.key")));
+    }
+
+    private PersistentDerivedKeyStore newStore() {
+        return new PersistentDerivedKeyStore(true, Duration.ofMinutes(5), directory.resolve("store"), directory.resolve("wrapping.key"));
+    }
+
+    private byte[] getOrDerive(PersistentDerivedKeyStore store, SecretKey key, byte[] salt) {
+        return store.getOrDerive(key, salt, SMALL_PROFILE, () -> {
+            derivations.incrementAndGet();
+            return CryptoOperations.deriveKeyBytes(key, salt, SMALL_PROFILE);
+        });
+    }
+
+    private static SecretKey registeredKey(String keyName) {
+        return SecretKeyRegistry.getInstance().getSecretKey(CONFIGURATION, CONFIGURATION, keyName, SecureKeyGenerator::generateSecretKey);
+    }
+
+    private long storedEntries() throws IOException {
+        Path storeDirectory = directory.resolve("store");
+        if (!Files.isDirectory(storeDirectory)) {
+            return 0;
+        }
+        try (Stream<Path> entries = Files.list(storeDirectory)) {
+            return entries.count();
+        }
+    }
+}
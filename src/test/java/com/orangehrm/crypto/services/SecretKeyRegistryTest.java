@@ -0,0 +1,61 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.DestroyableSecretKey;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that callers receive copies they own, and that an invalidated key is zeroized without touching the copies
+ * callers still hold.
+ */
+class SecretKeyRegistryTest {
+
+    private static final String CONFIGURATION = "SecretKeyRegistryTest";
+
+    private final SecretKeyRegistry registry = SecretKeyRegistry.getInstance();
+    private final AtomicInteger resolutions = new AtomicInteger();
+
+    @Test
+    void handsOutIndependentCopies() {
+        SecretKey first = lookup("COPY_KEY");
+        SecretKey second = lookup("COPY_KEY");
+
+        assertNotSame(first, second);
+        assertArrayEquals(first.getEncoded(), second.getEncoded());
+        assertEquals(1, resolutions.get());
+
+        DestroyableSecretKey.destroyIfSupported(first);
+        assertTrue(first.isDestroyed());
+        assertFalse(second.isDestroyed());
+        assertArrayEquals(second.getEncoded(), lookup("COPY_KEY").getEncoded());
+    }
+
+    @Test
+    void invalidationReplacesKeyAndLeavesCopiesIntact() {
+        SecretKey held = lookup("ROTATED_KEY");
+        byte[] material = held.getEncoded();
+
+        registry.invalidate(CONFIGURATION, CONFIGURATION);
+        SecretKey replacement = lookup("ROTATED_KEY");
+
+        assertEquals(2, resolutions.get());
+        assertArrayEquals(material, held.getEncoded());
+        assertFalse(Arrays.equals(material, replacement.getEncoded()));
+    }
+
+    private SecretKey lookup(String keyName) {
+        return registry.getSecretKey(CONFIGURATION, CONFIGURATION, keyName, () -> {
+            resolutions.incrementAndGet();
+            return SecureKeyGenerator.generateSecretKey();
+        });
+    }
+}
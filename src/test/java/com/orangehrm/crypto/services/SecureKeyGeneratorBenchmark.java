@@ -0,0 +1,40 @@
+package com.orangehrm.crypto.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random material generation with several threads competing, as happens during parallel scenario setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class SecureKeyGeneratorBenchmark {
+
+    @Benchmark
+    public byte[] generateIv() {
+        return SecureKeyGenerator.generateIv();
+    }
+
+    @Benchmark
+    public byte[] generateSalt() {
+        return SecureKeyGenerator.generateSalt();
+    }
+
+    @Benchmark
+    public SecretKey generateSecretKey() {
+        return SecureKeyGenerator.generateSecretKey();
+    }
+}
@@ -0,0 +1,118 @@
+package com.orangehrm.crypto.services;
+
+import com.orangehrm.crypto.utils.Argon2Profile;
+import org.bouncycastle.crypto.CryptoException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.SecretKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round trips through the chunked stream format, and detection of tampered, reordered and truncated chunks.
+ */
+class StreamingCryptoOperationsTest {
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final int CHUNK_SIZE = StreamingCryptoOperations.MIN_CHUNK_SIZE;
+    private static final Argon2Profile SMALL_PROFILE = new Argon2Profile(1, 64, 1);
+
+    private final SecretKey key = SecureKeyGenerator.generateSecretKey();
+
+    @Test
+    void roundTripsStreamsOfEveryChunkBoundary() throws CryptoException {
+        for (int size : new int[]{0, 1, CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 3 * CHUNK_SIZE, 5 * CHUNK_SIZE + 17}) {
+            byte[] plain = randomBytes(size);
+            assertArrayEquals(plain, decryptStream(encryptStream(plain)), "size " + size);
+        }
+    }
+
+    @Test
+    void roundTripsFilesAndStaysCompatibleWithStreams(@TempDir Path directory) throws Exception {
+        byte[] plain = randomBytes(7 * CHUNK_SIZE + 3);
+        Path source = Files.write(directory.resolve("plain.bin"), plain);
+        Path encrypted = directory.resolve("plain.bin.enc");
+        Path decrypted = directory.resolve("decrypted.bin");
+
+        assertEquals(plain.length, StreamingCryptoOperations.encryptFile(key, source, encrypted, CHUNK_SIZE, SMALL_PROFILE));
+        assertEquals(plain.length, StreamingCryptoOperations.decryptFile(key, encrypted, decrypted));
+        assertArrayEquals(plain, Files.readAllBytes(decrypted));
+
+        // The file variant writes the same format as the stream variant
+        assertArrayEquals(plain, decryptStream(Files.readAllBytes(encrypted)));
+        Path fromStream = Files.write(directory.resolve("stream.enc"), encryptStream(plain));
+        StreamingCryptoOperations.decryptFile(key, fromStream, decrypted);
+        assertArrayEquals(plain, Files.readAllBytes(decrypted));
+    }
+
+    @Test
+    void rejectsTamperedChunk() throws CryptoException {
+        byte[] encrypted = encryptStream(randomBytes(3 * CHUNK_SIZE));
+        encrypted[encrypted.length - CHUNK_SIZE] ^= 1;
+
+        assertThrows(CryptoException.class, () -> decryptStream(encrypted));
+    }
+
+    @Test
+    void rejectsTruncationAtChunkBoundary(@TempDir Path directory) throws Exception {
+        byte[] plain = randomBytes(3 * CHUNK_SIZE + 10);
+        byte[] encrypted = encryptStream(plain);
+        // Drop the short final chunk, leaving a stream that ends on an intermediate chunk
+        byte[] truncated = Arrays.copyOf(encrypted, encrypted.length - (10 + 16));
+
+        assertThrows(CryptoException.class, () -> decryptStream(truncated));
+
+        Path source = Files.write(directory.resolve("truncated.enc"), truncated);
+        Path target = directory.resolve("truncated.bin");
+        assertThrows(CryptoException.class, () -> StreamingCryptoOperations.decryptFile(key, source, target));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void rejectsReorderedChunks() throws CryptoException {
+        byte[] encrypted = encryptStream(randomBytes(3 * CHUNK_SIZE + 10));
+        int sealedChunk = CHUNK_SIZE + 16;
+        int headerSize = encrypted.length - 3 * sealedChunk - (10 + 16);
+        byte[] reordered = encrypted.clone();
+        System.arraycopy(encrypted, headerSize, reordered, headerSize + sealedChunk, sealedChunk);
+        System.arraycopy(encrypted, headerSize + sealedChunk, reordered, headerSize, sealedChunk);
+
+        assertThrows(CryptoException.class, () -> decryptStream(reordered));
+    }
+
+    @Test
+    void rejectsWrongKey() throws CryptoException {
+        byte[] encrypted = encryptStream(randomBytes(CHUNK_SIZE));
+
+        assertThrows(CryptoException.class, () -> StreamingCryptoOperations.decrypt(SecureKeyGenerator.generateSecretKey(),
+                new ByteArrayInputStream(encrypted), new ByteArrayOutputStream()));
+    }
+
+    private byte[] encryptStream(byte[] plain) throws CryptoException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StreamingCryptoOperations.encrypt(key, new ByteArrayInputStream(plain), output, CHUNK_SIZE, SMALL_PROFILE);
+        return output.toByteArray();
+    }
+
+    private byte[] decryptStream(byte[] encrypted) throws CryptoException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StreamingCryptoOperations.decrypt(key, new ByteArrayInputStream(encrypted), output);
+        return output.toByteArray();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -1,6 +1,10 @@
 package com.orangehrm.hooks;
 
 import com.orangehrm.base.TestContext;
+import com.orangehrm.configuration.ConfigAccessMetrics;
+import com.orangehrm.configuration.ConfigurationPreloader;
+import com.orangehrm.configuration.LayeredConfigResolver;
+import com.orangehrm.crypto.services.CryptoMetrics;
 import com.orangehrm.drivers.driver.DriverFactory;
 import com.orangehrm.pages.base.BasePage;
 import com.orangehrm.utils.ErrorHandler;
@@ -20,6 +24,13 @@ public class Hooks {
         this.basePage = basePage;
     }
 
+    @BeforeAll
+    public static void loadConfiguration() {
+        // Fails the run before any browser starts if a configuration file is missing or invalid
+        ConfigurationPreloader.preload();
+        logger.info(LayeredConfigResolver.getInstance().dump());
+    }
+
     @Before
     public void scenarioSetup() {
         testContext.initializeBrowserIfRequired();
@@ -52,4 +63,14 @@ public class Hooks {
             }
         }
     }
+
+    @AfterAll
+    public static void writeCryptoMetrics() {
+        CryptoMetrics.getInstance().writeReport();
+    }
+
+    @AfterAll
+    public static void writeConfigAccessMetrics() {
+        ConfigAccessMetrics.getInstance().writeReport();
+    }
 }
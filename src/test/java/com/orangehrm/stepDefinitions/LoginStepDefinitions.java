@@ -9,6 +9,8 @@ import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 
+import java.util.List;
+
 public class LoginStepDefinitions {
 
 
@@ -36,8 +38,9 @@ public class LoginStepDefinitions {
     @When("the user enters valid username {string} and password {string}")
     public void theUserEntersValidUsernameAndPassword(String username, String password) {
         if (username.equals(VALID_USER_TOKEN) && password.equals(VALID_PASS_TOKEN)) {
-            this.loginPage.fillUsername(testContext.decryptCredentials().get(0));
-            this.loginPage.fillPassword(testContext.decryptCredentials().get(1));
+            List<String> credentials = testContext.decryptCredentials();
+            this.loginPage.fillUsername(credentials.get(0));
+            this.loginPage.fillPassword(credentials.get(1));
         } else {
             this.loginPage.fillUsername(username);
             this.loginPage.fillPassword(password);